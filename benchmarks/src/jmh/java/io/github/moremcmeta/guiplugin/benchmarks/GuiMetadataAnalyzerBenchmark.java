@@ -0,0 +1,168 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin.benchmarks;
+
+import io.github.moremcmeta.guiplugin.ArrayMetadataView;
+import io.github.moremcmeta.guiplugin.GuiMetadataAnalyzer;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.AnalyzedMetadata;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.InvalidMetadataException;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput and allocation rate of {@link GuiMetadataAnalyzer#analyze(MetadataView, int, int)}
+ * for each scaling type and each way metadata can be invalid. Run with {@code ./gradlew :benchmarks:jmh};
+ * the GC profiler reports allocation per operation alongside throughput. Metadata is held in
+ * {@link ArrayMetadataView}s, whose reads do not allocate, so the allocation reported is the analyzer's
+ * own. Views that allocate on every read add their own allocation on top of it.
+ * @author soir20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GuiMetadataAnalyzerBenchmark {
+    private static final int IMAGE_WIDTH = 256;
+    private static final int IMAGE_HEIGHT = 256;
+    private static final Map<String, MetadataView> INVALID_METADATA = Map.ofEntries(
+            Map.entry("missing_scaling", view()),
+            Map.entry("missing_type", scaling("width", 200, "height", 20)),
+            Map.entry("unknown_type", scaling("type", "unknown", "width", 200, "height", 20)),
+            Map.entry("missing_width", scaling("type", "tile", "height", 20)),
+            Map.entry("non_positive_width", scaling("type", "tile", "width", 0, "height", 20)),
+            Map.entry("missing_height", scaling("type", "tile", "width", 200)),
+            Map.entry("non_positive_height", scaling("type", "tile", "width", 200, "height", -1)),
+            Map.entry("missing_border", scaling("type", "nine_slice", "width", 200, "height", 20)),
+            Map.entry("negative_border", scaling("type", "nine_slice", "width", 200, "height", 20, "border", -4)),
+            Map.entry("missing_border_side", scaling(
+                    "type", "nine_slice", "width", 200, "height", 20,
+                    "border", view("left", 4, "right", 4, "top", 4)
+            )),
+            Map.entry("negative_border_side", scaling(
+                    "type", "nine_slice", "width", 200, "height", 20,
+                    "border", view("left", 4, "right", 4, "top", 4, "bottom", -4)
+            ))
+    );
+
+    private GuiMetadataAnalyzer analyzer;
+    private MetadataView stretch;
+    private MetadataView tile;
+    private MetadataView uniformNineSlice;
+    private MetadataView perSideNineSlice;
+
+    /**
+     * Creates the analyzer and metadata shared by all benchmarks.
+     */
+    @Setup
+    public void setUp() {
+        analyzer = new GuiMetadataAnalyzer();
+        stretch = scaling("type", "stretch");
+        tile = scaling("type", "tile", "width", 16, "height", 16);
+        uniformNineSlice = scaling("type", "nine_slice", "width", 200, "height", 20, "border", 4);
+        perSideNineSlice = scaling(
+                "type", "nine_slice", "width", 200, "height", 20,
+                "border", view("left", 4, "right", 5, "top", 2, "bottom", 3)
+        );
+    }
+
+    @Benchmark
+    public AnalyzedMetadata stretch() throws InvalidMetadataException {
+        return analyzer.analyze(stretch, IMAGE_WIDTH, IMAGE_HEIGHT);
+    }
+
+    @Benchmark
+    public AnalyzedMetadata tile() throws InvalidMetadataException {
+        return analyzer.analyze(tile, IMAGE_WIDTH, IMAGE_HEIGHT);
+    }
+
+    @Benchmark
+    public AnalyzedMetadata uniformBorderNineSlice() throws InvalidMetadataException {
+        return analyzer.analyze(uniformNineSlice, IMAGE_WIDTH, IMAGE_HEIGHT);
+    }
+
+    @Benchmark
+    public AnalyzedMetadata perSideBorderNineSlice() throws InvalidMetadataException {
+        return analyzer.analyze(perSideNineSlice, IMAGE_WIDTH, IMAGE_HEIGHT);
+    }
+
+    @Benchmark
+    public Object invalid(InvalidMetadata state) {
+        try {
+            return analyzer.analyze(state.metadata, IMAGE_WIDTH, IMAGE_HEIGHT);
+        } catch (InvalidMetadataException err) {
+            return err;
+        }
+    }
+
+    /**
+     * Metadata that is invalid in one of several ways.
+     * @author soir20
+     */
+    @State(Scope.Benchmark)
+    public static class InvalidMetadata {
+        @Param({
+                "missing_scaling", "missing_type", "unknown_type", "missing_width", "non_positive_width",
+                "missing_height", "non_positive_height", "missing_border", "negative_border",
+                "missing_border_side", "negative_border_side"
+        })
+        public String invalidCase;
+
+        private MetadataView metadata;
+
+        /**
+         * Selects the invalid metadata for the current case.
+         */
+        @Setup
+        public void setUp() {
+            metadata = INVALID_METADATA.get(invalidCase);
+        }
+    }
+
+    /**
+     * Makes metadata with a scaling section.
+     * @param keysAndValues     alternating keys and values of the scaling section
+     * @return metadata containing the scaling section
+     */
+    private static MetadataView scaling(Object... keysAndValues) {
+        return view("scaling", view(keysAndValues));
+    }
+
+    /**
+     * Makes metadata from alternating keys and values.
+     * @param keysAndValues     alternating keys and values
+     * @return metadata containing the keys and values
+     */
+    private static MetadataView view(Object... keysAndValues) {
+        ArrayMetadataView.Builder builder = ArrayMetadataView.builder();
+        for (int index = 0; index < keysAndValues.length; index += 2) {
+            builder.put((String) keysAndValues[index], keysAndValues[index + 1]);
+        }
+
+        return builder.build();
+    }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin.benchmarks;
+
+import io.github.moremcmeta.guiplugin.ArrayMetadataView;
+import io.github.moremcmeta.guiplugin.ModConstants;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.AnalyzedMetadata;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.InvalidMetadataException;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataView;
+import io.github.moremcmeta.moremcmeta.api.client.texture.FrameGroup;
+import io.github.moremcmeta.moremcmeta.api.client.texture.MutableFrameView;
+import io.github.moremcmeta.moremcmeta.api.client.texture.TextureComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures how quickly {@link ModConstants#ANALYZER} and {@link ModConstants#COMPONENT_BUILDER} process
+ * a pack's worth of GUI metadata when parallel reload workers share them. Each operation is one reload
+ * of the whole corpus split across {@link #threads} workers, so comparing the reloads per second for
+ * each thread count shows how well the plugin's shared state scales from 1 to 32 threads.
+ * @author soir20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReloadBenchmark {
+    private static final long SEED = 0x57E55L;
+    private static final int CORPUS_SIZE = 20000;
+    private static final int IMAGE_SIZE = 64;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    private List<MetadataView> corpus;
+    private FrameGroup<MutableFrameView> frames;
+    private ExecutorService workers;
+
+    /**
+     * Generates the corpus and starts the workers shared by all operations.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+        corpus = new ArrayList<>(CORPUS_SIZE);
+        for (int index = 0; index < CORPUS_SIZE; index++) {
+            corpus.add(randomMetadata(random));
+        }
+
+        frames = frameGroup(1);
+        workers = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Stops the workers.
+     */
+    @TearDown
+    public void tearDown() {
+        workers.shutdownNow();
+    }
+
+    @Benchmark
+    public int reload() throws Exception {
+        AtomicInteger nextIndex = new AtomicInteger();
+        List<Callable<Integer>> tasks = new ArrayList<>(threads);
+        for (int worker = 0; worker < threads; worker++) {
+            tasks.add(() -> processUntilDone(nextIndex));
+        }
+
+        int built = 0;
+        for (Future<Integer> result : workers.invokeAll(tasks)) {
+            built += result.get();
+        }
+
+        return built;
+    }
+
+    /**
+     * Analyzes entries taken from a shared counter and builds a component for each valid one until
+     * the corpus is exhausted.
+     * @param nextIndex     counter of the next entry to process
+     * @return number of components built, so that the work cannot be optimized away
+     */
+    private int processUntilDone(AtomicInteger nextIndex) {
+        int built = 0;
+        int index;
+        while ((index = nextIndex.getAndIncrement()) < CORPUS_SIZE) {
+            try {
+                AnalyzedMetadata metadata = ModConstants.ANALYZER.analyze(corpus.get(index), IMAGE_SIZE, IMAGE_SIZE);
+                TextureComponent<?> component = ModConstants.COMPONENT_BUILDER.build(metadata, frames);
+                built += component == null ? 0 : 1;
+            } catch (InvalidMetadataException ignored) {
+                // Invalid metadata is part of a real pack's reload, so it is timed but not built
+            }
+        }
+
+        return built;
+    }
+
+    /**
+     * Generates metadata with a random scaling type and random sizes. About one in ten entries has
+     * an unknown scaling type.
+     * @param random    source of randomness
+     * @return generated metadata
+     */
+    private static MetadataView randomMetadata(Random random) {
+        int width = 1 + random.nextInt(IMAGE_SIZE);
+        int height = 1 + random.nextInt(IMAGE_SIZE);
+        int border = random.nextInt(Math.min(width, height) / 2 + 1);
+
+        return switch (random.nextInt(10)) {
+            case 0, 1 -> scaling("type", "stretch");
+            case 2, 3, 4 -> scaling("type", "tile", "width", width, "height", height);
+            case 5, 6 -> scaling("type", "nine_slice", "width", width, "height", height, "border", border);
+            case 7, 8 -> scaling(
+                    "type", "nine_slice", "width", width, "height", height,
+                    "border", view("left", border, "right", border, "top", border, "bottom", border)
+            );
+            default -> scaling("type", "unknown", "width", width, "height", height);
+        };
+    }
+
+    /**
+     * Makes a group of frames that only reports its size, which is all the plugin's builder reads.
+     * Proxies are used so that no other method needs to be implemented.
+     * @param frameCount    number of frames in the group
+     * @return the group
+     */
+    @SuppressWarnings("unchecked")
+    private static FrameGroup<MutableFrameView> frameGroup(int frameCount) {
+        return (FrameGroup<MutableFrameView>) Proxy.newProxyInstance(
+                ReloadBenchmark.class.getClassLoader(),
+                new Class<?>[] { FrameGroup.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "frames" -> frameCount;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "BenchmarkFrameGroup[" + frameCount + "]";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+
+    /**
+     * Makes metadata with a scaling section.
+     * @param keysAndValues     alternating keys and values of the scaling section
+     * @return metadata containing the scaling section
+     */
+    private static MetadataView scaling(Object... keysAndValues) {
+        return view("scaling", view(keysAndValues));
+    }
+
+    /**
+     * Makes metadata from alternating keys and values.
+     * @param keysAndValues     alternating keys and values
+     * @return metadata containing the keys and values
+     */
+    private static MetadataView view(Object... keysAndValues) {
+        ArrayMetadataView.Builder builder = ArrayMetadataView.builder();
+        for (int index = 0; index < keysAndValues.length; index += 2) {
+            builder.put((String) keysAndValues[index], keysAndValues[index + 1]);
+        }
+
+        return builder.build();
+    }
+
+}
@@ -0,0 +1,321 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Counts GUI metadata analyses by scaling type, failures by reason, and how long each analysis
+ * took. All counters are {@link LongAdder}s, so recording is lock-free and safe from parallel
+ * reload threads. Latency is kept as a histogram with power-of-two buckets.
+ * @author soir20
+ */
+public final class AnalysisMetrics {
+    public static final int LATENCY_BUCKETS = 32;
+
+    private final LongAdder[] ANALYSES;
+    private final LongAdder[] FAILURES;
+    private final LongAdder[] LATENCY;
+    private final LongAdder TOTAL_NANOS;
+
+    /**
+     * Creates a new set of metrics with all counters at zero.
+     */
+    public AnalysisMetrics() {
+        ANALYSES = makeAdders(GuiMetadata.Type.values().length);
+        FAILURES = makeAdders(GuiMetadataProblem.Kind.values().length);
+        LATENCY = makeAdders(LATENCY_BUCKETS);
+        TOTAL_NANOS = new LongAdder();
+    }
+
+    /**
+     * Records a successful analysis.
+     * @param type      scaling type of the analyzed metadata
+     */
+    public void recordAnalysis(GuiMetadata.Type type) {
+        requireNonNull(type, "Type cannot be null");
+        ANALYSES[type.ordinal()].increment();
+    }
+
+    /**
+     * Records an analysis that failed.
+     * @param kind      reason the analysis failed
+     */
+    public void recordFailure(GuiMetadataProblem.Kind kind) {
+        requireNonNull(kind, "Kind cannot be null");
+        FAILURES[kind.ordinal()].increment();
+    }
+
+    /**
+     * Records how long an analysis took, whether it succeeded or failed.
+     * @param nanos     duration of the analysis in nanoseconds
+     */
+    public void recordLatency(long nanos) {
+        LATENCY[latencyBucket(nanos)].increment();
+        TOTAL_NANOS.add(Math.max(nanos, 0));
+    }
+
+    /**
+     * Reads every counter. Counters updated while the snapshot is taken may or may not be
+     * included, but every counter is read exactly once.
+     * @return current values of all counters
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(sum(ANALYSES), sum(FAILURES), sum(LATENCY), TOTAL_NANOS.sum());
+    }
+
+    /**
+     * Gets the histogram bucket for a duration. Bucket 0 holds durations of at most 1 nanosecond,
+     * and bucket {@code i} holds durations up to 2<sup>i</sup> nanoseconds. The last bucket also
+     * holds every longer duration.
+     * @param nanos     duration in nanoseconds
+     * @return index of the bucket
+     */
+    public static int latencyBucket(long nanos) {
+        if (nanos <= 1) {
+            return 0;
+        }
+
+        return Math.min(64 - Long.numberOfLeadingZeros(nanos - 1), LATENCY_BUCKETS - 1);
+    }
+
+    /**
+     * Gets the longest duration that falls in a histogram bucket.
+     * @param bucket    index of the bucket
+     * @return upper bound of the bucket in nanoseconds, or {@link Long#MAX_VALUE} for the last bucket
+     */
+    public static long latencyBucketUpperBound(int bucket) {
+        if (bucket < 0 || bucket >= LATENCY_BUCKETS) {
+            throw new IndexOutOfBoundsException("Bucket index out of bounds: " + bucket);
+        }
+
+        return bucket == LATENCY_BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    /**
+     * Creates an array of new counters.
+     * @param count     number of counters
+     * @return new counters
+     */
+    private static LongAdder[] makeAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int index = 0; index < count; index++) {
+            adders[index] = new LongAdder();
+        }
+
+        return adders;
+    }
+
+    /**
+     * Reads an array of counters.
+     * @param adders    counters to read
+     * @return value of each counter
+     */
+    private static long[] sum(LongAdder[] adders) {
+        long[] sums = new long[adders.length];
+        for (int index = 0; index < adders.length; index++) {
+            sums[index] = adders[index].sum();
+        }
+
+        return sums;
+    }
+
+    /**
+     * Values of all counters at one point in time.
+     * @author soir20
+     */
+    public static final class Snapshot {
+        private final long[] ANALYSES;
+        private final long[] FAILURES;
+        private final long[] LATENCY;
+        private final long TOTAL_NANOS;
+
+        /**
+         * Creates a new snapshot.
+         * @param analyses      successful analyses by scaling type ordinal
+         * @param failures      failed analyses by problem kind ordinal
+         * @param latency       analyses in each latency bucket
+         * @param totalNanos    total time spent analyzing
+         */
+        private Snapshot(long[] analyses, long[] failures, long[] latency, long totalNanos) {
+            ANALYSES = analyses;
+            FAILURES = failures;
+            LATENCY = latency;
+            TOTAL_NANOS = totalNanos;
+        }
+
+        /**
+         * Gets the number of successful analyses with a scaling type.
+         * @param type      scaling type
+         * @return number of analyses
+         */
+        public long analyses(GuiMetadata.Type type) {
+            requireNonNull(type, "Type cannot be null");
+            return ANALYSES[type.ordinal()];
+        }
+
+        /**
+         * Gets the number of successful analyses of any scaling type.
+         * @return number of analyses
+         */
+        public long totalAnalyses() {
+            return Arrays.stream(ANALYSES).sum();
+        }
+
+        /**
+         * Gets the number of analyses that failed for a reason.
+         * @param kind      reason for the failure
+         * @return number of failures
+         */
+        public long failures(GuiMetadataProblem.Kind kind) {
+            requireNonNull(kind, "Kind cannot be null");
+            return FAILURES[kind.ordinal()];
+        }
+
+        /**
+         * Gets the number of analyses that failed for any reason.
+         * @return number of failures
+         */
+        public long totalFailures() {
+            return Arrays.stream(FAILURES).sum();
+        }
+
+        /**
+         * Gets the number of analyses in a latency bucket.
+         * @param bucket    index of the bucket
+         * @return number of analyses in the bucket
+         * @see AnalysisMetrics#latencyBucket(long)
+         */
+        public long latencyCount(int bucket) {
+            if (bucket < 0 || bucket >= LATENCY_BUCKETS) {
+                throw new IndexOutOfBoundsException("Bucket index out of bounds: " + bucket);
+            }
+
+            return LATENCY[bucket];
+        }
+
+        /**
+         * Gets the total time spent analyzing.
+         * @return total time in nanoseconds
+         */
+        public long totalNanos() {
+            return TOTAL_NANOS;
+        }
+
+        /**
+         * Estimates a latency percentile as the upper bound of the bucket that contains it.
+         * @param percentile    percentile between 0 and 100
+         * @return upper bound of the percentile in nanoseconds, or 0 if no latency was recorded
+         */
+        public long percentileNanos(double percentile) {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100");
+            }
+
+            long count = Arrays.stream(LATENCY).sum();
+            if (count == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+            long seen = 0;
+            for (int bucket = 0; bucket < LATENCY_BUCKETS; bucket++) {
+                seen += LATENCY[bucket];
+                if (seen >= rank) {
+                    return latencyBucketUpperBound(bucket);
+                }
+            }
+
+            return latencyBucketUpperBound(LATENCY_BUCKETS - 1);
+        }
+
+        /**
+         * Gets the counts recorded between an earlier snapshot and this one.
+         * @param earlier       snapshot taken before this one from the same metrics
+         * @return difference between the snapshots
+         */
+        public Snapshot since(Snapshot earlier) {
+            requireNonNull(earlier, "Earlier snapshot cannot be null");
+            return new Snapshot(
+                    subtract(ANALYSES, earlier.ANALYSES),
+                    subtract(FAILURES, earlier.FAILURES),
+                    subtract(LATENCY, earlier.LATENCY),
+                    TOTAL_NANOS - earlier.TOTAL_NANOS
+            );
+        }
+
+        /**
+         * Summarizes the snapshot in one line for the log.
+         * @return summary of the snapshot
+         */
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            builder.append("Analyzed ").append(totalAnalyses()).append(" GUI metadata sections (");
+            appendCounts(builder, GuiMetadata.Type.values(), ANALYSES);
+            builder.append("), rejected ").append(totalFailures()).append(" (");
+            appendCounts(builder, GuiMetadataProblem.Kind.values(), FAILURES);
+            builder.append(')');
+
+            long count = Arrays.stream(LATENCY).sum();
+            if (count > 0) {
+                builder.append(String.format(Locale.ROOT, ", mean %.1f us, p50 <= %d ns, p99 <= %d ns",
+                        TOTAL_NANOS / (double) count / 1000, percentileNanos(50), percentileNanos(99)));
+            }
+
+            return builder.toString();
+        }
+
+        /**
+         * Appends a comma-separated list of counts with their names.
+         * @param builder       builder to append to
+         * @param names         names of the counts
+         * @param counts        counts in the same order as the names
+         */
+        private static void appendCounts(StringBuilder builder, Enum<?>[] names, long[] counts) {
+            for (int index = 0; index < names.length; index++) {
+                if (index > 0) {
+                    builder.append(", ");
+                }
+
+                builder.append(names[index].name().toLowerCase(Locale.ROOT)).append(' ').append(counts[index]);
+            }
+        }
+
+        /**
+         * Subtracts one array of counts from another.
+         * @param later         later counts
+         * @param earlier       earlier counts
+         * @return difference for each count
+         */
+        private static long[] subtract(long[] later, long[] earlier) {
+            long[] difference = new long[later.length];
+            for (int index = 0; index < later.length; index++) {
+                difference[index] = later[index] - earlier[index];
+            }
+
+            return difference;
+        }
+
+    }
+
+}
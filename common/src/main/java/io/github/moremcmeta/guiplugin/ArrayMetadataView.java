@@ -0,0 +1,313 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataView;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.NegativeKeyIndexException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Immutable {@link MetadataView} stored in arrays, for metadata created in memory. Keys keep the
+ * order in which they were added, and both key and index lookups take constant time. Values are
+ * wrapped in {@link Optional}s when the view is built, so reading them does not allocate, except
+ * for byte streams, which are created fresh for each read.
+ * <p>
+ * A value is only returned by the getter for its exact type. For example, an {@link Integer}
+ * is not returned by {@link #longValue(String)}.
+ * @author soir20
+ */
+public final class ArrayMetadataView implements MetadataView {
+    private final List<String> KEYS;
+    private final Map<String, Integer> INDICES;
+    private final Optional<?>[] VALUES;
+
+    /**
+     * Creates a new view. Use {@link #builder()} or {@link #copyOf(Map)} instead.
+     * @param keys      keys in order
+     * @param values    values in the same order as the keys
+     */
+    private ArrayMetadataView(List<String> keys, List<Object> values) {
+        KEYS = Collections.unmodifiableList(new ArrayList<>(keys));
+        VALUES = new Optional<?>[values.size()];
+
+        Map<String, Integer> indices = new HashMap<>();
+        for (int index = 0; index < KEYS.size(); index++) {
+            indices.put(KEYS.get(index), index);
+            VALUES[index] = Optional.of(values.get(index));
+        }
+
+        INDICES = indices;
+    }
+
+    /**
+     * Creates a builder for a new view.
+     * @return new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a view with the same keys and values as a map, in the map's iteration order.
+     * @param keysToValues      keys and their values. Values must be one of the types accepted
+     *                          by {@link Builder#put(String, Object)}.
+     * @return new view
+     */
+    public static ArrayMetadataView copyOf(Map<String, ?> keysToValues) {
+        requireNonNull(keysToValues, "Map cannot be null");
+
+        Builder builder = builder();
+        keysToValues.forEach(builder::put);
+        return builder.build();
+    }
+
+    @Override
+    public int size() {
+        return KEYS.size();
+    }
+
+    @Override
+    public Iterable<String> keys() {
+        return KEYS;
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        return INDICES.containsKey(key);
+    }
+
+    @Override
+    public boolean hasKey(int index) {
+        checkNegativeIndex(index);
+        return index < VALUES.length;
+    }
+
+    @Override
+    public Optional<String> stringValue(String key) {
+        return value(indexOf(key), String.class);
+    }
+
+    @Override
+    public Optional<String> stringValue(int index) {
+        checkNegativeIndex(index);
+        return value(index, String.class);
+    }
+
+    @Override
+    public Optional<Integer> integerValue(String key) {
+        return value(indexOf(key), Integer.class);
+    }
+
+    @Override
+    public Optional<Integer> integerValue(int index) {
+        checkNegativeIndex(index);
+        return value(index, Integer.class);
+    }
+
+    @Override
+    public Optional<Long> longValue(String key) {
+        return value(indexOf(key), Long.class);
+    }
+
+    @Override
+    public Optional<Long> longValue(int index) {
+        checkNegativeIndex(index);
+        return value(index, Long.class);
+    }
+
+    @Override
+    public Optional<Float> floatValue(String key) {
+        return value(indexOf(key), Float.class);
+    }
+
+    @Override
+    public Optional<Float> floatValue(int index) {
+        checkNegativeIndex(index);
+        return value(index, Float.class);
+    }
+
+    @Override
+    public Optional<Double> doubleValue(String key) {
+        return value(indexOf(key), Double.class);
+    }
+
+    @Override
+    public Optional<Double> doubleValue(int index) {
+        checkNegativeIndex(index);
+        return value(index, Double.class);
+    }
+
+    @Override
+    public Optional<Boolean> booleanValue(String key) {
+        return value(indexOf(key), Boolean.class);
+    }
+
+    @Override
+    public Optional<Boolean> booleanValue(int index) {
+        checkNegativeIndex(index);
+        return value(index, Boolean.class);
+    }
+
+    @Override
+    public Optional<InputStream> byteStreamValue(String key) {
+        return byteStream(indexOf(key));
+    }
+
+    @Override
+    public Optional<InputStream> byteStreamValue(int index) {
+        checkNegativeIndex(index);
+        return byteStream(index);
+    }
+
+    @Override
+    public Optional<MetadataView> subView(String key) {
+        return value(indexOf(key), MetadataView.class);
+    }
+
+    @Override
+    public Optional<MetadataView> subView(int index) {
+        checkNegativeIndex(index);
+        return value(index, MetadataView.class);
+    }
+
+    /**
+     * Gets the index of a key.
+     * @param key       key to find
+     * @return index of the key or -1 if the key is not present
+     */
+    private int indexOf(String key) {
+        Integer index = INDICES.get(key);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Gets a value if it exists and has the expected type.
+     * @param index             index of the value, or -1 for a missing key
+     * @param expectedClass     type the value must have
+     * @param <T> type of the value
+     * @return the value or empty if there is no value of the expected type at the index
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Optional<T> value(int index, Class<T> expectedClass) {
+        if (index < 0 || index >= VALUES.length || !expectedClass.isInstance(VALUES[index].get())) {
+            return Optional.empty();
+        }
+
+        return (Optional<T>) VALUES[index];
+    }
+
+    /**
+     * Gets a new stream for a byte array value.
+     * @param index     index of the value, or -1 for a missing key
+     * @return a new stream or empty if there is no byte array at the index
+     */
+    private Optional<InputStream> byteStream(int index) {
+        Optional<byte[]> bytes = value(index, byte[].class);
+        return bytes.map(ByteArrayInputStream::new);
+    }
+
+    /**
+     * Checks that an index is not negative.
+     * @param index     index to check
+     * @throws NegativeKeyIndexException if the index is negative
+     */
+    private static void checkNegativeIndex(int index) {
+        if (index < 0) {
+            throw new NegativeKeyIndexException(index);
+        }
+    }
+
+    /**
+     * Builds an {@link ArrayMetadataView}.
+     * @author soir20
+     */
+    public static final class Builder {
+        private final List<String> KEYS;
+        private final List<Object> VALUES;
+        private final Set<String> ADDED;
+
+        /**
+         * Creates a new builder with no keys.
+         */
+        private Builder() {
+            KEYS = new ArrayList<>();
+            VALUES = new ArrayList<>();
+            ADDED = new HashSet<>();
+        }
+
+        /**
+         * Adds a value after all values added so far.
+         * @param key       key of the value
+         * @param value     a {@link String}, {@link Integer}, {@link Long}, {@link Float}, {@link Double},
+         *                  {@link Boolean}, {@link MetadataView}, or {@code byte[]}. Byte arrays are read
+         *                  as byte streams and are copied.
+         * @return this builder
+         * @throws IllegalArgumentException if the key was already added or the value has an unsupported type
+         */
+        public Builder put(String key, Object value) {
+            requireNonNull(key, "Key cannot be null");
+            requireNonNull(value, "Value cannot be null");
+
+            if (!isSupported(value)) {
+                throw new IllegalArgumentException("Unsupported value type for key " + key + ": "
+                        + value.getClass().getName());
+            }
+
+            if (!ADDED.add(key)) {
+                throw new IllegalArgumentException("Duplicate key: " + key);
+            }
+
+            KEYS.add(key);
+            VALUES.add(value instanceof byte[] ? ((byte[]) value).clone() : value);
+            return this;
+        }
+
+        /**
+         * Creates a view with all values added so far. The builder can still be used afterward
+         * without affecting the view.
+         * @return new view
+         */
+        public ArrayMetadataView build() {
+            return new ArrayMetadataView(KEYS, VALUES);
+        }
+
+        /**
+         * Checks whether a value can be stored in a view.
+         * @param value     value to check
+         * @return true if the value has a supported type, false otherwise
+         */
+        private static boolean isSupported(Object value) {
+            return value instanceof String || value instanceof Integer || value instanceof Long
+                    || value instanceof Float || value instanceof Double || value instanceof Boolean
+                    || value instanceof MetadataView || value instanceof byte[];
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.AnalyzedMetadata;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A single GUI sprite to be placed in an atlas.
+ * @param <T> type of the identifier for the sprite
+ * @author soir20
+ */
+public final class AtlasEntry<T> {
+    private final T ID;
+    private final AnalyzedMetadata METADATA;
+    private final int WIDTH;
+    private final int HEIGHT;
+
+    /**
+     * Creates a new atlas entry.
+     * @param id            identifier for the sprite, such as its texture location
+     * @param metadata      analyzed GUI metadata for the sprite
+     * @param width         width of the sprite's frame in pixels
+     * @param height        height of the sprite's frame in pixels
+     */
+    public AtlasEntry(T id, AnalyzedMetadata metadata, int width, int height) {
+        ID = requireNonNull(id, "ID cannot be null");
+        METADATA = requireNonNull(metadata, "Metadata cannot be null");
+
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Sprite size must be positive");
+        }
+
+        WIDTH = width;
+        HEIGHT = height;
+    }
+
+    /**
+     * Gets the identifier for the sprite.
+     * @return the sprite's identifier
+     */
+    public T id() {
+        return ID;
+    }
+
+    /**
+     * Gets the analyzed GUI metadata for the sprite.
+     * @return the sprite's metadata
+     */
+    public AnalyzedMetadata metadata() {
+        return METADATA;
+    }
+
+    /**
+     * Gets the width of the sprite's frame.
+     * @return width of the sprite
+     */
+    public int width() {
+        return WIDTH;
+    }
+
+    /**
+     * Gets the height of the sprite's frame.
+     * @return height of the sprite
+     */
+    public int height() {
+        return HEIGHT;
+    }
+
+    /**
+     * Checks whether the sprite can share an atlas page with other sprites. Tiled sprites
+     * rely on the sampler to repeat them, which would sample their neighbors in an atlas.
+     * @return whether the sprite can be packed
+     */
+    public boolean isPackable() {
+        Optional<GuiScaling> scaling = METADATA.guiScaling();
+        return scaling.isPresent() && !(scaling.get() instanceof GuiScaling.Tile);
+    }
+
+}
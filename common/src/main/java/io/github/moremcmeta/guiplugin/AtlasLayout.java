@@ -0,0 +1,200 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Where each sprite was placed by an {@link AtlasPacker}.
+ * @param <T> type of the identifier for each sprite
+ * @author soir20
+ */
+public final class AtlasLayout<T> {
+    private final Map<T, Placement> PLACEMENTS;
+    private final List<T> EXCLUDED;
+    private final int PAGES;
+
+    /**
+     * Creates a new atlas layout.
+     * @param placements    placement of each packed sprite, in input order
+     * @param excluded      sprites that were not packed, in input order
+     * @param pages         number of pages used
+     */
+    AtlasLayout(Map<T, Placement> placements, List<T> excluded, int pages) {
+        PLACEMENTS = Collections.unmodifiableMap(requireNonNull(placements, "Placements cannot be null"));
+        EXCLUDED = List.copyOf(requireNonNull(excluded, "Excluded sprites cannot be null"));
+        PAGES = pages;
+    }
+
+    /**
+     * Gets where a sprite was placed.
+     * @param id        identifier of the sprite
+     * @return the sprite's placement or empty if it was not packed
+     */
+    public Optional<Placement> placement(T id) {
+        return Optional.ofNullable(PLACEMENTS.get(id));
+    }
+
+    /**
+     * Gets the placements of all packed sprites.
+     * @return placement of each packed sprite, in input order
+     */
+    public Map<T, Placement> placements() {
+        return PLACEMENTS;
+    }
+
+    /**
+     * Gets the sprites that were not packed because they are tiled, have no GUI scaling,
+     * or are larger than a page. These sprites should be drawn from their own textures.
+     * @return excluded sprites, in input order
+     */
+    public List<T> excluded() {
+        return EXCLUDED;
+    }
+
+    /**
+     * Gets the number of pages needed to hold every packed sprite.
+     * @return number of pages
+     */
+    public int pages() {
+        return PAGES;
+    }
+
+    /**
+     * Where a single sprite was placed in an atlas.
+     * @author soir20
+     */
+    public static final class Placement {
+        private final int PAGE;
+        private final int X;
+        private final int Y;
+        private final int WIDTH;
+        private final int HEIGHT;
+        private final int PAGE_WIDTH;
+        private final int PAGE_HEIGHT;
+
+        /**
+         * Creates a new placement.
+         * @param page          index of the page containing the sprite
+         * @param x             x-coordinate of the sprite's left edge on the page
+         * @param y             y-coordinate of the sprite's top edge on the page
+         * @param width         width of the sprite
+         * @param height        height of the sprite
+         * @param pageWidth     width of the page
+         * @param pageHeight    height of the page
+         */
+        Placement(int page, int x, int y, int width, int height, int pageWidth, int pageHeight) {
+            PAGE = page;
+            X = x;
+            Y = y;
+            WIDTH = width;
+            HEIGHT = height;
+            PAGE_WIDTH = pageWidth;
+            PAGE_HEIGHT = pageHeight;
+        }
+
+        /**
+         * Gets the index of the page containing the sprite.
+         * @return index of the page
+         */
+        public int page() {
+            return PAGE;
+        }
+
+        /**
+         * Gets the x-coordinate of the sprite's left edge on the page.
+         * @return x-coordinate of the sprite
+         */
+        public int x() {
+            return X;
+        }
+
+        /**
+         * Gets the y-coordinate of the sprite's top edge on the page.
+         * @return y-coordinate of the sprite
+         */
+        public int y() {
+            return Y;
+        }
+
+        /**
+         * Gets the width of the sprite.
+         * @return width of the sprite
+         */
+        public int width() {
+            return WIDTH;
+        }
+
+        /**
+         * Gets the height of the sprite.
+         * @return height of the sprite
+         */
+        public int height() {
+            return HEIGHT;
+        }
+
+        /**
+         * Converts a horizontal texture coordinate from frame space to page space.
+         * @param frameU        coordinate normalized to the sprite's frame
+         * @return coordinate normalized to the page
+         */
+        public float u(float frameU) {
+            return (X + frameU * WIDTH) / PAGE_WIDTH;
+        }
+
+        /**
+         * Converts a vertical texture coordinate from frame space to page space.
+         * @param frameV        coordinate normalized to the sprite's frame
+         * @return coordinate normalized to the page
+         */
+        public float v(float frameV) {
+            return (Y + frameV * HEIGHT) / PAGE_HEIGHT;
+        }
+
+        /**
+         * Adds copies of quads to a buffer with their texture coordinates converted to page space.
+         * The source quads are not modified, so cached layouts can be remapped directly.
+         * @param quads         quads whose texture coordinates are normalized to the frame
+         * @param quadCount     number of quads to copy from the start of the array
+         * @param out           buffer to add the remapped quads to
+         */
+        public void remap(float[] quads, int quadCount, QuadBuffer out) {
+            requireNonNull(quads, "Quads cannot be null");
+            requireNonNull(out, "Buffer cannot be null");
+
+            if (quadCount < 0 || (long) quadCount * QuadBuffer.FLOATS_PER_QUAD > quads.length) {
+                throw new IllegalArgumentException("Quad count out of bounds: " + quadCount);
+            }
+
+            for (int quad = 0; quad < quadCount; quad++) {
+                int offset = quad * QuadBuffer.FLOATS_PER_QUAD;
+                out.add(
+                        quads[offset], quads[offset + 1], quads[offset + 2], quads[offset + 3],
+                        u(quads[offset + 4]), v(quads[offset + 5]), u(quads[offset + 6]), v(quads[offset + 7])
+                );
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,242 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Packs small GUI sprites into shared atlas pages so that a screen with many widgets can draw them
+ * without switching textures. Sprites are placed with the skyline bottom-left algorithm, tallest
+ * first. Tiled sprites are never packed because they need to be repeated by the sampler.
+ * @author soir20
+ */
+public final class AtlasPacker {
+    public static final int DEFAULT_PADDING = 1;
+
+    private final int PAGE_WIDTH;
+    private final int PAGE_HEIGHT;
+    private final int PADDING;
+
+    /**
+     * Creates a new packer with {@link #DEFAULT_PADDING} pixels between sprites.
+     * @param pageWidth     width of each atlas page
+     * @param pageHeight    height of each atlas page
+     */
+    public AtlasPacker(int pageWidth, int pageHeight) {
+        this(pageWidth, pageHeight, DEFAULT_PADDING);
+    }
+
+    /**
+     * Creates a new packer.
+     * @param pageWidth     width of each atlas page
+     * @param pageHeight    height of each atlas page
+     * @param padding       number of empty pixels to leave between sprites so that filtering
+     *                      does not bleed one sprite into another
+     */
+    public AtlasPacker(int pageWidth, int pageHeight, int padding) {
+        if (pageWidth <= 0 || pageHeight <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        if (padding < 0) {
+            throw new IllegalArgumentException("Padding cannot be negative");
+        }
+
+        PAGE_WIDTH = pageWidth;
+        PAGE_HEIGHT = pageHeight;
+        PADDING = padding;
+    }
+
+    /**
+     * Packs sprites into as few pages as the algorithm finds.
+     * @param entries       sprites to pack. Identifiers must be unique.
+     * @param <T> type of the identifier for each sprite
+     * @return where each sprite was placed
+     */
+    public <T> AtlasLayout<T> pack(Collection<AtlasEntry<T>> entries) {
+        requireNonNull(entries, "Entries cannot be null");
+
+        List<AtlasEntry<T>> packable = new ArrayList<>();
+        List<T> excluded = new ArrayList<>();
+        for (AtlasEntry<T> entry : entries) {
+            requireNonNull(entry, "Entry cannot be null");
+            if (entry.isPackable() && entry.width() <= PAGE_WIDTH && entry.height() <= PAGE_HEIGHT) {
+                packable.add(entry);
+            } else {
+                excluded.add(entry.id());
+            }
+        }
+
+        List<AtlasEntry<T>> sorted = new ArrayList<>(packable);
+        sorted.sort(Comparator.<AtlasEntry<T>>comparingInt(AtlasEntry::height)
+                .thenComparingInt(AtlasEntry::width)
+                .reversed());
+
+        Map<T, AtlasLayout.Placement> placementsById = new LinkedHashMap<>();
+        List<Skyline> pages = new ArrayList<>();
+        for (AtlasEntry<T> entry : sorted) {
+            int occupiedWidth = entry.width() + PADDING;
+            int occupiedHeight = entry.height() + PADDING;
+
+            AtlasLayout.Placement placement = null;
+            for (int page = 0; page < pages.size() && placement == null; page++) {
+                placement = pages.get(page).place(page, entry, occupiedWidth, occupiedHeight);
+            }
+
+            if (placement == null) {
+                Skyline newPage = new Skyline(PAGE_WIDTH + PADDING, PAGE_HEIGHT + PADDING);
+                pages.add(newPage);
+                placement = newPage.place(pages.size() - 1, entry, occupiedWidth, occupiedHeight);
+            }
+
+            if (placementsById.put(entry.id(), placement) != null) {
+                throw new IllegalArgumentException("Duplicate sprite ID: " + entry.id());
+            }
+        }
+
+        Map<T, AtlasLayout.Placement> placementsInOrder = new LinkedHashMap<>();
+        for (AtlasEntry<T> entry : packable) {
+            placementsInOrder.put(entry.id(), placementsById.get(entry.id()));
+        }
+
+        return new AtlasLayout<>(placementsInOrder, excluded, pages.size());
+    }
+
+    /**
+     * Tracks the top edge of the occupied area of one page as a list of horizontal segments.
+     * The padding is added to the page size so that it can be left after the last sprite in
+     * each row and column without wasting space.
+     * @author soir20
+     */
+    private final class Skyline {
+        private final int WIDTH;
+        private final int HEIGHT;
+        private final List<int[]> SEGMENTS;
+
+        /**
+         * Creates a new skyline for an empty page.
+         * @param width     width of the page including padding
+         * @param height    height of the page including padding
+         */
+        public Skyline(int width, int height) {
+            WIDTH = width;
+            HEIGHT = height;
+            SEGMENTS = new ArrayList<>();
+            SEGMENTS.add(new int[] {0, 0, width});
+        }
+
+        /**
+         * Places a sprite at the lowest, then leftmost, position where it fits.
+         * @param page      index of this page
+         * @param entry     sprite to place
+         * @param width     width the sprite occupies, including padding
+         * @param height    height the sprite occupies, including padding
+         * @return placement of the sprite or null if it does not fit on this page
+         */
+        public AtlasLayout.Placement place(int page, AtlasEntry<?> entry, int width, int height) {
+            int bestIndex = -1;
+            int bestX = 0;
+            int bestY = Integer.MAX_VALUE;
+
+            for (int index = 0; index < SEGMENTS.size(); index++) {
+                int x = SEGMENTS.get(index)[0];
+                int y = fitY(index, width);
+                if (y >= 0 && y + height <= HEIGHT && y < bestY) {
+                    bestIndex = index;
+                    bestX = x;
+                    bestY = y;
+                }
+            }
+
+            if (bestIndex < 0) {
+                return null;
+            }
+
+            addSegment(bestIndex, bestX, bestY + height, width);
+            return new AtlasLayout.Placement(page, bestX, bestY, entry.width(), entry.height(),
+                    PAGE_WIDTH, PAGE_HEIGHT);
+        }
+
+        /**
+         * Finds the lowest y-coordinate where a sprite can sit if its left edge is at the start of a segment.
+         * @param startIndex    index of the segment at the sprite's left edge
+         * @param width         width the sprite occupies
+         * @return y-coordinate of the sprite's top edge or -1 if it would extend past the page's right edge
+         */
+        private int fitY(int startIndex, int width) {
+            int x = SEGMENTS.get(startIndex)[0];
+            if (x + width > WIDTH) {
+                return -1;
+            }
+
+            int y = 0;
+            int remaining = width;
+            for (int index = startIndex; remaining > 0; index++) {
+                int[] segment = SEGMENTS.get(index);
+                y = Math.max(y, segment[1]);
+                remaining -= segment[2];
+            }
+
+            return y;
+        }
+
+        /**
+         * Raises the skyline under a newly-placed sprite.
+         * @param index     index of the segment at the sprite's left edge
+         * @param x         x-coordinate of the sprite's left edge
+         * @param y         new height of the skyline under the sprite
+         * @param width     width the sprite occupies
+         */
+        private void addSegment(int index, int x, int y, int width) {
+            SEGMENTS.add(index, new int[] {x, y, width});
+
+            int end = x + width;
+            int next = index + 1;
+            while (next < SEGMENTS.size() && SEGMENTS.get(next)[0] < end) {
+                int[] segment = SEGMENTS.get(next);
+                int segmentEnd = segment[0] + segment[2];
+
+                if (segmentEnd <= end) {
+                    SEGMENTS.remove(next);
+                } else {
+                    segment[2] = segmentEnd - end;
+                    segment[0] = end;
+                    break;
+                }
+            }
+
+            for (int merge = SEGMENTS.size() - 1; merge > 0; merge--) {
+                int[] previous = SEGMENTS.get(merge - 1);
+                int[] current = SEGMENTS.get(merge);
+                if (previous[1] == current[1]) {
+                    previous[2] += current[2];
+                    SEGMENTS.remove(merge);
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataView;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A single texture's metadata to be analyzed as part of a batch.
+ * @param <T> type of the identifier for the texture
+ * @author soir20
+ */
+public final class BatchEntry<T> {
+    private final T ID;
+    private final MetadataView METADATA;
+    private final int IMAGE_WIDTH;
+    private final int IMAGE_HEIGHT;
+
+    /**
+     * Creates a new batch entry.
+     * @param id            identifier for the texture, such as its location
+     * @param metadata      the texture's GUI metadata section
+     * @param imageWidth    width of the texture's image
+     * @param imageHeight   height of the texture's image
+     */
+    public BatchEntry(T id, MetadataView metadata, int imageWidth, int imageHeight) {
+        ID = requireNonNull(id, "ID cannot be null");
+        METADATA = requireNonNull(metadata, "Metadata cannot be null");
+        IMAGE_WIDTH = imageWidth;
+        IMAGE_HEIGHT = imageHeight;
+    }
+
+    /**
+     * Gets the identifier for the texture.
+     * @return the texture's identifier
+     */
+    public T id() {
+        return ID;
+    }
+
+    /**
+     * Gets the texture's GUI metadata section.
+     * @return the texture's metadata
+     */
+    public MetadataView metadata() {
+        return METADATA;
+    }
+
+    /**
+     * Gets the width of the texture's image.
+     * @return width of the image
+     */
+    public int imageWidth() {
+        return IMAGE_WIDTH;
+    }
+
+    /**
+     * Gets the height of the texture's image.
+     * @return height of the image
+     */
+    public int imageHeight() {
+        return IMAGE_HEIGHT;
+    }
+
+}
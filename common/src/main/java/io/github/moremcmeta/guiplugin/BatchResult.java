@@ -0,0 +1,174 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.AnalyzedMetadata;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.InvalidMetadataException;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Results of analyzing a batch of textures. Successes and failures are each listed in the
+ * same order as the entries that produced them.
+ * @param <T> type of the identifier for each texture
+ * @author soir20
+ */
+public final class BatchResult<T> {
+    private final List<Success<T>> SUCCESSES;
+    private final List<Failure<T>> FAILURES;
+
+    /**
+     * Creates a new batch result.
+     * @param successes     textures that were analyzed successfully
+     * @param failures      textures whose metadata was invalid or whose analysis failed
+     */
+    BatchResult(List<Success<T>> successes, List<Failure<T>> failures) {
+        SUCCESSES = List.copyOf(requireNonNull(successes, "Successes cannot be null"));
+        FAILURES = List.copyOf(requireNonNull(failures, "Failures cannot be null"));
+    }
+
+    /**
+     * Gets all textures that were analyzed successfully.
+     * @return successfully-analyzed textures in input order
+     */
+    public List<Success<T>> successes() {
+        return SUCCESSES;
+    }
+
+    /**
+     * Gets all textures whose metadata was invalid or whose analysis failed unexpectedly.
+     * @return textures that failed analysis in input order
+     */
+    public List<Failure<T>> failures() {
+        return FAILURES;
+    }
+
+    /**
+     * A texture that was analyzed successfully.
+     * @param <T> type of the identifier for the texture
+     * @author soir20
+     */
+    public static final class Success<T> {
+        private final T ID;
+        private final AnalyzedMetadata METADATA;
+
+        /**
+         * Creates a new success.
+         * @param id            identifier for the texture
+         * @param metadata      analyzed metadata for the texture
+         */
+        Success(T id, AnalyzedMetadata metadata) {
+            ID = id;
+            METADATA = metadata;
+        }
+
+        /**
+         * Gets the identifier for the texture.
+         * @return the texture's identifier
+         */
+        public T id() {
+            return ID;
+        }
+
+        /**
+         * Gets the analyzed metadata for the texture.
+         * @return the texture's analyzed metadata
+         */
+        public AnalyzedMetadata metadata() {
+            return METADATA;
+        }
+    }
+
+    /**
+     * A texture whose metadata was invalid or whose analysis failed unexpectedly.
+     * @param <T> type of the identifier for the texture
+     * @author soir20
+     */
+    public static final class Failure<T> {
+        private final T ID;
+        private final Kind KIND;
+        private final Exception ERROR;
+
+        /**
+         * Creates a failure for invalid metadata.
+         * @param id            identifier for the texture
+         * @param error         reason the texture's metadata is invalid
+         */
+        Failure(T id, InvalidMetadataException error) {
+            this(id, Kind.INVALID_METADATA, error);
+        }
+
+        /**
+         * Creates a failure for an exception the analyzer was not expected to throw.
+         * @param id            identifier for the texture
+         * @param error         exception thrown by the analyzer
+         */
+        Failure(T id, RuntimeException error) {
+            this(id, Kind.UNEXPECTED_ERROR, error);
+        }
+
+        /**
+         * Creates a new failure.
+         * @param id            identifier for the texture
+         * @param kind          why the texture failed
+         * @param error         exception that caused the failure
+         */
+        private Failure(T id, Kind kind, Exception error) {
+            ID = id;
+            KIND = kind;
+            ERROR = requireNonNull(error, "Error cannot be null");
+        }
+
+        /**
+         * Gets the identifier for the texture.
+         * @return the texture's identifier
+         */
+        public T id() {
+            return ID;
+        }
+
+        /**
+         * Gets whether the texture's metadata was invalid or the analyzer itself failed.
+         * @return why the texture failed
+         */
+        public Kind kind() {
+            return KIND;
+        }
+
+        /**
+         * Gets the exception that caused the failure. It is an {@link InvalidMetadataException}
+         * if the metadata was invalid and the exception the analyzer threw otherwise.
+         * @return the texture's analysis error
+         */
+        public Exception error() {
+            return ERROR;
+        }
+
+        /**
+         * Reasons that a texture can fail analysis.
+         * @author soir20
+         */
+        public enum Kind {
+            INVALID_METADATA,
+            UNEXPECTED_ERROR
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Holds an object that is not created until it is first needed, so that creating it does not
+ * add to the game's startup time if it is never used. Creation is recorded in a {@link StartupTimeline}.
+ * @param <T> type of object held
+ * @author soir20
+ */
+public final class Deferred<T> {
+    private final String NAME;
+    private final StartupTimeline TIMELINE;
+    private Supplier<? extends T> factory;
+    private volatile T value;
+
+    /**
+     * Creates a new holder.
+     * @param name          name of the object, used in the timeline
+     * @param factory       creates the object. Must not return null.
+     * @param timeline      timeline to record the object's creation in
+     */
+    public Deferred(String name, Supplier<? extends T> factory, StartupTimeline timeline) {
+        NAME = requireNonNull(name, "Name cannot be null");
+        this.factory = requireNonNull(factory, "Factory cannot be null");
+        TIMELINE = requireNonNull(timeline, "Timeline cannot be null");
+    }
+
+    /**
+     * Gets the object, creating it if it does not exist yet. If creation throws, the next
+     * call tries again.
+     * @return the held object
+     */
+    public T get() {
+        T currentValue = value;
+        if (currentValue != null) {
+            return currentValue;
+        }
+
+        synchronized (this) {
+            if (value == null) {
+                T newValue = requireNonNull(TIMELINE.time("create " + NAME, factory), "Factory returned null");
+                value = newValue;
+                factory = null;
+            }
+
+            return value;
+        }
+    }
+
+    /**
+     * Gets the object only if it has already been created.
+     * @return the held object or empty if it has not been created
+     */
+    public Optional<T> getIfCreated() {
+        return Optional.ofNullable(value);
+    }
+
+    /**
+     * Checks whether the object has been created.
+     * @return true if the object has been created
+     */
+    public boolean isCreated() {
+        return value != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Deferred[" + NAME + (isCreated() ? ", created]" : "]");
+    }
+
+}
@@ -0,0 +1,221 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.texture.MutableFrameView;
+
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Immutable copy of a frame's pixels, stored as one color per pixel in row-major order.
+ * @author soir20
+ */
+public final class FramePixels {
+    private final int WIDTH;
+    private final int HEIGHT;
+    private final int[] PIXELS;
+
+    /**
+     * Creates new pixels without copying the array.
+     * @param width     width of the image
+     * @param height    height of the image
+     * @param pixels    colors in row-major order
+     */
+    private FramePixels(int width, int height, int[] pixels) {
+        int pixelCount = pixelCount(width, height);
+        if (pixels.length != pixelCount) {
+            throw new IllegalArgumentException("Expected " + pixelCount + " pixels but got " + pixels.length);
+        }
+
+        WIDTH = width;
+        HEIGHT = height;
+        PIXELS = pixels;
+    }
+
+    /**
+     * Creates new pixels from a copy of an array of colors.
+     * @param width     width of the image
+     * @param height    height of the image
+     * @param pixels    colors in row-major order. The array is copied.
+     * @return pixels backed by a copy of the array
+     */
+    public static FramePixels copyOf(int width, int height, int[] pixels) {
+        return new FramePixels(width, height, requireNonNull(pixels, "Pixels cannot be null").clone());
+    }
+
+    /**
+     * Creates new pixels that take ownership of an array instead of copying it.
+     * @param width     width of the image
+     * @param height    height of the image
+     * @param pixels    colors in row-major order. Must not be modified afterward.
+     * @return pixels backed by the array
+     */
+    static FramePixels wrap(int width, int height, int[] pixels) {
+        return new FramePixels(width, height, requireNonNull(pixels, "Pixels cannot be null"));
+    }
+
+    /**
+     * Copies the colors of a frame.
+     * @param source    frame to copy
+     * @return copy of the frame's colors
+     */
+    public static FramePixels copyOf(MutableFrameView source) {
+        requireNonNull(source, "Source cannot be null");
+        return resample(source, source.width(), source.height());
+    }
+
+    /**
+     * Resamples a frame to a new size with nearest-neighbor filtering, which keeps GUI pixel art sharp.
+     * Each pixel of the result takes the color of the source pixel under its center.
+     * @param source    frame to resample
+     * @param width     width of the result
+     * @param height    height of the result
+     * @return resampled pixels
+     */
+    public static FramePixels resample(MutableFrameView source, int width, int height) {
+        requireNonNull(source, "Source cannot be null");
+
+        int[] pixels = new int[pixelCount(width, height)];
+        int sourceWidth = source.width();
+        int sourceHeight = source.height();
+
+        for (int y = 0; y < height; y++) {
+            int sourceY = nearest(y, height, sourceHeight);
+            for (int x = 0; x < width; x++) {
+                pixels[y * width + x] = source.color(nearest(x, width, sourceWidth), sourceY);
+            }
+        }
+
+        return new FramePixels(width, height, pixels);
+    }
+
+    /**
+     * Resamples these pixels to a new size with the same filtering as {@link #resample(MutableFrameView, int, int)}.
+     * @param width     width of the result
+     * @param height    height of the result
+     * @return resampled pixels
+     */
+    public FramePixels resized(int width, int height) {
+        int[] pixels = new int[pixelCount(width, height)];
+        for (int y = 0; y < height; y++) {
+            int sourceRow = nearest(y, height, HEIGHT) * WIDTH;
+            for (int x = 0; x < width; x++) {
+                pixels[y * width + x] = PIXELS[sourceRow + nearest(x, width, WIDTH)];
+            }
+        }
+
+        return new FramePixels(width, height, pixels);
+    }
+
+    /**
+     * Gets the width of the image.
+     * @return width of the image
+     */
+    public int width() {
+        return WIDTH;
+    }
+
+    /**
+     * Gets the height of the image.
+     * @return height of the image
+     */
+    public int height() {
+        return HEIGHT;
+    }
+
+    /**
+     * Gets the color of a pixel.
+     * @param x     x-coordinate of the pixel
+     * @param y     y-coordinate of the pixel
+     * @return color of the pixel
+     */
+    public int color(int x, int y) {
+        if (x < 0 || x >= WIDTH || y < 0 || y >= HEIGHT) {
+            throw new IndexOutOfBoundsException("Pixel out of bounds: (" + x + ", " + y + ")");
+        }
+
+        return PIXELS[y * WIDTH + x];
+    }
+
+    /**
+     * Copies all colors into a new array.
+     * @return colors in row-major order
+     */
+    public int[] toArray() {
+        return PIXELS.clone();
+    }
+
+    /**
+     * Gets the array backing these pixels. The array must not be modified.
+     * @return colors in row-major order
+     */
+    int[] array() {
+        return PIXELS;
+    }
+
+    /**
+     * Gets the approximate number of bytes used by the pixels.
+     * @return size of the pixels in bytes
+     */
+    public long byteSize() {
+        return (long) PIXELS.length * Integer.BYTES;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof FramePixels otherPixels)) {
+            return false;
+        }
+
+        return WIDTH == otherPixels.WIDTH && HEIGHT == otherPixels.HEIGHT && Arrays.equals(PIXELS, otherPixels.PIXELS);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * WIDTH + HEIGHT) + Arrays.hashCode(PIXELS);
+    }
+
+    /**
+     * Maps a coordinate in the result to the source coordinate under the center of its pixel.
+     * @param coordinate        coordinate in the result
+     * @param size              size of the result along the same axis
+     * @param sourceSize        size of the source along the same axis
+     * @return coordinate in the source
+     */
+    static int nearest(int coordinate, int size, int sourceSize) {
+        return (int) (((2L * coordinate + 1) * sourceSize) / (2L * size));
+    }
+
+    /**
+     * Checks that a size is positive and gets the number of pixels in an image of that size.
+     * @param width     width of the image
+     * @param height    height of the image
+     * @return number of pixels in the image
+     * @throws ArithmeticException if the image has more pixels than an array can hold
+     */
+    static int pixelCount(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Image size must be positive");
+        }
+
+        return Math.multiplyExact(width, height);
+    }
+
+}
@@ -0,0 +1,354 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.github.moremcmeta.guiplugin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Collects the quads of every GUI-scaled texture drawn on a screen and submits them together,
+ * with one draw per run of quads that share a texture or atlas page. Quads are grouped by layer
+ * first, so that anything drawn on a higher layer still covers what is below it. Within a layer,
+ * draws are assumed not to overlap and are reordered to keep each texture's quads together.
+ * The batcher reuses its storage between flushes and remembers the textures it has drawn, so a
+ * screen that is drawn every frame does not allocate once the buffers have grown and each of its
+ * textures has been drawn once.
+ * @param <T> type of the texture or atlas page the quads are drawn from
+ * @author soir20
+ */
+public final class GuiDrawBatcher<T> {
+    private static final int INDEX_BITS = 21;
+    private static final int MAX_INDEX = (1 << INDEX_BITS) - 1;
+    private static final int INTS_PER_ENTRY = 4;
+    private static final int MAX_REMEMBERED_TEXTURES = 1024;
+
+    private final QuadBuffer UNSORTED;
+    private final QuadBuffer SORTED;
+    private final Map<T, int[]> TEXTURE_INDICES;
+    private final List<T> TEXTURES;
+    private int[] entries;
+    private int entryCount;
+    private int[] layers;
+    private long[] sortKeys;
+
+    /**
+     * Creates a new batcher.
+     */
+    public GuiDrawBatcher() {
+        UNSORTED = new QuadBuffer(64);
+        SORTED = new QuadBuffer(64);
+        TEXTURE_INDICES = new HashMap<>();
+        TEXTURES = new ArrayList<>();
+        entries = new int[16 * INTS_PER_ENTRY];
+        layers = new int[16];
+        sortKeys = new long[16];
+    }
+
+    /**
+     * Adds quads to the batch, moving them to a position on the screen. Layouts from
+     * {@link NineSliceGeometry} and {@link TileGeometry} start at the origin and can be added directly.
+     * @param texture       texture or atlas page the quads are drawn from
+     * @param layer         layer to draw the quads on; higher layers are drawn later
+     * @param x             horizontal offset to add to each quad
+     * @param y             vertical offset to add to each quad
+     * @param quads         quads in the format described by {@link QuadBuffer}
+     * @param quadCount     number of quads to add from the start of the array
+     */
+    public void add(T texture, int layer, float x, float y, float[] quads, int quadCount) {
+        requireNonNull(quads, "Quads cannot be null");
+        checkQuadCount(quads, quadCount);
+        if (!startEntry(texture, layer, quadCount)) {
+            return;
+        }
+
+        for (int quad = 0; quad < quadCount; quad++) {
+            int quadOffset = quad * QuadBuffer.FLOATS_PER_QUAD;
+            UNSORTED.add(
+                    quads[quadOffset] + x, quads[quadOffset + 1] + y,
+                    quads[quadOffset + 2] + x, quads[quadOffset + 3] + y,
+                    quads[quadOffset + 4], quads[quadOffset + 5], quads[quadOffset + 6], quads[quadOffset + 7]
+            );
+        }
+    }
+
+    /**
+     * Adds every quad in a buffer to the batch, moving them to a position on the screen.
+     * @param texture       texture or atlas page the quads are drawn from
+     * @param layer         layer to draw the quads on; higher layers are drawn later
+     * @param x             horizontal offset to add to each quad
+     * @param y             vertical offset to add to each quad
+     * @param quads         quads to add
+     */
+    public void add(T texture, int layer, float x, float y, QuadBuffer quads) {
+        requireNonNull(quads, "Quads cannot be null");
+        add(texture, layer, x, y, quads.array(), quads.quadCount());
+    }
+
+    /**
+     * Adds quads for a sprite packed into an atlas page, converting their texture coordinates
+     * from frame space to page space. Tiled layouts cannot be added this way because they rely
+     * on the sampler to repeat the texture.
+     * @param page          atlas page the sprite was placed on
+     * @param placement     where the sprite was placed on the page
+     * @param layer         layer to draw the quads on; higher layers are drawn later
+     * @param x             horizontal offset to add to each quad
+     * @param y             vertical offset to add to each quad
+     * @param quads         quads whose texture coordinates are normalized to the sprite's frame
+     * @param quadCount     number of quads to add from the start of the array
+     */
+    public void add(T page, AtlasLayout.Placement placement, int layer, float x, float y,
+                    float[] quads, int quadCount) {
+        requireNonNull(placement, "Placement cannot be null");
+        requireNonNull(quads, "Quads cannot be null");
+        checkQuadCount(quads, quadCount);
+
+        if (!startEntry(page, layer, quadCount)) {
+            return;
+        }
+
+        for (int quad = 0; quad < quadCount; quad++) {
+            int quadOffset = quad * QuadBuffer.FLOATS_PER_QUAD;
+            UNSORTED.add(
+                    quads[quadOffset] + x, quads[quadOffset + 1] + y,
+                    quads[quadOffset + 2] + x, quads[quadOffset + 3] + y,
+                    placement.u(quads[quadOffset + 4]), placement.v(quads[quadOffset + 5]),
+                    placement.u(quads[quadOffset + 6]), placement.v(quads[quadOffset + 7])
+            );
+        }
+    }
+
+    /**
+     * Adds a single quad to the batch, such as a stretched texture drawn over its whole target.
+     * @param texture       texture or atlas page the quad is drawn from
+     * @param layer         layer to draw the quad on; higher layers are drawn later
+     * @param x0            left edge
+     * @param y0            top edge
+     * @param x1            right edge
+     * @param y1            bottom edge
+     * @param u0            horizontal texture coordinate of the left edge
+     * @param v0            vertical texture coordinate of the top edge
+     * @param u1            horizontal texture coordinate of the right edge
+     * @param v1            vertical texture coordinate of the bottom edge
+     */
+    public void addQuad(T texture, int layer, float x0, float y0, float x1, float y1,
+                        float u0, float v0, float u1, float v1) {
+        startEntry(texture, layer, 1);
+        UNSORTED.add(x0, y0, x1, y1, u0, v0, u1, v1);
+    }
+
+    /**
+     * Gets the number of quads waiting to be drawn.
+     * @return number of quads in the batch
+     */
+    public int quadCount() {
+        return UNSORTED.quadCount();
+    }
+
+    /**
+     * Sorts every quad in the batch into a single stream and submits it to a consumer, one
+     * draw per run of quads with the same texture. The batch is empty afterward.
+     * @param consumer      consumer to submit the draws to
+     * @return number of draws submitted
+     */
+    public int flush(DrawConsumer<T> consumer) {
+        requireNonNull(consumer, "Consumer cannot be null");
+
+        if (entryCount == 0) {
+            return 0;
+        }
+
+        sortEntries();
+        float[] unsortedData = UNSORTED.array();
+        SORTED.clear();
+        for (int key = 0; key < entryCount; key++) {
+            int entryOffset = (int) (sortKeys[key] & MAX_INDEX) * INTS_PER_ENTRY;
+            SORTED.addAll(unsortedData, entries[entryOffset + 2], entries[entryOffset + 3]);
+        }
+
+        // Submit only once the stream is complete, so every draw sees the same array
+        float[] sortedData = SORTED.array();
+        int draws = 0;
+        int runTexture = -1;
+        int runStart = 0;
+        int runEnd = 0;
+        for (int key = 0; key < entryCount; key++) {
+            int entryOffset = (int) (sortKeys[key] & MAX_INDEX) * INTS_PER_ENTRY;
+            int texture = entries[entryOffset];
+
+            if (texture != runTexture && runTexture >= 0) {
+                consumer.draw(TEXTURES.get(runTexture), sortedData, runStart, runEnd - runStart);
+                draws++;
+                runStart = runEnd;
+            }
+
+            runTexture = texture;
+            runEnd += entries[entryOffset + 3];
+        }
+
+        consumer.draw(TEXTURES.get(runTexture), sortedData, runStart, runEnd - runStart);
+        draws++;
+
+        clear();
+        return draws;
+    }
+
+    /**
+     * Removes every quad from the batch without drawing it.
+     */
+    public void clear() {
+        UNSORTED.clear();
+
+        // Reset the textures used in this batch in place so drawing them again does not allocate
+        if (TEXTURE_INDICES.size() > MAX_REMEMBERED_TEXTURES) {
+            TEXTURE_INDICES.clear();
+        } else {
+            for (T texture : TEXTURES) {
+                TEXTURE_INDICES.get(texture)[0] = -1;
+            }
+        }
+
+        TEXTURES.clear();
+        entryCount = 0;
+    }
+
+    /**
+     * Records a run of quads that will be added to the end of the unsorted buffer. A run that
+     * continues the previous one with the same texture and layer extends it instead.
+     * @param texture       texture the quads are drawn from
+     * @param layer         layer the quads are drawn on
+     * @param quadCount     number of quads in the run
+     * @return whether there are any quads to add
+     */
+    private boolean startEntry(T texture, int layer, int quadCount) {
+        requireNonNull(texture, "Texture cannot be null");
+
+        if (quadCount == 0) {
+            return false;
+        }
+
+        int[] indexHolder = TEXTURE_INDICES.get(texture);
+        if (indexHolder == null) {
+            indexHolder = new int[] {-1};
+            TEXTURE_INDICES.put(texture, indexHolder);
+        }
+
+        if (indexHolder[0] < 0) {
+            indexHolder[0] = TEXTURES.size();
+            TEXTURES.add(texture);
+        }
+
+        int textureIndex = indexHolder[0];
+
+        int lastOffset = (entryCount - 1) * INTS_PER_ENTRY;
+        if (entryCount > 0 && entries[lastOffset] == textureIndex && entries[lastOffset + 1] == layer) {
+            entries[lastOffset + 3] += quadCount;
+            return true;
+        }
+
+        if (entryCount > MAX_INDEX) {
+            throw new IllegalStateException("Too many separate draws in one batch");
+        }
+
+        if ((entryCount + 1) * INTS_PER_ENTRY > entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+
+        int offset = entryCount * INTS_PER_ENTRY;
+        entries[offset] = textureIndex;
+        entries[offset + 1] = layer;
+        entries[offset + 2] = UNSORTED.quadCount();
+        entries[offset + 3] = quadCount;
+        entryCount++;
+
+        return true;
+    }
+
+    /**
+     * Fills the sort keys so that entries are ordered by layer, then by texture, then by the order
+     * they were added. Textures are ranked by when they were first added, and the ranking is
+     * reversed on every other layer so that the last texture of one layer is likely to be the
+     * first texture of the next, letting the two runs become one draw.
+     */
+    private void sortEntries() {
+        if (sortKeys.length < entryCount) {
+            int newLength = Math.max(entryCount, sortKeys.length * 2);
+            sortKeys = new long[newLength];
+            layers = new int[newLength];
+        }
+
+        for (int entry = 0; entry < entryCount; entry++) {
+            layers[entry] = entries[entry * INTS_PER_ENTRY + 1];
+        }
+
+        Arrays.sort(layers, 0, entryCount);
+        int distinctLayers = 0;
+        for (int entry = 0; entry < entryCount; entry++) {
+            if (distinctLayers == 0 || layers[distinctLayers - 1] != layers[entry]) {
+                layers[distinctLayers++] = layers[entry];
+            }
+        }
+
+        // Texture indices are already assigned in order of first use
+        int lastRank = TEXTURES.size() - 1;
+        for (int entry = 0; entry < entryCount; entry++) {
+            int offset = entry * INTS_PER_ENTRY;
+            long layerRank = Arrays.binarySearch(layers, 0, distinctLayers, entries[offset + 1]);
+            long textureRank = layerRank % 2 == 0 ? entries[offset] : lastRank - entries[offset];
+            sortKeys[entry] = layerRank << (2 * INDEX_BITS) | textureRank << INDEX_BITS | entry;
+        }
+
+        Arrays.sort(sortKeys, 0, entryCount);
+    }
+
+    /**
+     * Checks that a quad count fits in an array of quads.
+     * @param quads         array of quads
+     * @param quadCount     number of quads to read from the array
+     */
+    private static void checkQuadCount(float[] quads, int quadCount) {
+        if (quadCount < 0 || (long) quadCount * QuadBuffer.FLOATS_PER_QUAD > quads.length) {
+            throw new IllegalArgumentException("Quad count out of bounds: " + quadCount);
+        }
+    }
+
+    /**
+     * Receives the draws submitted when a {@link GuiDrawBatcher} is flushed. Every draw in a flush
+     * refers to the same array, so the whole stream can be uploaded once and drawn by range.
+     * @param <T> type of the texture or atlas page the quads are drawn from
+     * @author soir20
+     */
+    @FunctionalInterface
+    public interface DrawConsumer<T> {
+
+        /**
+         * Draws a run of quads with the same texture.
+         * @param texture       texture or atlas page to draw from
+         * @param quads         every quad in the flush, in the format described by {@link QuadBuffer};
+         *                      must not be modified or kept after this method returns
+         * @param firstQuad     index of the first quad in this draw
+         * @param quadCount     number of quads in this draw
+         */
+        void draw(T texture, float[] quads, int firstQuad, int quadCount);
+
+    }
+
+}
@@ -0,0 +1,191 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.AnalyzedMetadata;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+
+import java.util.Optional;
+
+/**
+ * Immutable result of analyzing a GUI metadata section. Instances are shared between textures
+ * with identical settings by a {@link GuiMetadataInterner}. Besides the {@link AnalyzedMetadata}
+ * methods, this class offers primitive accessors so that the renderer can read the frame size and
+ * borders without unboxing.
+ * @author soir20
+ */
+public final class GuiMetadata implements AnalyzedMetadata {
+    private final Type TYPE;
+    private final int FRAME_WIDTH;
+    private final int FRAME_HEIGHT;
+    private final int LEFT;
+    private final int RIGHT;
+    private final int TOP;
+    private final int BOTTOM;
+    private final GuiScaling SCALING;
+    private final Optional<Integer> OPTIONAL_FRAME_WIDTH;
+    private final Optional<Integer> OPTIONAL_FRAME_HEIGHT;
+    private final Optional<GuiScaling> OPTIONAL_SCALING;
+
+    /**
+     * Creates new GUI metadata.
+     * @param type              type of GUI scaling
+     * @param frameWidth        width of a frame. Ignored for stretched textures.
+     * @param frameHeight       height of a frame. Ignored for stretched textures.
+     * @param left              width of the left border. Ignored unless the texture is nine-slice.
+     * @param right             width of the right border. Ignored unless the texture is nine-slice.
+     * @param top               height of the top border. Ignored unless the texture is nine-slice.
+     * @param bottom            height of the bottom border. Ignored unless the texture is nine-slice.
+     */
+    GuiMetadata(Type type, int frameWidth, int frameHeight, int left, int right, int top, int bottom) {
+        TYPE = type;
+
+        boolean hasFrameSize = type != Type.STRETCH;
+        FRAME_WIDTH = hasFrameSize ? frameWidth : 0;
+        FRAME_HEIGHT = hasFrameSize ? frameHeight : 0;
+
+        boolean hasBorders = type == Type.NINE_SLICE;
+        LEFT = hasBorders ? left : 0;
+        RIGHT = hasBorders ? right : 0;
+        TOP = hasBorders ? top : 0;
+        BOTTOM = hasBorders ? bottom : 0;
+
+        SCALING = switch (type) {
+            case STRETCH -> new GuiScaling.Stretch();
+            case TILE -> new GuiScaling.Tile();
+            case NINE_SLICE -> new GuiScaling.NineSlice(LEFT, RIGHT, TOP, BOTTOM);
+        };
+
+        OPTIONAL_FRAME_WIDTH = hasFrameSize ? Optional.of(FRAME_WIDTH) : Optional.empty();
+        OPTIONAL_FRAME_HEIGHT = hasFrameSize ? Optional.of(FRAME_HEIGHT) : Optional.empty();
+        OPTIONAL_SCALING = Optional.of(SCALING);
+    }
+
+    @Override
+    public Optional<Integer> frameWidth() {
+        return OPTIONAL_FRAME_WIDTH;
+    }
+
+    @Override
+    public Optional<Integer> frameHeight() {
+        return OPTIONAL_FRAME_HEIGHT;
+    }
+
+    @Override
+    public Optional<GuiScaling> guiScaling() {
+        return OPTIONAL_SCALING;
+    }
+
+    /**
+     * Gets the type of GUI scaling.
+     * @return type of GUI scaling
+     */
+    public Type type() {
+        return TYPE;
+    }
+
+    /**
+     * Gets the GUI scaling without wrapping it in an {@link Optional}.
+     * @return GUI scaling for the texture
+     */
+    public GuiScaling scaling() {
+        return SCALING;
+    }
+
+    /**
+     * Gets the frame width or a fallback if the texture has no frame size.
+     * @param fallback      width to use for stretched textures, usually the image width
+     * @return frame width or the fallback
+     */
+    public int frameWidthOr(int fallback) {
+        return TYPE == Type.STRETCH ? fallback : FRAME_WIDTH;
+    }
+
+    /**
+     * Gets the frame height or a fallback if the texture has no frame size.
+     * @param fallback      height to use for stretched textures, usually the image height
+     * @return frame height or the fallback
+     */
+    public int frameHeightOr(int fallback) {
+        return TYPE == Type.STRETCH ? fallback : FRAME_HEIGHT;
+    }
+
+    /**
+     * Gets the width of the left border.
+     * @return width of the left border, or zero if the texture is not nine-slice
+     */
+    public int left() {
+        return LEFT;
+    }
+
+    /**
+     * Gets the width of the right border.
+     * @return width of the right border, or zero if the texture is not nine-slice
+     */
+    public int right() {
+        return RIGHT;
+    }
+
+    /**
+     * Gets the height of the top border.
+     * @return height of the top border, or zero if the texture is not nine-slice
+     */
+    public int top() {
+        return TOP;
+    }
+
+    /**
+     * Gets the height of the bottom border.
+     * @return height of the bottom border, or zero if the texture is not nine-slice
+     */
+    public int bottom() {
+        return BOTTOM;
+    }
+
+    /**
+     * Checks whether this metadata describes the given configuration.
+     * @param type              type of GUI scaling
+     * @param frameWidth        width of a frame
+     * @param frameHeight       height of a frame
+     * @param left              width of the left border
+     * @param right             width of the right border
+     * @param top               height of the top border
+     * @param bottom            height of the bottom border
+     * @return true if this metadata matches the configuration, false otherwise
+     */
+    boolean matches(Type type, int frameWidth, int frameHeight, int left, int right, int top, int bottom) {
+        return TYPE == type
+                && FRAME_WIDTH == frameWidth
+                && FRAME_HEIGHT == frameHeight
+                && LEFT == left
+                && RIGHT == right
+                && TOP == top
+                && BOTTOM == bottom;
+    }
+
+    /**
+     * Types of GUI scaling.
+     * @author soir20
+     */
+    public enum Type {
+        STRETCH,
+        TILE,
+        NINE_SLICE
+    }
+
+}
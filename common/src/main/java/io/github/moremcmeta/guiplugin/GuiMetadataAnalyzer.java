@@ -17,98 +17,321 @@
 
 package io.github.moremcmeta.guiplugin;
 
-import io.github.moremcmeta.moremcmeta.api.client.metadata.AnalyzedMetadata;
-import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
 import io.github.moremcmeta.moremcmeta.api.client.metadata.InvalidMetadataException;
 import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataAnalyzer;
 import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataView;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
 
 /**
- * Reads blur and clamp information from the given metadata.
+ * Analyzes the {@code scaling} section of a texture's metadata into {@link GuiMetadata}, which
+ * describes whether the texture is stretched, tiled, or drawn as a nine-slice in GUIs. Scaling
+ * types are looked up in a {@link ScalingTypeRegistry}, identical results are shared through a
+ * {@link GuiMetadataInterner}, and every analysis is recorded in {@link AnalysisMetrics}.
+ * <p>
+ * Once its result is interned, a valid analysis does not allocate within the analyzer. The whole
+ * call is only allocation-free when reading the {@link MetadataView} does not allocate either, as
+ * with {@link ArrayMetadataView}. Other views, such as the ones the core mod reads from files, may
+ * box values or create new {@link Optional}s on every read. Invalid metadata always allocates the
+ * exception that reports it.
  * @author soir20
  */
 public final class GuiMetadataAnalyzer implements MetadataAnalyzer {
+    private static final String SCALING_SECTION = "scaling";
+    private static final String BORDER_SECTION = "border";
+    private static final String BORDER_PATH = SCALING_SECTION + "." + BORDER_SECTION;
+    private static final ProblemHandler UNRECORDED_THROWING_HANDLER = new ThrowingHandler(null);
+
+    private final GuiMetadataInterner INTERNER;
+    private final AnalysisMetrics METRICS;
+    private final ScalingTypeRegistry TYPES;
+    private final ProblemHandler THROWING_HANDLER;
+
+    /**
+     * Creates a new analyzer with its own {@link GuiMetadataInterner} and {@link AnalysisMetrics}
+     * that recognizes the built-in scaling types.
+     */
+    public GuiMetadataAnalyzer() {
+        this(new GuiMetadataInterner());
+    }
+
+    /**
+     * Creates a new analyzer with its own {@link AnalysisMetrics} that recognizes the built-in
+     * scaling types.
+     * @param interner      interner that provides shared results for identical configurations
+     */
+    public GuiMetadataAnalyzer(GuiMetadataInterner interner) {
+        this(interner, new AnalysisMetrics());
+    }
+
+    /**
+     * Creates a new analyzer that recognizes the built-in scaling types.
+     * @param interner      interner that provides shared results for identical configurations
+     * @param metrics       metrics to record each call to {@link #analyze(MetadataView, int, int)} in
+     */
+    public GuiMetadataAnalyzer(GuiMetadataInterner interner, AnalysisMetrics metrics) {
+        this(interner, metrics, ScalingTypeRegistry.withBuiltInTypes());
+    }
+
+    /**
+     * Creates a new analyzer.
+     * @param interner      interner that provides shared results for identical configurations
+     * @param metrics       metrics to record each call to {@link #analyze(MetadataView, int, int)} in
+     * @param types         scaling types that the analyzer recognizes
+     */
+    public GuiMetadataAnalyzer(GuiMetadataInterner interner, AnalysisMetrics metrics, ScalingTypeRegistry types) {
+        INTERNER = requireNonNull(interner, "Interner cannot be null");
+        METRICS = requireNonNull(metrics, "Metrics cannot be null");
+        TYPES = requireNonNull(types, "Types cannot be null");
+        THROWING_HANDLER = new ThrowingHandler(METRICS);
+    }
+
+    /**
+     * Gets the interner that provides this analyzer's results.
+     * @return the interner used by this analyzer
+     */
+    public GuiMetadataInterner interner() {
+        return INTERNER;
+    }
+
+    /**
+     * Gets the metrics that this analyzer records its calls in.
+     * @return the metrics used by this analyzer
+     */
+    public AnalysisMetrics metrics() {
+        return METRICS;
+    }
+
     @Override
-    public AnalyzedMetadata analyze(MetadataView metadata, int imageWidth, int imageHeight) throws InvalidMetadataException {
-        String scalingSectionName = "scaling";
-        MetadataView scalingSection = metadata.subView(scalingSectionName)
-                .orElseThrow(() -> new InvalidMetadataException("Missing scaling section"));
-        String rawScaling = scalingSection.stringValue("type")
-                .orElseThrow(() -> new InvalidMetadataException("Missing type field in scaling section"));
-
-        GuiScaling scaling;
-        Optional<Integer> frameWidth;
-        Optional<Integer> frameHeight;
-
-        if ("stretch".equals(rawScaling)) {
-            scaling = new GuiScaling.Stretch();
-            frameWidth = Optional.empty();
-            frameHeight = Optional.empty();
-        } else {
-            frameWidth = scalingSection.integerValue("width");
-            frameHeight = scalingSection.integerValue("height");
+    public GuiMetadata analyze(MetadataView metadata, int imageWidth, int imageHeight) throws InvalidMetadataException {
+        long start = System.nanoTime();
+        try {
+            GuiMetadata result = analyze(metadata, THROWING_HANDLER);
+            METRICS.recordAnalysis(result.type());
+            return result;
+        } finally {
+            METRICS.recordLatency(System.nanoTime() - start);
+        }
+    }
 
-            if (frameWidth.isEmpty()) {
-                throw new InvalidMetadataException("Missing width field in scaling section");
-            }
-            if (frameWidth.get() <= 0) {
-                throw new InvalidMetadataException("Frame width must be positive");
-            }
+    /**
+     * Validates the whole GUI metadata section, collecting every problem instead of stopping at
+     * the first one. Unlike {@link #analyze(MetadataView, int, int)}, this method never throws
+     * for invalid metadata.
+     * @param metadata      metadata to validate
+     * @param imageWidth    width of the texture's image
+     * @param imageHeight   height of the texture's image
+     * @return all problems found and, if there were none, the analyzed metadata
+     */
+    public GuiMetadataDiagnostics diagnose(MetadataView metadata, int imageWidth, int imageHeight) {
+        requireNonNull(metadata, "Metadata cannot be null");
 
-            if (frameHeight.isEmpty()) {
-                throw new InvalidMetadataException("Missing height field in scaling section");
-            }
-            if (frameHeight.get() <= 0) {
-                throw new InvalidMetadataException("Frame height must be positive");
-            }
+        CollectingHandler handler = new CollectingHandler();
+        GuiMetadata result;
+        try {
+            result = analyze(metadata, handler);
+        } catch (InvalidMetadataException err) {
+            throw new AssertionError("Collecting handler should never throw", err);
+        }
 
-            if ("tile".equals(rawScaling)) {
-                scaling = new GuiScaling.Tile();
-            } else if ("nine_slice".equals(rawScaling)) {
-                int left;
-                int right;
-                int top;
-                int bottom;
-
-                String borderSectionName = "border";
-                if (scalingSection.subView(borderSectionName).isPresent()) {
-                    MetadataView borderSection = scalingSection.subView(borderSectionName).get();
-                    left = requireNonNegative(borderSection, "left", borderSectionName);
-                    right = requireNonNegative(borderSection, "right", borderSectionName);
-                    top = requireNonNegative(borderSection, "top", borderSectionName);
-                    bottom = requireNonNegative(borderSection, "bottom", borderSectionName);
-                } else {
-                    int borderSize = requireNonNegative(scalingSection, "border", scalingSectionName);
-                    left = borderSize;
-                    right = borderSize;
-                    top = borderSize;
-                    bottom = borderSize;
-                }
-
-                scaling = new GuiScaling.NineSlice(left, right, top, bottom);
-            } else {
-                throw new InvalidMetadataException("Unknown scaling type " + rawScaling);
-            }
+        return handler.hasProblems() ? new GuiMetadataDiagnostics(handler.PROBLEMS) : new GuiMetadataDiagnostics(result);
+    }
+
+    /**
+     * Checks the scaling section, its type, and the frame size the same way
+     * {@link #analyze(MetadataView, int, int)} does, without reading the borders. The problem
+     * thrown is the one full analysis would report first for the same metadata. Failures are
+     * not recorded in any metrics.
+     * @param metadata      metadata to check
+     * @param types         scaling types to recognize
+     * @return the frame size, or null if the scaling type has no frame size
+     * @throws InvalidMetadataException if the scaling section, its type, or the frame size is invalid
+     */
+    static FrameSize checkFrameSize(MetadataView metadata, ScalingTypeRegistry types) throws InvalidMetadataException {
+        requireNonNull(metadata, "Metadata cannot be null");
+        requireNonNull(types, "Types cannot be null");
+        ProblemHandler handler = UNRECORDED_THROWING_HANDLER;
+
+        MetadataView scalingSection = findScalingSection(metadata, handler);
+        String rawScaling = findRawType(scalingSection, handler);
+        ScalingType type = types.find(rawScaling);
+        boolean readsFrameSize = type == null || type.fields().contains(ScalingType.Field.FRAME_SIZE);
+
+        int frameWidth = 0;
+        int frameHeight = 0;
+        if (readsFrameSize) {
+            frameWidth = requirePositive(scalingSection, "width", "Frame width", handler);
+            frameHeight = requirePositive(scalingSection, "height", "Frame height", handler);
         }
 
-        return new AnalyzedMetadata() {
-            @Override
-            public Optional<Integer> frameWidth() {
-                return frameWidth;
-            }
+        requireKnownType(type, rawScaling, handler);
+        return readsFrameSize ? new FrameSize(frameWidth, frameHeight) : null;
+    }
 
-            @Override
-            public Optional<Integer> frameHeight() {
-                return frameHeight;
+    /**
+     * Analyzes metadata, reporting each problem to a handler. Problems are reported in the same
+     * order regardless of the handler, so a handler that throws on the first problem reports the
+     * same problem as the first one collected by a handler that does not.
+     * @param metadata      metadata to analyze
+     * @param handler       handler for each problem found
+     * @return the analyzed metadata, or null if any problems were reported
+     * @throws InvalidMetadataException if the handler throws for a problem
+     */
+    private GuiMetadata analyze(MetadataView metadata, ProblemHandler handler) throws InvalidMetadataException {
+        MetadataView scalingSection = findScalingSection(metadata, handler);
+        if (scalingSection == null) {
+            return null;
+        }
+
+        String rawScaling = findRawType(scalingSection, handler);
+
+        // When the type is missing or unknown, check every field that is present in case the type is only misspelled
+        ScalingType type = rawScaling == null ? null : TYPES.find(rawScaling);
+        Set<ScalingType.Field> fields = type == null ? null : type.fields();
+        boolean readsFrameSize = type == null || fields.contains(ScalingType.Field.FRAME_SIZE);
+        boolean readsHorizontalBorder = type == null || fields.contains(ScalingType.Field.HORIZONTAL_BORDER);
+        boolean readsVerticalBorder = type == null || fields.contains(ScalingType.Field.VERTICAL_BORDER);
+
+        int frameWidth = 0;
+        int frameHeight = 0;
+        if (readsFrameSize) {
+            frameWidth = requirePositive(scalingSection, "width", "Frame width", handler);
+            frameHeight = requirePositive(scalingSection, "height", "Frame height", handler);
+        }
+
+        requireKnownType(type, rawScaling, handler);
+
+        if (!readsHorizontalBorder && !readsVerticalBorder) {
+            return handler.hasProblems() ? null : type.create(INTERNER, frameWidth, frameHeight, 0, 0, 0, 0);
+        }
+
+        Optional<MetadataView> borderSectionOptional = scalingSection.subView(BORDER_SECTION);
+        if (type == null && borderSectionOptional.isEmpty() && !scalingSection.hasKey(BORDER_SECTION)) {
+            return null;
+        }
+
+        int left = 0;
+        int right = 0;
+        int top = 0;
+        int bottom = 0;
+        if (borderSectionOptional.isPresent()) {
+            MetadataView borderSection = borderSectionOptional.get();
+            if (readsHorizontalBorder) {
+                left = requireNonNegative(borderSection, "left", BORDER_SECTION, BORDER_PATH, handler);
+                right = requireNonNegative(borderSection, "right", BORDER_SECTION, BORDER_PATH, handler);
             }
 
-            @Override
-            public Optional<GuiScaling> guiScaling() {
-                return Optional.of(scaling);
+            if (readsVerticalBorder) {
+                top = requireNonNegative(borderSection, "top", BORDER_SECTION, BORDER_PATH, handler);
+                bottom = requireNonNegative(borderSection, "bottom", BORDER_SECTION, BORDER_PATH, handler);
             }
-        };
+        } else {
+            int borderSize = requireNonNegative(scalingSection, BORDER_SECTION, SCALING_SECTION, SCALING_SECTION, handler);
+            left = readsHorizontalBorder ? borderSize : 0;
+            right = readsHorizontalBorder ? borderSize : 0;
+            top = readsVerticalBorder ? borderSize : 0;
+            bottom = readsVerticalBorder ? borderSize : 0;
+        }
+
+        return handler.hasProblems() || type == null
+                ? null
+                : type.create(INTERNER, frameWidth, frameHeight, left, right, top, bottom);
+    }
+
+    /**
+     * Retrieves the scaling section, which must be present.
+     * @param metadata      metadata to retrieve the section from
+     * @param handler       handler for a missing section
+     * @return the section, or null if it is missing
+     * @throws InvalidMetadataException if the section is missing and the handler throws
+     */
+    private static MetadataView findScalingSection(MetadataView metadata, ProblemHandler handler)
+            throws InvalidMetadataException {
+        Optional<MetadataView> scalingSection = metadata.subView(SCALING_SECTION);
+        if (scalingSection.isEmpty()) {
+            handler.report(GuiMetadataProblem.Kind.MISSING_SECTION, SCALING_SECTION, "Missing scaling section");
+            return null;
+        }
+
+        return scalingSection.get();
+    }
+
+    /**
+     * Retrieves the name of the scaling type, which must be present.
+     * @param scalingSection    section to retrieve the name from
+     * @param handler           handler for a missing name
+     * @return the name, or null if it is missing
+     * @throws InvalidMetadataException if the name is missing and the handler throws
+     */
+    private static String findRawType(MetadataView scalingSection, ProblemHandler handler)
+            throws InvalidMetadataException {
+        Optional<String> rawType = scalingSection.stringValue("type");
+        if (rawType.isEmpty()) {
+            handler.report(
+                    GuiMetadataProblem.Kind.MISSING_FIELD,
+                    SCALING_SECTION + ".type",
+                    "Missing type field in scaling section"
+            );
+            return null;
+        }
+
+        return rawType.get();
+    }
+
+    /**
+     * Reports a scaling type name that is present but not registered.
+     * @param type          registered type or null if none was found
+     * @param rawType       name of the type or null if it is missing
+     * @param handler       handler for an unknown type
+     * @throws InvalidMetadataException if the type is unknown and the handler throws
+     */
+    private static void requireKnownType(ScalingType type, String rawType, ProblemHandler handler)
+            throws InvalidMetadataException {
+        if (type == null && rawType != null) {
+            handler.report(
+                    GuiMetadataProblem.Kind.UNKNOWN_TYPE,
+                    SCALING_SECTION + ".type",
+                    "Unknown scaling type " + rawType
+            );
+        }
+    }
+
+    /**
+     * Retrieves an integer value from the scaling section that must be present and positive.
+     * @param scalingSection    section to retrieve the value from
+     * @param key               key of the integer value to retrieve
+     * @param description       description of the value for error messages
+     * @param handler           handler for a missing or invalid value
+     * @return the value, if present and positive, otherwise zero
+     * @throws InvalidMetadataException  if the value is missing or not positive and the handler throws
+     */
+    private static int requirePositive(MetadataView scalingSection, String key, String description,
+                                       ProblemHandler handler) throws InvalidMetadataException {
+        Optional<Integer> value = scalingSection.integerValue(key);
+        if (value.isEmpty()) {
+            handler.report(
+                    GuiMetadataProblem.Kind.MISSING_FIELD,
+                    SCALING_SECTION + "." + key,
+                    String.format("Missing %s field in scaling section", key)
+            );
+            return 0;
+        }
+
+        int unboxedValue = value.get();
+        if (unboxedValue <= 0) {
+            handler.report(
+                    GuiMetadataProblem.Kind.NOT_POSITIVE,
+                    SCALING_SECTION + "." + key,
+                    String.format("%s must be positive", description)
+            );
+        }
+
+        return unboxedValue;
     }
 
     /**
@@ -116,20 +339,140 @@ public final class GuiMetadataAnalyzer implements MetadataAnalyzer {
      * @param section       section to retrieve the value from
      * @param key           key of the integer value to retrieve
      * @param sectionName   name of the section containing the value
-     * @return the value, if present and non-negative
-     * @throws InvalidMetadataException  if the value is missing or negative
+     * @param sectionPath   dot-separated path of the section containing the value
+     * @param handler       handler for a missing or invalid value
+     * @return the value, if present and non-negative, otherwise zero
+     * @throws InvalidMetadataException  if the value is missing or negative and the handler throws
+     */
+    private static int requireNonNegative(MetadataView section, String key, String sectionName, String sectionPath,
+                                          ProblemHandler handler) throws InvalidMetadataException {
+        Optional<Integer> value = section.integerValue(key);
+        if (value.isEmpty()) {
+            handler.report(
+                    GuiMetadataProblem.Kind.MISSING_FIELD,
+                    sectionPath + "." + key,
+                    String.format("Missing %s field in %s section", key, sectionName)
+            );
+            return 0;
+        }
+
+        int unboxedValue = value.get();
+        if (unboxedValue < 0) {
+            handler.report(
+                    GuiMetadataProblem.Kind.NEGATIVE,
+                    sectionPath + "." + key,
+                    String.format("%s is negative", key)
+            );
+        }
+
+        return unboxedValue;
+    }
+
+    /**
+     * Width and height of a texture's frames read from the scaling section.
+     * @author soir20
      */
-    private int requireNonNegative(MetadataView section, String key, String sectionName) throws InvalidMetadataException {
-        int value  = section.integerValue(key)
-                .orElseThrow(() -> new InvalidMetadataException(
-                        String.format("Missing %s field in %s section", key, sectionName)
-                ));
+    static final class FrameSize {
+        private final int WIDTH;
+        private final int HEIGHT;
+
+        /**
+         * Creates a new frame size.
+         * @param width     width of a frame
+         * @param height    height of a frame
+         */
+        private FrameSize(int width, int height) {
+            WIDTH = width;
+            HEIGHT = height;
+        }
+
+        /**
+         * Gets the width of a frame.
+         * @return width of a frame
+         */
+        public int width() {
+            return WIDTH;
+        }
 
-        if (value < 0) {
-            throw new InvalidMetadataException(String.format("%s is negative", key));
+        /**
+         * Gets the height of a frame.
+         * @return height of a frame
+         */
+        public int height() {
+            return HEIGHT;
         }
+    }
+
+    /**
+     * Receives problems found during analysis.
+     * @author soir20
+     */
+    private interface ProblemHandler {
+
+        /**
+         * Reports a problem with the metadata.
+         * @param kind          category of the problem
+         * @param field         dot-separated path of the field with the problem
+         * @param message       human-readable description of the problem
+         * @throws InvalidMetadataException if analysis should stop at this problem
+         */
+        void report(GuiMetadataProblem.Kind kind, String field, String message) throws InvalidMetadataException;
+
+        /**
+         * Checks whether any problems were reported without stopping analysis.
+         * @return true if problems were reported, false otherwise
+         */
+        boolean hasProblems();
+
+    }
+
+    /**
+     * Stops analysis at the first problem by throwing it as an {@link InvalidMetadataException}.
+     * @author soir20
+     */
+    private static final class ThrowingHandler implements ProblemHandler {
+        private final AnalysisMetrics METRICS;
 
-        return value;
+        /**
+         * Creates a new throwing handler.
+         * @param metrics       metrics to record the reason for each failure in or null to not
+         *                      record failures
+         */
+        public ThrowingHandler(AnalysisMetrics metrics) {
+            METRICS = metrics;
+        }
+
+        @Override
+        public void report(GuiMetadataProblem.Kind kind, String field, String message) throws InvalidMetadataException {
+            if (METRICS != null) {
+                METRICS.recordFailure(kind);
+            }
+
+            throw new InvalidMetadataException(message);
+        }
+
+        @Override
+        public boolean hasProblems() {
+            return false;
+        }
+    }
+
+    /**
+     * Collects every problem so that analysis can continue.
+     * @author soir20
+     */
+    private static final class CollectingHandler implements ProblemHandler {
+        private final List<GuiMetadataProblem> PROBLEMS = new ArrayList<>();
+
+        @Override
+        public void report(GuiMetadataProblem.Kind kind, String field, String message) {
+            PROBLEMS.add(new GuiMetadataProblem(kind, field, message));
+        }
+
+        @Override
+        public boolean hasProblems() {
+            return !PROBLEMS.isEmpty();
+        }
     }
 
 }
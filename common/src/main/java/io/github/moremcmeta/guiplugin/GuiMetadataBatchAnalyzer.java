@@ -0,0 +1,172 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.AnalyzedMetadata;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.InvalidMetadataException;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataAnalyzer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Analyzes many textures' GUI metadata at once on a dedicated fork-join pool. Results are
+ * reported in the same order as the entries were given, regardless of the parallelism.
+ * An entry whose analysis throws an unexpected exception fails on its own without stopping
+ * the rest of the batch, and its failure is kept apart from invalid metadata.
+ * @author soir20
+ */
+public final class GuiMetadataBatchAnalyzer implements AutoCloseable {
+    public static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    private static final int ENTRIES_PER_TASK = 32;
+
+    private final MetadataAnalyzer ANALYZER;
+    private final ForkJoinPool POOL;
+
+    /**
+     * Creates a new batch analyzer that uses one thread per available processor.
+     * @param analyzer      analyzer for each individual texture
+     */
+    public GuiMetadataBatchAnalyzer(MetadataAnalyzer analyzer) {
+        this(analyzer, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Creates a new batch analyzer.
+     * @param analyzer      analyzer for each individual texture. Must be thread-safe.
+     * @param parallelism   maximum number of textures to analyze at the same time
+     */
+    public GuiMetadataBatchAnalyzer(MetadataAnalyzer analyzer, int parallelism) {
+        ANALYZER = requireNonNull(analyzer, "Analyzer cannot be null");
+
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+
+        POOL = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Gets the maximum number of textures this analyzer analyzes at the same time.
+     * @return the analyzer's parallelism
+     */
+    public int parallelism() {
+        return POOL.getParallelism();
+    }
+
+    /**
+     * Analyzes all entries in the batch.
+     * @param entries       entries to analyze
+     * @return successes and failures, each in the order of the given entries
+     * @param <T> type of the identifier for each texture
+     */
+    public <T> BatchResult<T> analyzeAll(Collection<? extends BatchEntry<T>> entries) {
+        requireNonNull(entries, "Entries cannot be null");
+
+        List<BatchEntry<T>> entryList = List.copyOf(entries);
+        AnalyzedMetadata[] results = new AnalyzedMetadata[entryList.size()];
+        Exception[] errors = new Exception[entryList.size()];
+
+        POOL.invoke(new AnalyzeTask<>(ANALYZER, entryList, results, errors, 0, entryList.size()));
+
+        List<BatchResult.Success<T>> successes = new ArrayList<>();
+        List<BatchResult.Failure<T>> failures = new ArrayList<>();
+        for (int index = 0; index < results.length; index++) {
+            T id = entryList.get(index).id();
+            if (errors[index] == null) {
+                successes.add(new BatchResult.Success<>(id, results[index]));
+            } else if (errors[index] instanceof InvalidMetadataException invalidError) {
+                failures.add(new BatchResult.Failure<>(id, invalidError));
+            } else {
+                failures.add(new BatchResult.Failure<>(id, (RuntimeException) errors[index]));
+            }
+        }
+
+        return new BatchResult<>(successes, failures);
+    }
+
+    /**
+     * Stops the threads used by this analyzer. Analyses already in progress are completed.
+     */
+    @Override
+    public void close() {
+        POOL.shutdown();
+    }
+
+    /**
+     * Analyzes a range of entries, splitting the range between threads when it is large.
+     * @param <T> type of the identifier for each texture
+     * @author soir20
+     */
+    private static final class AnalyzeTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final MetadataAnalyzer ANALYZER;
+        private final List<BatchEntry<T>> ENTRIES;
+        private final AnalyzedMetadata[] RESULTS;
+        private final Exception[] ERRORS;
+        private final int START;
+        private final int END;
+
+        /**
+         * Creates a new task.
+         * @param analyzer      analyzer for each individual texture
+         * @param entries       all entries in the batch
+         * @param results       array to write successful results into at each entry's index
+         * @param errors        array to write errors into at each entry's index
+         * @param start         first index to analyze (inclusive)
+         * @param end           last index to analyze (exclusive)
+         */
+        public AnalyzeTask(MetadataAnalyzer analyzer, List<BatchEntry<T>> entries, AnalyzedMetadata[] results,
+                           Exception[] errors, int start, int end) {
+            ANALYZER = analyzer;
+            ENTRIES = entries;
+            RESULTS = results;
+            ERRORS = errors;
+            START = start;
+            END = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (END - START <= ENTRIES_PER_TASK) {
+                for (int index = START; index < END; index++) {
+                    BatchEntry<T> entry = ENTRIES.get(index);
+                    try {
+                        RESULTS[index] = ANALYZER.analyze(entry.metadata(), entry.imageWidth(), entry.imageHeight());
+                    } catch (InvalidMetadataException | RuntimeException err) {
+                        ERRORS[index] = err;
+                    }
+                }
+                return;
+            }
+
+            int middle = (START + END) >>> 1;
+            invokeAll(
+                    new AnalyzeTask<>(ANALYZER, ENTRIES, RESULTS, ERRORS, START, middle),
+                    new AnalyzeTask<>(ANALYZER, ENTRIES, RESULTS, ERRORS, middle, END)
+            );
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Every problem found in a texture's GUI metadata, along with the analyzed metadata when
+ * there were no problems.
+ * @author soir20
+ */
+public final class GuiMetadataDiagnostics {
+    private final List<GuiMetadataProblem> PROBLEMS;
+    private final Optional<GuiMetadata> METADATA;
+
+    /**
+     * Creates new diagnostics for valid metadata.
+     * @param metadata      the analyzed metadata
+     */
+    GuiMetadataDiagnostics(GuiMetadata metadata) {
+        PROBLEMS = List.of();
+        METADATA = Optional.of(metadata);
+    }
+
+    /**
+     * Creates new diagnostics for invalid metadata.
+     * @param problems      all problems found in the metadata, in the order they were found
+     */
+    GuiMetadataDiagnostics(List<GuiMetadataProblem> problems) {
+        requireNonNull(problems, "Problems cannot be null");
+        if (problems.isEmpty()) {
+            throw new IllegalArgumentException("Invalid metadata must have at least one problem");
+        }
+
+        PROBLEMS = List.copyOf(problems);
+        METADATA = Optional.empty();
+    }
+
+    /**
+     * Checks whether the metadata had no problems.
+     * @return true if the metadata is valid, false otherwise
+     */
+    public boolean isValid() {
+        return PROBLEMS.isEmpty();
+    }
+
+    /**
+     * Gets all problems found in the metadata.
+     * @return problems in the order they were found, or an empty list if the metadata is valid
+     */
+    public List<GuiMetadataProblem> problems() {
+        return PROBLEMS;
+    }
+
+    /**
+     * Gets the analyzed metadata.
+     * @return the analyzed metadata if it is valid, otherwise empty
+     */
+    public Optional<GuiMetadata> metadata() {
+        return METADATA;
+    }
+
+}
@@ -0,0 +1,214 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Canonicalizes {@link GuiMetadata} so that textures with identical GUI settings share
+ * a single immutable instance. The interner is thread-safe and holds at most a fixed
+ * number of distinct results; once it is full, new configurations are returned without
+ * being retained. Finding a retained result does not allocate.
+ * @author soir20
+ */
+public final class GuiMetadataInterner {
+    public static final int DEFAULT_MAX_ENTRIES = 4096;
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+
+    private final AtomicReferenceArray<GuiMetadata> TABLE;
+    private final int MASK;
+    private final int MAX_ENTRIES;
+    private final AtomicInteger SIZE;
+    private final LongAdder HITS;
+    private final LongAdder MISSES;
+
+    /**
+     * Creates a new interner with the default maximum number of entries.
+     */
+    public GuiMetadataInterner() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Creates a new interner.
+     * @param maxEntries    maximum number of distinct results to retain
+     */
+    public GuiMetadataInterner(int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Maximum entries cannot be negative");
+        }
+
+        // Keep the table at most half full so that probes stay short
+        int minTableSize = Math.min(Math.max(1, maxEntries), MAX_TABLE_SIZE / 2) * 2;
+        int tableSize = Integer.highestOneBit(minTableSize - 1) << 1;
+
+        TABLE = new AtomicReferenceArray<>(tableSize);
+        MASK = tableSize - 1;
+        MAX_ENTRIES = Math.min(maxEntries, tableSize / 2);
+        SIZE = new AtomicInteger();
+        HITS = new LongAdder();
+        MISSES = new LongAdder();
+    }
+
+    /**
+     * Gets the shared result for a stretched texture.
+     * @return shared result for the stretch configuration
+     */
+    public GuiMetadata stretch() {
+        return intern(GuiMetadata.Type.STRETCH, 0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Gets the shared result for a tiled texture.
+     * @param frameWidth    width of a frame
+     * @param frameHeight   height of a frame
+     * @return shared result for the tile configuration
+     */
+    public GuiMetadata tile(int frameWidth, int frameHeight) {
+        return intern(GuiMetadata.Type.TILE, frameWidth, frameHeight, 0, 0, 0, 0);
+    }
+
+    /**
+     * Gets the shared result for a nine-slice texture.
+     * @param frameWidth    width of a frame
+     * @param frameHeight   height of a frame
+     * @param left          width of the left border
+     * @param right         width of the right border
+     * @param top           height of the top border
+     * @param bottom        height of the bottom border
+     * @return shared result for the nine-slice configuration
+     */
+    public GuiMetadata nineSlice(int frameWidth, int frameHeight, int left, int right, int top, int bottom) {
+        return intern(GuiMetadata.Type.NINE_SLICE, frameWidth, frameHeight, left, right, top, bottom);
+    }
+
+    /**
+     * Gets the number of requests that were answered with a retained result.
+     * @return number of hits so far
+     */
+    public long hits() {
+        return HITS.sum();
+    }
+
+    /**
+     * Gets the number of requests that required a new result to be created.
+     * @return number of misses so far
+     */
+    public long misses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Gets the number of distinct results currently retained.
+     * @return number of retained results
+     */
+    public int size() {
+        return SIZE.get();
+    }
+
+    /**
+     * Finds the retained result for a configuration or creates a new one. Uses linear probing
+     * without removals, so an empty slot means that the configuration is not retained.
+     * @param type          type of GUI scaling
+     * @param frameWidth    width of a frame
+     * @param frameHeight   height of a frame
+     * @param left          width of the left border
+     * @param right         width of the right border
+     * @param top           height of the top border
+     * @param bottom        height of the bottom border
+     * @return result for the given configuration
+     */
+    private GuiMetadata intern(GuiMetadata.Type type, int frameWidth, int frameHeight,
+                               int left, int right, int top, int bottom) {
+        int index = hash(type, frameWidth, frameHeight, left, right, top, bottom) & MASK;
+
+        for (int probe = 0; probe <= MASK; probe++) {
+            GuiMetadata entry = TABLE.get(index);
+
+            if (entry == null) {
+                if (!reserveSlot()) {
+                    break;
+                }
+
+                GuiMetadata created = new GuiMetadata(type, frameWidth, frameHeight, left, right, top, bottom);
+                if (TABLE.compareAndSet(index, null, created)) {
+                    MISSES.increment();
+                    return created;
+                }
+
+                // Another thread filled this slot first, possibly with the same configuration
+                SIZE.decrementAndGet();
+                entry = TABLE.get(index);
+            }
+
+            if (entry.matches(type, frameWidth, frameHeight, left, right, top, bottom)) {
+                HITS.increment();
+                return entry;
+            }
+
+            index = (index + 1) & MASK;
+        }
+
+        MISSES.increment();
+        return new GuiMetadata(type, frameWidth, frameHeight, left, right, top, bottom);
+    }
+
+    /**
+     * Counts a new retained entry if there is room for it.
+     * @return true if the entry can be retained, false if the interner is full
+     */
+    private boolean reserveSlot() {
+        int size;
+        do {
+            size = SIZE.get();
+            if (size >= MAX_ENTRIES) {
+                return false;
+            }
+        } while (!SIZE.compareAndSet(size, size + 1));
+
+        return true;
+    }
+
+    /**
+     * Computes a well-distributed hash of a configuration.
+     * @param type          type of GUI scaling
+     * @param frameWidth    width of a frame
+     * @param frameHeight   height of a frame
+     * @param left          width of the left border
+     * @param right         width of the right border
+     * @param top           height of the top border
+     * @param bottom        height of the bottom border
+     * @return hash of the configuration
+     */
+    private static int hash(GuiMetadata.Type type, int frameWidth, int frameHeight,
+                            int left, int right, int top, int bottom) {
+        int hash = type.ordinal();
+        hash = hash * 31 + frameWidth;
+        hash = hash * 31 + frameHeight;
+        hash = hash * 31 + left;
+        hash = hash * 31 + right;
+        hash = hash * 31 + top;
+        hash = hash * 31 + bottom;
+
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+}
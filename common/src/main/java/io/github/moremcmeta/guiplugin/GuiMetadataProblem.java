@@ -0,0 +1,99 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A single problem found while validating a texture's GUI metadata.
+ * @author soir20
+ */
+public final class GuiMetadataProblem {
+    private final Kind KIND;
+    private final String FIELD;
+    private final String MESSAGE;
+
+    /**
+     * Creates a new problem.
+     * @param kind          category of the problem
+     * @param field         dot-separated path of the field with the problem, such as
+     *                      {@code scaling.border.top}
+     * @param message       human-readable description of the problem
+     */
+    public GuiMetadataProblem(Kind kind, String field, String message) {
+        KIND = requireNonNull(kind, "Kind cannot be null");
+        FIELD = requireNonNull(field, "Field cannot be null");
+        MESSAGE = requireNonNull(message, "Message cannot be null");
+    }
+
+    /**
+     * Gets the category of the problem.
+     * @return category of the problem
+     */
+    public Kind kind() {
+        return KIND;
+    }
+
+    /**
+     * Gets the dot-separated path of the field with the problem.
+     * @return path of the field with the problem
+     */
+    public String field() {
+        return FIELD;
+    }
+
+    /**
+     * Gets a human-readable description of the problem.
+     * @return description of the problem
+     */
+    public String message() {
+        return MESSAGE;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof GuiMetadataProblem otherProblem)) {
+            return false;
+        }
+
+        return KIND == otherProblem.KIND && FIELD.equals(otherProblem.FIELD) && MESSAGE.equals(otherProblem.MESSAGE);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * KIND.hashCode() + FIELD.hashCode()) + MESSAGE.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return FIELD + ": " + MESSAGE;
+    }
+
+    /**
+     * Categories of problems in GUI metadata.
+     * @author soir20
+     */
+    public enum Kind {
+        MISSING_SECTION,
+        MISSING_FIELD,
+        UNKNOWN_TYPE,
+        NOT_POSITIVE,
+        NEGATIVE
+    }
+
+}
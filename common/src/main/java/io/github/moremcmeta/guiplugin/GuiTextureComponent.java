@@ -0,0 +1,150 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.AnalyzedMetadata;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+import io.github.moremcmeta.moremcmeta.api.client.texture.TextureComponent;
+
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Texture component that holds the GUI scaling information for one texture and the geometry
+ * needed to draw it. The metadata is not read until the component is first used, so textures
+ * whose metadata is analyzed lazily are not analyzed until they are drawn.
+ * @param <V> type of frame view the component receives
+ * @author soir20
+ */
+public final class GuiTextureComponent<V> implements TextureComponent<V> {
+    private final AnalyzedMetadata METADATA;
+    private final boolean SINGLE_FRAME;
+    private volatile Layouts layouts;
+
+    /**
+     * Creates a new component.
+     * @param metadata      analyzed GUI metadata for the texture
+     * @param frames        number of predefined frames in the texture
+     */
+    public GuiTextureComponent(AnalyzedMetadata metadata, int frames) {
+        METADATA = requireNonNull(metadata, "Metadata cannot be null");
+
+        if (frames <= 0) {
+            throw new IllegalArgumentException("Texture must have at least one frame");
+        }
+
+        SINGLE_FRAME = frames == 1;
+    }
+
+    /**
+     * Gets the GUI scaling of the texture.
+     * @return GUI scaling or empty if the texture has none
+     */
+    public Optional<GuiScaling> scaling() {
+        return Optional.ofNullable(layouts().SCALING);
+    }
+
+    /**
+     * Gets the nine-slice layout for a target size. The returned array holds whole quads in the
+     * format described by {@link QuadBuffer} and must not be modified.
+     * @param width         width of the target rectangle in GUI units
+     * @param height        height of the target rectangle in GUI units
+     * @param guiScale      number of screen pixels per GUI unit
+     * @return quads for the layout
+     * @throws IllegalStateException if the texture does not use nine-slice scaling
+     */
+    public float[] nineSliceLayout(int width, int height, float guiScale) {
+        Layouts currentLayouts = layouts();
+        if (currentLayouts.NINE_SLICE_LAYOUTS == null) {
+            throw new IllegalStateException("Texture does not use nine-slice scaling");
+        }
+
+        return currentLayouts.NINE_SLICE_LAYOUTS.layout(width, height, guiScale);
+    }
+
+    /**
+     * Adds the tile layout for a target size to a buffer. A texture with only one frame
+     * is drawn with a single quad whose texture coordinates repeat past 1.
+     * @param width         width of the target rectangle in GUI units
+     * @param height        height of the target rectangle in GUI units
+     * @param out           buffer to add the quads to
+     * @return number of quads added
+     * @throws IllegalStateException if the texture does not use tile scaling
+     */
+    public int tileLayout(int width, int height, QuadBuffer out) {
+        Layouts currentLayouts = layouts();
+        if (!(currentLayouts.SCALING instanceof GuiScaling.Tile)) {
+            throw new IllegalStateException("Texture does not use tile scaling");
+        }
+
+        return TileGeometry.layout(currentLayouts.FRAME_WIDTH, currentLayouts.FRAME_HEIGHT, SINGLE_FRAME,
+                width, height, out);
+    }
+
+    /**
+     * Reads the metadata and builds the layout caches the first time they are needed.
+     * @return the component's layout data
+     */
+    private Layouts layouts() {
+        Layouts currentLayouts = layouts;
+        if (currentLayouts != null) {
+            return currentLayouts;
+        }
+
+        synchronized (this) {
+            if (layouts == null) {
+                layouts = new Layouts(METADATA);
+            }
+
+            return layouts;
+        }
+    }
+
+    /**
+     * Data read from the metadata along with the layout caches built from it.
+     * @author soir20
+     */
+    private static final class Layouts {
+        private final GuiScaling SCALING;
+        private final int FRAME_WIDTH;
+        private final int FRAME_HEIGHT;
+        private final NineSliceLayoutCache NINE_SLICE_LAYOUTS;
+
+        /**
+         * Reads the metadata and builds the layout caches.
+         * @param metadata      analyzed GUI metadata for the texture
+         */
+        public Layouts(AnalyzedMetadata metadata) {
+            SCALING = metadata.guiScaling().orElse(null);
+            FRAME_WIDTH = metadata.frameWidth().orElse(0);
+            FRAME_HEIGHT = metadata.frameHeight().orElse(0);
+
+            if (SCALING instanceof GuiScaling.NineSlice) {
+                NINE_SLICE_LAYOUTS = new NineSliceLayoutCache(
+                        (GuiScaling.NineSlice) SCALING,
+                        FRAME_WIDTH,
+                        FRAME_HEIGHT
+                );
+            } else {
+                NINE_SLICE_LAYOUTS = null;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,567 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.github.moremcmeta.guiplugin;
+
+import com.google.gson.stream.JsonWriter;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.AnalyzedMetadata;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Lists every texture analyzed during a reload with its scaling, analysis time, and an estimate of
+ * the memory it costs, so that the few textures that dominate memory use can be found. Textures
+ * can be recorded from parallel reload threads. The plugin API does not give analyzers the texture's
+ * location, so each texture is identified by its position in the report along with its sizes.
+ * @author soir20
+ */
+public final class GuiTextureReport {
+    public static final String FORMAT_PROPERTY = ModConstants.MOD_ID + ".report";
+    public static final int DEFAULT_TOP_OFFENDERS = 10;
+    private static final String[] CSV_COLUMNS = {
+            "index", "type", "image_width", "image_height", "frame_width", "frame_height",
+            "left", "right", "top", "bottom", "analysis_ns", "heap_bytes", "texture_bytes",
+            "memory_rank", "problem"
+    };
+
+    private final ConcurrentLinkedQueue<Entry> ENTRIES;
+    private final int TOP_OFFENDERS;
+
+    /**
+     * Creates a new, empty report that lists the {@link #DEFAULT_TOP_OFFENDERS} largest textures.
+     */
+    public GuiTextureReport() {
+        this(DEFAULT_TOP_OFFENDERS);
+    }
+
+    /**
+     * Creates a new, empty report.
+     * @param topOffenders      number of textures to list as the largest
+     */
+    public GuiTextureReport(int topOffenders) {
+        if (topOffenders < 0) {
+            throw new IllegalArgumentException("Number of top offenders cannot be negative");
+        }
+
+        ENTRIES = new ConcurrentLinkedQueue<>();
+        TOP_OFFENDERS = topOffenders;
+    }
+
+    /**
+     * Gets the format that reports should be written in, set with the {@link #FORMAT_PROPERTY}
+     * system property.
+     * @return format of the report or empty if reports are disabled or the format is unknown
+     */
+    public static Optional<Format> configuredFormat() {
+        String name = System.getProperty(FORMAT_PROPERTY);
+        if (name == null) {
+            return Optional.empty();
+        }
+
+        for (Format format : Format.values()) {
+            if (format.name().equalsIgnoreCase(name.trim())) {
+                return Optional.of(format);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Adds a texture to the report.
+     * @param entry     texture to add
+     */
+    public void record(Entry entry) {
+        ENTRIES.add(requireNonNull(entry, "Entry cannot be null"));
+    }
+
+    /**
+     * Gets every texture in the report.
+     * @return textures in the order they were recorded
+     */
+    public List<Entry> entries() {
+        return List.copyOf(ENTRIES);
+    }
+
+    /**
+     * Removes every texture from the report.
+     */
+    public void clear() {
+        ENTRIES.clear();
+    }
+
+    /**
+     * Moves every texture recorded so far into a new report. Textures recorded by other threads
+     * while draining are either moved or kept in this report, but never lost.
+     * @return new report with the textures removed from this one
+     */
+    public GuiTextureReport drain() {
+        GuiTextureReport drained = new GuiTextureReport(TOP_OFFENDERS);
+
+        Entry entry;
+        while ((entry = ENTRIES.poll()) != null) {
+            drained.ENTRIES.add(entry);
+        }
+
+        return drained;
+    }
+
+    /**
+     * Writes the report to a file, replacing the file if it exists and creating its directory
+     * if necessary.
+     * @param format    format to write the report in
+     * @param file      file to write the report to
+     * @throws IOException if the report cannot be written
+     */
+    public void write(Format format, Path file) throws IOException {
+        requireNonNull(format, "Format cannot be null");
+        requireNonNull(file, "File cannot be null");
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            write(format, out);
+        }
+    }
+
+    /**
+     * Writes the report. JSON reports contain a {@code textures} array, a {@code totals} object,
+     * and a {@code largest} array with the textures that cost the most memory. CSV reports contain
+     * one row per texture with its rank by memory, followed by a row of totals.
+     * @param format    format to write the report in
+     * @param out       writer to write the report to, which is not closed
+     * @throws IOException if the report cannot be written
+     */
+    public void write(Format format, Writer out) throws IOException {
+        requireNonNull(format, "Format cannot be null");
+        requireNonNull(out, "Writer cannot be null");
+
+        List<Entry> entries = entries();
+        int[] ranks = memoryRanks(entries);
+
+        if (format == Format.JSON) {
+            writeJson(entries, ranks, out);
+        } else {
+            writeCsv(entries, ranks, out);
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Ranks textures by the total memory they cost, largest first. Ties keep the recording order.
+     * @param entries       textures to rank
+     * @return rank of each texture, starting from 1, in the same order as the textures
+     */
+    private static int[] memoryRanks(List<Entry> entries) {
+        List<Integer> order = new ArrayList<>();
+        for (int index = 0; index < entries.size(); index++) {
+            order.add(index);
+        }
+
+        order.sort(Comparator.comparingLong((Integer index) -> entries.get(index).totalBytes()).reversed());
+
+        int[] ranks = new int[entries.size()];
+        for (int rank = 0; rank < order.size(); rank++) {
+            ranks[order.get(rank)] = rank + 1;
+        }
+
+        return ranks;
+    }
+
+    /**
+     * Writes the report as JSON.
+     * @param entries       textures in the report
+     * @param ranks         rank of each texture by memory
+     * @param out           writer to write the report to
+     * @throws IOException if the report cannot be written
+     */
+    private void writeJson(List<Entry> entries, int[] ranks, Writer out) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writer.setIndent("  ");
+        writer.beginObject();
+
+        writer.name("textures").beginArray();
+        for (int index = 0; index < entries.size(); index++) {
+            writeJsonEntry(writer, index, entries.get(index), ranks[index]);
+        }
+        writer.endArray();
+
+        writer.name("totals").beginObject();
+        writer.name("textures").value(entries.size());
+        writer.name("invalid").value(entries.stream().filter((entry) -> entry.problem().isPresent()).count());
+        writer.name("analysis_ns").value(entries.stream().mapToLong(Entry::analysisNanos).sum());
+        writer.name("heap_bytes").value(entries.stream().mapToLong(Entry::heapBytes).sum());
+        writer.name("texture_bytes").value(entries.stream().mapToLong(Entry::textureBytes).sum());
+        writer.endObject();
+
+        writer.name("largest").beginArray();
+        int largestCount = Math.min(TOP_OFFENDERS, entries.size());
+        for (int rank = 1; rank <= largestCount; rank++) {
+            for (int index = 0; index < entries.size(); index++) {
+                if (ranks[index] == rank) {
+                    writeJsonEntry(writer, index, entries.get(index), rank);
+                    break;
+                }
+            }
+        }
+        writer.endArray();
+
+        writer.endObject();
+        writer.flush();
+    }
+
+    /**
+     * Writes a single texture as a JSON object.
+     * @param writer        writer to write the texture to
+     * @param index         position of the texture in the report
+     * @param entry         texture to write
+     * @param rank          rank of the texture by memory
+     * @throws IOException if the texture cannot be written
+     */
+    private static void writeJsonEntry(JsonWriter writer, int index, Entry entry, int rank) throws IOException {
+        writer.beginObject();
+        writer.name("index").value(index);
+        writer.name("type").value(entry.typeName());
+        writer.name("image_width").value(entry.imageWidth());
+        writer.name("image_height").value(entry.imageHeight());
+
+        Optional<GuiScaling> scaling = entry.scaling();
+        if (scaling.isPresent()) {
+            writer.name("frame_width").value(entry.frameWidth());
+            writer.name("frame_height").value(entry.frameHeight());
+        }
+
+        if (scaling.isPresent() && scaling.get() instanceof GuiScaling.NineSlice nineSlice) {
+            writer.name("borders").beginObject();
+            writer.name("left").value(nineSlice.left());
+            writer.name("right").value(nineSlice.right());
+            writer.name("top").value(nineSlice.top());
+            writer.name("bottom").value(nineSlice.bottom());
+            writer.endObject();
+        }
+
+        writer.name("analysis_ns").value(entry.analysisNanos());
+        writer.name("heap_bytes").value(entry.heapBytes());
+        writer.name("texture_bytes").value(entry.textureBytes());
+        writer.name("memory_rank").value(rank);
+
+        if (entry.problem().isPresent()) {
+            writer.name("problem").value(entry.problem().get());
+        }
+
+        writer.endObject();
+    }
+
+    /**
+     * Writes the report as CSV.
+     * @param entries       textures in the report
+     * @param ranks         rank of each texture by memory
+     * @param out           writer to write the report to
+     * @throws IOException if the report cannot be written
+     */
+    private static void writeCsv(List<Entry> entries, int[] ranks, Writer out) throws IOException {
+        out.write(String.join(",", CSV_COLUMNS));
+        out.write('\n');
+
+        for (int index = 0; index < entries.size(); index++) {
+            Entry entry = entries.get(index);
+            Optional<GuiScaling> scaling = entry.scaling();
+            boolean hasFrame = scaling.isPresent();
+            GuiScaling.NineSlice nineSlice = hasFrame && scaling.get() instanceof GuiScaling.NineSlice borders
+                    ? borders : null;
+
+            writeCsvRow(out,
+                    Integer.toString(index),
+                    entry.typeName(),
+                    Integer.toString(entry.imageWidth()),
+                    Integer.toString(entry.imageHeight()),
+                    hasFrame ? Integer.toString(entry.frameWidth()) : "",
+                    hasFrame ? Integer.toString(entry.frameHeight()) : "",
+                    nineSlice != null ? Integer.toString(nineSlice.left()) : "",
+                    nineSlice != null ? Integer.toString(nineSlice.right()) : "",
+                    nineSlice != null ? Integer.toString(nineSlice.top()) : "",
+                    nineSlice != null ? Integer.toString(nineSlice.bottom()) : "",
+                    Long.toString(entry.analysisNanos()),
+                    Long.toString(entry.heapBytes()),
+                    Long.toString(entry.textureBytes()),
+                    Integer.toString(ranks[index]),
+                    entry.problem().orElse("")
+            );
+        }
+
+        writeCsvRow(out,
+                "total", Integer.toString(entries.size()), "", "", "", "", "", "", "", "",
+                Long.toString(entries.stream().mapToLong(Entry::analysisNanos).sum()),
+                Long.toString(entries.stream().mapToLong(Entry::heapBytes).sum()),
+                Long.toString(entries.stream().mapToLong(Entry::textureBytes).sum()),
+                "", ""
+        );
+    }
+
+    /**
+     * Writes a single CSV row, quoting values that contain separators or quotes.
+     * @param out       writer to write the row to
+     * @param values    values in the row
+     * @throws IOException if the row cannot be written
+     */
+    private static void writeCsvRow(Writer out, String... values) throws IOException {
+        for (int index = 0; index < values.length; index++) {
+            if (index > 0) {
+                out.write(',');
+            }
+
+            String value = values[index];
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0) {
+                out.write('"');
+                out.write(value.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(value);
+            }
+        }
+
+        out.write('\n');
+    }
+
+    /**
+     * Formats that a report can be written in.
+     * @author soir20
+     */
+    public enum Format {
+        JSON,
+        CSV;
+
+        /**
+         * Gets the file extension for reports in this format.
+         * @return file extension without a leading dot
+         */
+        public String extension() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * A single texture in a report. Memory is estimated from what the texture keeps once it is
+     * loaded: its pixels on the GPU, the copy of its frames that MoreMcmeta keeps on the heap,
+     * and the plugin's layout cache for nine-slice textures. Textures with invalid metadata are
+     * not drawn by the plugin, so their memory is not counted.
+     * @author soir20
+     */
+    public static final class Entry {
+        private static final long BYTES_PER_PIXEL = 4;
+        private static final long NINE_SLICE_LAYOUT_BYTES = (long) NineSliceLayoutCache.DEFAULT_MAX_LAYOUTS
+                * 9 * QuadBuffer.FLOATS_PER_QUAD * Float.BYTES;
+
+        private final int IMAGE_WIDTH;
+        private final int IMAGE_HEIGHT;
+        private final GuiScaling SCALING;
+        private final int FRAME_WIDTH;
+        private final int FRAME_HEIGHT;
+        private final long ANALYSIS_NANOS;
+        private final String PROBLEM;
+
+        /**
+         * Creates a new entry.
+         * @param imageWidth        width of the whole image
+         * @param imageHeight       height of the whole image
+         * @param scaling           GUI scaling of the texture or null if it had none or was invalid
+         * @param frameWidth        width of a frame
+         * @param frameHeight       height of a frame
+         * @param analysisNanos     time spent analyzing the texture's metadata
+         * @param problem           why the metadata was invalid or null if it was valid
+         */
+        private Entry(int imageWidth, int imageHeight, GuiScaling scaling, int frameWidth, int frameHeight,
+                      long analysisNanos, String problem) {
+            if (imageWidth < 0 || imageHeight < 0) {
+                throw new IllegalArgumentException("Image size cannot be negative");
+            }
+
+            IMAGE_WIDTH = imageWidth;
+            IMAGE_HEIGHT = imageHeight;
+            SCALING = scaling;
+            FRAME_WIDTH = frameWidth;
+            FRAME_HEIGHT = frameHeight;
+            ANALYSIS_NANOS = Math.max(analysisNanos, 0);
+            PROBLEM = problem;
+        }
+
+        /**
+         * Creates an entry for a texture whose metadata was analyzed successfully.
+         * @param metadata          analyzed metadata for the texture
+         * @param imageWidth        width of the whole image
+         * @param imageHeight       height of the whole image
+         * @param analysisNanos     time spent analyzing the texture's metadata
+         * @return the entry
+         */
+        public static Entry analyzed(AnalyzedMetadata metadata, int imageWidth, int imageHeight, long analysisNanos) {
+            requireNonNull(metadata, "Metadata cannot be null");
+            return new Entry(
+                    imageWidth,
+                    imageHeight,
+                    metadata.guiScaling().orElse(null),
+                    metadata.frameWidth().orElse(imageWidth),
+                    metadata.frameHeight().orElse(imageHeight),
+                    analysisNanos,
+                    null
+            );
+        }
+
+        /**
+         * Creates an entry for a texture whose metadata was invalid.
+         * @param problem           why the metadata was invalid
+         * @param imageWidth        width of the whole image
+         * @param imageHeight       height of the whole image
+         * @param analysisNanos     time spent analyzing the texture's metadata
+         * @return the entry
+         */
+        public static Entry failed(String problem, int imageWidth, int imageHeight, long analysisNanos) {
+            requireNonNull(problem, "Problem cannot be null");
+            return new Entry(imageWidth, imageHeight, null, imageWidth, imageHeight, analysisNanos, problem);
+        }
+
+        /**
+         * Gets the name of the texture's scaling type.
+         * @return name of the scaling type, or {@code invalid} or {@code none} if it has none
+         */
+        public String typeName() {
+            if (SCALING instanceof GuiScaling.NineSlice) {
+                return ScalingTypeRegistry.NINE_SLICE;
+            } else if (SCALING instanceof GuiScaling.Tile) {
+                return ScalingTypeRegistry.TILE;
+            } else if (SCALING instanceof GuiScaling.Stretch) {
+                return ScalingTypeRegistry.STRETCH;
+            }
+
+            return PROBLEM != null ? "invalid" : "none";
+        }
+
+        /**
+         * Gets the GUI scaling of the texture.
+         * @return GUI scaling or empty if the texture has none or its metadata was invalid
+         */
+        public Optional<GuiScaling> scaling() {
+            return Optional.ofNullable(SCALING);
+        }
+
+        /**
+         * Gets the width of the whole image.
+         * @return width of the image
+         */
+        public int imageWidth() {
+            return IMAGE_WIDTH;
+        }
+
+        /**
+         * Gets the height of the whole image.
+         * @return height of the image
+         */
+        public int imageHeight() {
+            return IMAGE_HEIGHT;
+        }
+
+        /**
+         * Gets the width of a frame.
+         * @return width of a frame
+         */
+        public int frameWidth() {
+            return FRAME_WIDTH;
+        }
+
+        /**
+         * Gets the height of a frame.
+         * @return height of a frame
+         */
+        public int frameHeight() {
+            return FRAME_HEIGHT;
+        }
+
+        /**
+         * Gets the time spent analyzing the texture's metadata.
+         * @return analysis time in nanoseconds
+         */
+        public long analysisNanos() {
+            return ANALYSIS_NANOS;
+        }
+
+        /**
+         * Gets why the texture's metadata was invalid.
+         * @return description of the problem or empty if the metadata was valid
+         */
+        public Optional<String> problem() {
+            return Optional.ofNullable(PROBLEM);
+        }
+
+        /**
+         * Estimates the heap memory the texture costs.
+         * @return estimated heap memory in bytes
+         */
+        public long heapBytes() {
+            if (SCALING == null) {
+                return 0;
+            }
+
+            long bytes = imageBytes();
+            if (SCALING instanceof GuiScaling.NineSlice) {
+                bytes += NINE_SLICE_LAYOUT_BYTES;
+            }
+
+            return bytes;
+        }
+
+        /**
+         * Estimates the texture memory the texture costs.
+         * @return estimated texture memory in bytes
+         */
+        public long textureBytes() {
+            return SCALING == null ? 0 : imageBytes();
+        }
+
+        /**
+         * Estimates the total memory the texture costs.
+         * @return sum of the estimated heap and texture memory in bytes
+         */
+        public long totalBytes() {
+            return heapBytes() + textureBytes();
+        }
+
+        /**
+         * Gets the size of the whole image's pixels.
+         * @return size of the image in bytes
+         */
+        private long imageBytes() {
+            return IMAGE_WIDTH * (long) IMAGE_HEIGHT * BYTES_PER_PIXEL;
+        }
+
+    }
+
+}
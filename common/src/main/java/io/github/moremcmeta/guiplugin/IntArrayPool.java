@@ -0,0 +1,140 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Pool of reusable {@code int[]} buffers, so that code run on every frame does not allocate new
+ * arrays each time. Arrays are grouped by power-of-two length, and an acquired array may be longer
+ * than requested.
+ * @author soir20
+ */
+public final class IntArrayPool {
+    public static final int DEFAULT_MAX_PER_SIZE = 4;
+    private static final int SIZE_CLASSES = 31;
+
+    private final int MAX_PER_SIZE;
+    private final List<ArrayDeque<int[]>> FREE;
+
+    /**
+     * Creates a new pool that keeps up to {@link #DEFAULT_MAX_PER_SIZE} arrays of each size.
+     */
+    public IntArrayPool() {
+        this(DEFAULT_MAX_PER_SIZE);
+    }
+
+    /**
+     * Creates a new pool.
+     * @param maxPerSize        maximum number of free arrays to keep for each power-of-two length
+     */
+    public IntArrayPool(int maxPerSize) {
+        if (maxPerSize < 0) {
+            throw new IllegalArgumentException("Maximum arrays per size cannot be negative");
+        }
+
+        MAX_PER_SIZE = maxPerSize;
+        List<ArrayDeque<int[]>> free = new ArrayList<>(SIZE_CLASSES);
+        for (int sizeClass = 0; sizeClass < SIZE_CLASSES; sizeClass++) {
+            free.add(new ArrayDeque<>());
+        }
+
+        FREE = List.copyOf(free);
+    }
+
+    /**
+     * Gets an array with at least the given length. The contents of the array are undefined.
+     * @param minLength     minimum length of the array
+     * @return array from the pool or a new array if none are free
+     */
+    public int[] acquire(int minLength) {
+        if (minLength < 0) {
+            throw new IllegalArgumentException("Length cannot be negative");
+        }
+
+        int sizeClass = sizeClass(minLength);
+        if (sizeClass >= SIZE_CLASSES) {
+            throw new IllegalArgumentException("Length is too large to pool: " + minLength);
+        }
+
+        synchronized (this) {
+            int[] array = FREE.get(sizeClass).pollLast();
+            if (array != null) {
+                return array;
+            }
+        }
+
+        return new int[1 << sizeClass];
+    }
+
+    /**
+     * Returns an array to the pool so that it can be acquired again. Arrays that were not created by
+     * a pool or that do not fit in the pool are left for the garbage collector. Releasing an array
+     * that is already free in the pool is rejected, since it would be handed out twice.
+     * @param array     array to return. Must not be used after it is released.
+     */
+    public void release(int[] array) {
+        requireNonNull(array, "Array cannot be null");
+
+        int length = array.length;
+        if (Integer.bitCount(length) != 1) {
+            return;
+        }
+
+        int sizeClass = Integer.numberOfTrailingZeros(length);
+        synchronized (this) {
+            ArrayDeque<int[]> free = FREE.get(sizeClass);
+
+            // Arrays only equal themselves, so this is an identity check against the few free arrays
+            if (free.contains(array)) {
+                throw new IllegalArgumentException("Array was already released");
+            }
+
+            if (free.size() < MAX_PER_SIZE) {
+                free.addLast(array);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of free arrays in the pool.
+     * @return number of free arrays
+     */
+    public synchronized int freeArrays() {
+        int count = 0;
+        for (ArrayDeque<int[]> free : FREE) {
+            count += free.size();
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the size class of arrays that can hold a length.
+     * @param length        minimum length of the array
+     * @return power of two of the array length
+     */
+    private static int sizeClass(int length) {
+        return length <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(length - 1);
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.AnalyzedMetadata;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.InvalidMetadataException;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataAnalyzer;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Analyzer that postpones reading the GUI scaling until it is first used. During a reload it checks
+ * the scaling section, its type, and the frame size, throwing an {@link InvalidMetadataException} for
+ * any problem there just as full analysis would. The frame size is answered right away because
+ * MoreMcmeta reads it while building each texture. Only the borders and the shared scaling result are
+ * left for the first call to {@link AnalyzedMetadata#guiScaling()}, usually when the texture is first
+ * drawn, and that result is shared by all threads afterward.
+ * <p>
+ * Metadata that passes the reload check but has invalid borders is logged and treated as having
+ * no GUI scaling, since the error can no longer be reported to the texture loader.
+ * @author soir20
+ */
+public final class LazyMetadataAnalyzer implements MetadataAnalyzer {
+    public static final String ENABLED_PROPERTY = ModConstants.MOD_ID + ".lazyAnalysis";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LazyMetadataAnalyzer.class);
+    private final MetadataAnalyzer DELEGATE;
+    private final ScalingTypeRegistry TYPES;
+
+    /**
+     * Creates a new lazy analyzer that recognizes the built-in scaling types.
+     * @param delegate      analyzer that performs the full analysis
+     */
+    public LazyMetadataAnalyzer(MetadataAnalyzer delegate) {
+        this(delegate, ScalingTypeRegistry.withBuiltInTypes());
+    }
+
+    /**
+     * Creates a new lazy analyzer.
+     * @param delegate      analyzer that performs the full analysis
+     * @param types         scaling types that the delegate recognizes
+     */
+    public LazyMetadataAnalyzer(MetadataAnalyzer delegate, ScalingTypeRegistry types) {
+        DELEGATE = requireNonNull(delegate, "Delegate cannot be null");
+        TYPES = requireNonNull(types, "Types cannot be null");
+    }
+
+    /**
+     * Checks whether lazy analysis was enabled with the {@link #ENABLED_PROPERTY} system property.
+     * @return whether lazy analysis is enabled
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    @Override
+    public AnalyzedMetadata analyze(MetadataView metadata, int imageWidth, int imageHeight) throws InvalidMetadataException {
+        requireNonNull(metadata, "Metadata cannot be null");
+
+        GuiMetadataAnalyzer.FrameSize frameSize = GuiMetadataAnalyzer.checkFrameSize(metadata, TYPES);
+        Optional<Integer> frameWidth = frameSize == null ? Optional.empty() : Optional.of(frameSize.width());
+        Optional<Integer> frameHeight = frameSize == null ? Optional.empty() : Optional.of(frameSize.height());
+
+        return new LazyMetadata(DELEGATE, metadata, imageWidth, imageHeight, frameWidth, frameHeight);
+    }
+
+    /**
+     * Metadata whose frame size is already known and whose scaling is analyzed the first time it is read.
+     * @author soir20
+     */
+    private static final class LazyMetadata implements AnalyzedMetadata {
+        private final MetadataAnalyzer ANALYZER;
+        private final int IMAGE_WIDTH;
+        private final int IMAGE_HEIGHT;
+        private final Optional<Integer> FRAME_WIDTH;
+        private final Optional<Integer> FRAME_HEIGHT;
+        private MetadataView metadata;
+        private volatile Optional<GuiScaling> scaling;
+
+        /**
+         * Creates new lazily-analyzed metadata.
+         * @param analyzer      analyzer that performs the full analysis
+         * @param metadata      metadata to analyze
+         * @param imageWidth    width of the texture's image
+         * @param imageHeight   height of the texture's image
+         * @param frameWidth    frame width read during the reload check
+         * @param frameHeight   frame height read during the reload check
+         */
+        public LazyMetadata(MetadataAnalyzer analyzer, MetadataView metadata, int imageWidth, int imageHeight,
+                            Optional<Integer> frameWidth, Optional<Integer> frameHeight) {
+            ANALYZER = analyzer;
+            this.metadata = metadata;
+            IMAGE_WIDTH = imageWidth;
+            IMAGE_HEIGHT = imageHeight;
+            FRAME_WIDTH = frameWidth;
+            FRAME_HEIGHT = frameHeight;
+        }
+
+        @Override
+        public Optional<Integer> frameWidth() {
+            return FRAME_WIDTH;
+        }
+
+        @Override
+        public Optional<Integer> frameHeight() {
+            return FRAME_HEIGHT;
+        }
+
+        @Override
+        public Optional<GuiScaling> guiScaling() {
+            Optional<GuiScaling> currentScaling = scaling;
+            if (currentScaling != null) {
+                return currentScaling;
+            }
+
+            synchronized (this) {
+                if (scaling == null) {
+                    try {
+                        scaling = ANALYZER.analyze(metadata, IMAGE_WIDTH, IMAGE_HEIGHT).guiScaling();
+                    } catch (InvalidMetadataException err) {
+                        LOGGER.warn("Ignoring invalid GUI metadata: {}", err.getMessage());
+                        scaling = Optional.empty();
+                    }
+
+                    // The view is no longer needed, so let it be collected
+                    metadata = null;
+                }
+
+                return scaling;
+            }
+        }
+    }
+
+}
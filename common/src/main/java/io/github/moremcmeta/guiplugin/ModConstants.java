@@ -19,15 +19,77 @@ package io.github.moremcmeta.guiplugin;
 
 import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataAnalyzer;
 import io.github.moremcmeta.moremcmeta.api.client.texture.ComponentBuilder;
-import io.github.moremcmeta.moremcmeta.api.client.texture.TextureComponent;
 
 /**
- * Constants for both Fabric and Forge implementations of the plugin.
+ * Constants for both Fabric and Forge implementations of the plugin. Everything beyond the plugin's
+ * names is held in a {@link Deferred}, so loading this class during mod loading does no work. The
+ * analyzer and its caches are first created when the first texture is analyzed.
  * @author soir20
  */
 public final class ModConstants {
     public static final String MOD_ID = "moremcmeta_gui_plugin";
     public static final String SECTION_NAME = "gui";
-    public static final MetadataAnalyzer ANALYZER = new GuiMetadataAnalyzer();
-    public static final ComponentBuilder COMPONENT_BUILDER = ((metadata, frames) -> new TextureComponent<>() {});
+    public static final StartupTimeline TIMELINE = new StartupTimeline();
+    public static final Deferred<GuiMetadataInterner> INTERNER = new Deferred<>(
+            "interner",
+            GuiMetadataInterner::new,
+            TIMELINE
+    );
+    public static final Deferred<AnalysisMetrics> METRICS = new Deferred<>(
+            "metrics",
+            AnalysisMetrics::new,
+            TIMELINE
+    );
+    public static final Deferred<ScalingTypeRegistry> SCALING_TYPES = new Deferred<>(
+            "scaling types",
+            ScalingTypeRegistry::withBuiltInTypes,
+            TIMELINE
+    );
+    public static final Deferred<GuiTextureReport> REPORT = new Deferred<>(
+            "report",
+            GuiTextureReport::new,
+            TIMELINE
+    );
+    private static final Deferred<MetadataAnalyzer> DEFERRED_ANALYZER = new Deferred<>(
+            "analyzer",
+            ModConstants::makeAnalyzer,
+            TIMELINE
+    );
+    public static final MetadataAnalyzer ANALYZER = ((metadata, imageWidth, imageHeight) ->
+            DEFERRED_ANALYZER.get().analyze(metadata, imageWidth, imageHeight));
+    public static final ComponentBuilder COMPONENT_BUILDER = ((metadata, frames) ->
+            new GuiTextureComponent<>(metadata, frames.frames()));
+
+    /**
+     * Creates the analyzer used by the plugin, which analyzes lazily if lazy analysis is enabled
+     * and records each texture in the report if reports are enabled.
+     * @return the plugin's analyzer
+     */
+    private static MetadataAnalyzer makeAnalyzer() {
+        return makeAnalyzer(
+                new GuiMetadataAnalyzer(INTERNER.get(), METRICS.get(), SCALING_TYPES.get()),
+                SCALING_TYPES.get(),
+                LazyMetadataAnalyzer.isEnabled(),
+                GuiTextureReport.configuredFormat().isPresent() ? REPORT.get() : null
+        );
+    }
+
+    /**
+     * Wraps an analyzer so that it analyzes lazily and records each texture in a report. The report
+     * wraps the lazy analyzer so that textures are recorded during the reload that loads them, which
+     * means a texture is fully analyzed then if both are enabled.
+     * @param analyzer      analyzer that performs the full analysis
+     * @param types         registry of scaling types for the lazy analyzer's frame size check
+     * @param lazy          whether to analyze lazily
+     * @param report        report to record each texture in, or null if reports are disabled
+     * @return the wrapped analyzer
+     */
+    static MetadataAnalyzer makeAnalyzer(MetadataAnalyzer analyzer, ScalingTypeRegistry types, boolean lazy,
+                                         GuiTextureReport report) {
+        if (lazy) {
+            analyzer = new LazyMetadataAnalyzer(analyzer, types);
+        }
+
+        return report == null ? analyzer : new ReportingMetadataAnalyzer(analyzer, report);
+    }
 }
@@ -0,0 +1,177 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Bakes a nine-slice texture into a single image of a target size on the CPU. A widget drawn at
+ * a fixed size, like a button, can be baked once and then drawn as one quad instead of nine.
+ * Borders follow the same rules as {@link NineSliceGeometry}: corners keep their size unless the
+ * target is too small for both borders, in which case the borders shrink proportionally.
+ * @author soir20
+ */
+public final class NineSliceBaker {
+    private final IntArrayPool POOL;
+    private final Fill FILL;
+
+    /**
+     * Creates a new baker that stretches edges and the center, like {@link NineSliceGeometry}.
+     */
+    public NineSliceBaker() {
+        this(new IntArrayPool(), Fill.STRETCH);
+    }
+
+    /**
+     * Creates a new baker.
+     * @param pool      pool for the baker's scratch buffers
+     * @param fill      how the edges and center fill the space between corners
+     */
+    public NineSliceBaker(IntArrayPool pool, Fill fill) {
+        POOL = requireNonNull(pool, "Pool cannot be null");
+        FILL = requireNonNull(fill, "Fill cannot be null");
+    }
+
+    /**
+     * Bakes a frame into a new image.
+     * @param source        pixels of one frame of the texture
+     * @param scaling       nine-slice borders of the texture
+     * @param width         width of the baked image in pixels
+     * @param height        height of the baked image in pixels
+     * @return baked image
+     */
+    public FramePixels bake(FramePixels source, GuiScaling.NineSlice scaling, int width, int height) {
+        int[] pixels = new int[FramePixels.pixelCount(width, height)];
+        bake(source, scaling, width, height, pixels);
+        return FramePixels.wrap(width, height, pixels);
+    }
+
+    /**
+     * Bakes a frame into an existing buffer, such as one acquired from an {@link IntArrayPool}.
+     * @param source        pixels of one frame of the texture
+     * @param scaling       nine-slice borders of the texture
+     * @param width         width of the baked image in pixels
+     * @param height        height of the baked image in pixels
+     * @param out           buffer for the baked colors in row-major order. Only the first
+     *                      {@code width * height} elements are written.
+     */
+    public void bake(FramePixels source, GuiScaling.NineSlice scaling, int width, int height, int[] out) {
+        requireNonNull(source, "Source cannot be null");
+        requireNonNull(scaling, "Scaling cannot be null");
+        requireNonNull(out, "Buffer cannot be null");
+
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException("Target size cannot be negative");
+        }
+
+        if (out.length < (long) width * height) {
+            throw new IllegalArgumentException("Buffer is too small for a " + width + "x" + height + " image");
+        }
+
+        int sourceWidth = source.width();
+        int sourceHeight = source.height();
+        int left = Math.min(scaling.left(), sourceWidth);
+        int right = Math.min(scaling.right(), sourceWidth - left);
+        int top = Math.min(scaling.top(), sourceHeight);
+        int bottom = Math.min(scaling.bottom(), sourceHeight - top);
+
+        int x1 = Math.round(NineSliceGeometry.shrinkStart(left, right, width));
+        int x2 = Math.round(NineSliceGeometry.trailingEdge(left, right, width));
+        int y1 = Math.round(NineSliceGeometry.shrinkStart(top, bottom, height));
+        int y2 = Math.round(NineSliceGeometry.trailingEdge(top, bottom, height));
+
+        int[] columns = POOL.acquire(width);
+        int[] rows = POOL.acquire(height);
+        try {
+            mapAxis(columns, width, x1, x2, sourceWidth, left, right);
+            mapAxis(rows, height, y1, y2, sourceHeight, top, bottom);
+
+            // Corners are copied row by row when they are not shrunk
+            int leftCopy = x1 == left ? x1 : 0;
+            int rightCopy = width - x2 == right ? width - x2 : 0;
+            int[] pixels = source.array();
+
+            for (int y = 0; y < height; y++) {
+                int destRow = y * width;
+                if (y > 0 && rows[y] == rows[y - 1]) {
+                    System.arraycopy(out, destRow - width, out, destRow, width);
+                    continue;
+                }
+
+                int sourceRow = rows[y] * sourceWidth;
+                System.arraycopy(pixels, sourceRow, out, destRow, leftCopy);
+                for (int x = leftCopy; x < width - rightCopy; x++) {
+                    out[destRow + x] = pixels[sourceRow + columns[x]];
+                }
+                System.arraycopy(pixels, sourceRow + sourceWidth - rightCopy, out, destRow + width - rightCopy,
+                        rightCopy);
+            }
+        } finally {
+            POOL.release(columns);
+            POOL.release(rows);
+        }
+    }
+
+    /**
+     * Maps every target coordinate along one axis to the source coordinate it takes its color from.
+     * @param map           array to store the mapping in
+     * @param size          size of the target along the axis
+     * @param start         first target coordinate of the middle region
+     * @param end           first target coordinate of the trailing border
+     * @param sourceSize    size of the source along the axis
+     * @param startBorder   size of the leading border in the source
+     * @param endBorder     size of the trailing border in the source
+     */
+    private void mapAxis(int[] map, int size, int start, int end, int sourceSize, int startBorder, int endBorder) {
+        int middle = sourceSize - startBorder - endBorder;
+
+        for (int coord = 0; coord < start; coord++) {
+            map[coord] = FramePixels.nearest(coord, start, startBorder);
+        }
+
+        for (int coord = start; coord < end; coord++) {
+            int offset = coord - start;
+            if (middle == 0) {
+
+                // Like the quad layout, an empty middle region samples the edge between the borders
+                map[coord] = Math.min(startBorder, sourceSize - 1);
+
+            } else if (FILL == Fill.TILE) {
+                map[coord] = startBorder + offset % middle;
+            } else {
+                map[coord] = startBorder + FramePixels.nearest(offset, end - start, middle);
+            }
+        }
+
+        for (int coord = end; coord < size; coord++) {
+            map[coord] = sourceSize - endBorder + FramePixels.nearest(coord - end, size - end, endBorder);
+        }
+    }
+
+    /**
+     * How the edges and center of a nine-slice texture fill the space between its corners.
+     * @author soir20
+     */
+    public enum Fill {
+        STRETCH,
+        TILE
+    }
+
+}
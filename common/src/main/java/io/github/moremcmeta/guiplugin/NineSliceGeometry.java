@@ -0,0 +1,156 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Lays out the quads needed to draw a nine-slice texture at any size. Corners keep their size,
+ * edges stretch along one axis, and the center stretches along both. When the target is smaller
+ * than the borders, the borders shrink proportionally. Positions are relative to the top-left
+ * corner of the target rectangle, and texture coordinates are normalized to the frame.
+ * @author soir20
+ */
+public final class NineSliceGeometry {
+
+    /**
+     * Adds the quads for one nine-slice draw to a buffer. Empty regions, such as the center
+     * when the borders fill the whole target, are skipped, so up to nine quads are added.
+     * @param scaling       nine-slice borders of the texture
+     * @param frameWidth    width of a frame in texture pixels
+     * @param frameHeight   height of a frame in texture pixels
+     * @param width         width of the target rectangle in GUI units
+     * @param height        height of the target rectangle in GUI units
+     * @param guiScale      number of screen pixels per GUI unit. Region edges are snapped to
+     *                      whole screen pixels so that adjacent quads do not leave seams.
+     * @param out           buffer to add the quads to
+     * @return number of quads added
+     */
+    public static int layout(GuiScaling.NineSlice scaling, int frameWidth, int frameHeight,
+                             int width, int height, float guiScale, QuadBuffer out) {
+        requireNonNull(scaling, "Scaling cannot be null");
+        requireNonNull(out, "Buffer cannot be null");
+
+        if (frameWidth <= 0 || frameHeight <= 0) {
+            throw new IllegalArgumentException("Frame size must be positive");
+        }
+
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException("Target size cannot be negative");
+        }
+
+        if (!(guiScale > 0)) {
+            throw new IllegalArgumentException("GUI scale must be positive");
+        }
+
+        int left = Math.min(scaling.left(), frameWidth);
+        int right = Math.min(scaling.right(), frameWidth - left);
+        int top = Math.min(scaling.top(), frameHeight);
+        int bottom = Math.min(scaling.bottom(), frameHeight - top);
+
+        float x1 = snap(shrinkStart(left, right, width), guiScale);
+        float x2 = snap(trailingEdge(left, right, width), guiScale);
+        float y1 = snap(shrinkStart(top, bottom, height), guiScale);
+        float y2 = snap(trailingEdge(top, bottom, height), guiScale);
+
+        float u1 = left / (float) frameWidth;
+        float u2 = (frameWidth - right) / (float) frameWidth;
+        float v1 = top / (float) frameHeight;
+        float v2 = (frameHeight - bottom) / (float) frameHeight;
+
+        int added = 0;
+        added += addIfNotEmpty(out, 0, 0, x1, y1, 0, 0, u1, v1);
+        added += addIfNotEmpty(out, x1, 0, x2, y1, u1, 0, u2, v1);
+        added += addIfNotEmpty(out, x2, 0, width, y1, u2, 0, 1, v1);
+        added += addIfNotEmpty(out, 0, y1, x1, y2, 0, v1, u1, v2);
+        added += addIfNotEmpty(out, x1, y1, x2, y2, u1, v1, u2, v2);
+        added += addIfNotEmpty(out, x2, y1, width, y2, u2, v1, 1, v2);
+        added += addIfNotEmpty(out, 0, y2, x1, height, 0, v2, u1, 1);
+        added += addIfNotEmpty(out, x1, y2, x2, height, u1, v2, u2, 1);
+        added += addIfNotEmpty(out, x2, y2, width, height, u2, v2, 1, 1);
+
+        return added;
+    }
+
+    /**
+     * Gets the size of the leading border, shrunk if both borders do not fit in the target.
+     * {@link NineSliceBaker} rounds the same sizes to whole pixels.
+     * @param start     size of the leading border
+     * @param end       size of the trailing border
+     * @param size      size of the target along the same axis
+     * @return size of the leading border in the target
+     */
+    static float shrinkStart(int start, int end, int size) {
+        int total = start + end;
+        return total <= size ? start : size * (start / (float) total);
+    }
+
+    /**
+     * Gets the position of the trailing border's inner edge. If both borders do not fit in the
+     * target, they are shrunk and meet at the leading border's inner edge.
+     * @param start     size of the leading border
+     * @param end       size of the trailing border
+     * @param size      size of the target along the same axis
+     * @return position of the trailing border in the target
+     */
+    static float trailingEdge(int start, int end, int size) {
+        int total = start + end;
+        return total <= size ? size - end : shrinkStart(start, end, size);
+    }
+
+    /**
+     * Rounds a position to the nearest whole screen pixel.
+     * @param position      position in GUI units
+     * @param guiScale      number of screen pixels per GUI unit
+     * @return snapped position in GUI units
+     */
+    private static float snap(float position, float guiScale) {
+        return Math.round(position * guiScale) / guiScale;
+    }
+
+    /**
+     * Adds a quad to the buffer if it covers any area.
+     * @param out       buffer to add the quad to
+     * @param x0        left edge
+     * @param y0        top edge
+     * @param x1        right edge
+     * @param y1        bottom edge
+     * @param u0        horizontal texture coordinate of the left edge
+     * @param v0        vertical texture coordinate of the top edge
+     * @param u1        horizontal texture coordinate of the right edge
+     * @param v1        vertical texture coordinate of the bottom edge
+     * @return 1 if the quad was added, otherwise 0
+     */
+    private static int addIfNotEmpty(QuadBuffer out, float x0, float y0, float x1, float y1,
+                                     float u0, float v0, float u1, float v1) {
+        if (x1 <= x0 || y1 <= y0) {
+            return 0;
+        }
+
+        out.add(x0, y0, x1, y1, u0, v0, u1, v1);
+        return 1;
+    }
+
+    /**
+     * Prevents this class from being constructed.
+     */
+    private NineSliceGeometry() {}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Remembers the nine-slice layouts most recently computed for one texture, keyed by target size and
+ * GUI scale. GUI elements are usually drawn at the same few sizes every frame, so a small cache
+ * avoids recomputing their geometry. Looking up a cached layout does not allocate.
+ * @author soir20
+ */
+public final class NineSliceLayoutCache {
+    public static final int DEFAULT_MAX_LAYOUTS = 8;
+
+    private final GuiScaling.NineSlice SCALING;
+    private final int FRAME_WIDTH;
+    private final int FRAME_HEIGHT;
+    private final int[] WIDTHS;
+    private final int[] HEIGHTS;
+    private final float[] SCALES;
+    private final float[][] LAYOUTS;
+    private final QuadBuffer BUFFER;
+    private int size;
+    private int nextEviction;
+
+    /**
+     * Creates a new cache that holds up to {@link #DEFAULT_MAX_LAYOUTS} layouts.
+     * @param scaling       nine-slice borders of the texture
+     * @param frameWidth    width of a frame in texture pixels
+     * @param frameHeight   height of a frame in texture pixels
+     */
+    public NineSliceLayoutCache(GuiScaling.NineSlice scaling, int frameWidth, int frameHeight) {
+        this(scaling, frameWidth, frameHeight, DEFAULT_MAX_LAYOUTS);
+    }
+
+    /**
+     * Creates a new cache.
+     * @param scaling       nine-slice borders of the texture
+     * @param frameWidth    width of a frame in texture pixels
+     * @param frameHeight   height of a frame in texture pixels
+     * @param maxLayouts    maximum number of layouts to keep. The oldest layout is replaced
+     *                      when the cache is full.
+     */
+    public NineSliceLayoutCache(GuiScaling.NineSlice scaling, int frameWidth, int frameHeight, int maxLayouts) {
+        SCALING = requireNonNull(scaling, "Scaling cannot be null");
+
+        if (frameWidth <= 0 || frameHeight <= 0) {
+            throw new IllegalArgumentException("Frame size must be positive");
+        }
+
+        if (maxLayouts <= 0) {
+            throw new IllegalArgumentException("Maximum layouts must be positive");
+        }
+
+        FRAME_WIDTH = frameWidth;
+        FRAME_HEIGHT = frameHeight;
+        WIDTHS = new int[maxLayouts];
+        HEIGHTS = new int[maxLayouts];
+        SCALES = new float[maxLayouts];
+        LAYOUTS = new float[maxLayouts][];
+        BUFFER = new QuadBuffer();
+    }
+
+    /**
+     * Gets the layout for a target size, computing it if it is not cached. The returned array
+     * holds whole quads in the format described by {@link QuadBuffer} and must not be modified.
+     * @param width         width of the target rectangle in GUI units
+     * @param height        height of the target rectangle in GUI units
+     * @param guiScale      number of screen pixels per GUI unit
+     * @return quads for the layout
+     */
+    public synchronized float[] layout(int width, int height, float guiScale) {
+        for (int index = 0; index < size; index++) {
+            if (WIDTHS[index] == width && HEIGHTS[index] == height
+                    && Float.compare(SCALES[index], guiScale) == 0) {
+                return LAYOUTS[index];
+            }
+        }
+
+        BUFFER.clear();
+        NineSliceGeometry.layout(SCALING, FRAME_WIDTH, FRAME_HEIGHT, width, height, guiScale, BUFFER);
+        float[] layout = BUFFER.toArray();
+
+        int index;
+        if (size < LAYOUTS.length) {
+            index = size++;
+        } else {
+            index = nextEviction;
+            nextEviction = (nextEviction + 1) % LAYOUTS.length;
+        }
+
+        WIDTHS[index] = width;
+        HEIGHTS[index] = height;
+        SCALES[index] = guiScale;
+        LAYOUTS[index] = layout;
+
+        return layout;
+    }
+
+    /**
+     * Gets the number of layouts currently cached.
+     * @return number of cached layouts
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import net.minecraft.client.Minecraft;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Work that both Fabric and Forge implementations of the plugin run at points in the
+ * game's lifecycle.
+ * @author soir20
+ */
+public final class PluginLifecycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PluginLifecycle.class);
+    private static AnalysisMetrics.Snapshot lastSnapshot;
+    private static boolean startupLogged;
+
+    /**
+     * Records that a phase of startup has been reached on either mod loader.
+     * @param phase     name of the phase
+     */
+    public static void onStartupPhase(String phase) {
+        ModConstants.TIMELINE.mark(phase);
+    }
+
+    /**
+     * Runs after resources have been reloaded, including the first load during startup.
+     * Logs a summary of the analyses done during the reload. Metrics and reports that have not been
+     * created because no texture has been analyzed are left alone, and the startup timeline is marked
+     * and logged only after the first reload so later reloads do not grow it. If reports are enabled,
+     * the textures analyzed during the reload are written to a report in the game directory.
+     */
+    public static synchronized void onReloadComplete() {
+        if (!startupLogged) {
+            ModConstants.TIMELINE.mark("reload complete");
+        }
+
+        ModConstants.METRICS.getIfCreated().ifPresent((metrics) -> {
+            AnalysisMetrics.Snapshot snapshot = metrics.snapshot();
+            LOGGER.info("{}", lastSnapshot == null ? snapshot : snapshot.since(lastSnapshot));
+            lastSnapshot = snapshot;
+        });
+
+        GuiTextureReport.configuredFormat().ifPresent((format) ->
+                ModConstants.REPORT.getIfCreated().ifPresent((report) -> writeReport(report, format)));
+
+        if (!startupLogged) {
+            LOGGER.info("{}", ModConstants.TIMELINE);
+            startupLogged = true;
+        }
+    }
+
+    /**
+     * Writes the textures analyzed during a reload to the report file and starts a new report.
+     * @param report        report with the textures analyzed during the reload
+     * @param format        format to write the report in
+     */
+    private static void writeReport(GuiTextureReport report, GuiTextureReport.Format format) {
+        GuiTextureReport reloadReport = report.drain();
+        Path file = null;
+        try {
+            file = Minecraft.getInstance().gameDirectory.toPath().resolve("moremcmeta")
+                    .resolve(ModConstants.MOD_ID + "_report." + format.extension());
+            reloadReport.write(format, file);
+            LOGGER.info("Wrote GUI texture report with {} textures to {}", reloadReport.entries().size(), file);
+        } catch (IOException | RuntimeException err) {
+            LOGGER.warn("Unable to write GUI texture report to {}", file, err);
+        }
+    }
+
+    /**
+     * Prevents this class from being constructed.
+     */
+    private PluginLifecycle() {}
+
+}
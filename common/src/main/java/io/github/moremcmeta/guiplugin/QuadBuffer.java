@@ -0,0 +1,183 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reusable, growable storage for axis-aligned textured quads. Each quad is stored as
+ * {@link #FLOATS_PER_QUAD} consecutive floats in the order x0, y0, x1, y1, u0, v0, u1, v1,
+ * where (x0, y0) is the top-left corner and (x1, y1) is the bottom-right corner. Clearing the
+ * buffer keeps its capacity, so a buffer that is reused does not allocate once it has grown.
+ * @author soir20
+ */
+public final class QuadBuffer {
+    public static final int FLOATS_PER_QUAD = 8;
+    private static final int DEFAULT_QUAD_CAPACITY = 9;
+
+    private float[] data;
+    private int quads;
+
+    /**
+     * Creates a new buffer with room for one nine-slice layout.
+     */
+    public QuadBuffer() {
+        this(DEFAULT_QUAD_CAPACITY);
+    }
+
+    /**
+     * Creates a new buffer.
+     * @param initialQuadCapacity       number of quads to make room for initially
+     */
+    public QuadBuffer(int initialQuadCapacity) {
+        if (initialQuadCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative");
+        }
+
+        data = new float[initialQuadCapacity * FLOATS_PER_QUAD];
+    }
+
+    /**
+     * Adds a quad to the end of the buffer.
+     * @param x0        left edge
+     * @param y0        top edge
+     * @param x1        right edge
+     * @param y1        bottom edge
+     * @param u0        horizontal texture coordinate of the left edge
+     * @param v0        vertical texture coordinate of the top edge
+     * @param u1        horizontal texture coordinate of the right edge
+     * @param v1        vertical texture coordinate of the bottom edge
+     */
+    public void add(float x0, float y0, float x1, float y1, float u0, float v0, float u1, float v1) {
+        ensureCapacity(quads + 1);
+
+        int offset = quads * FLOATS_PER_QUAD;
+        data[offset] = x0;
+        data[offset + 1] = y0;
+        data[offset + 2] = x1;
+        data[offset + 3] = y1;
+        data[offset + 4] = u0;
+        data[offset + 5] = v0;
+        data[offset + 6] = u1;
+        data[offset + 7] = v1;
+
+        quads++;
+    }
+
+    /**
+     * Adds every quad in an array to the end of the buffer.
+     * @param quadData      quads stored in the same layout as this buffer
+     */
+    public void addAll(float[] quadData) {
+        requireNonNull(quadData, "Quads cannot be null");
+
+        if (quadData.length % FLOATS_PER_QUAD != 0) {
+            throw new IllegalArgumentException("Quad data must contain whole quads");
+        }
+
+        int newQuads = quadData.length / FLOATS_PER_QUAD;
+        ensureCapacity(quads + newQuads);
+        System.arraycopy(quadData, 0, data, quads * FLOATS_PER_QUAD, quadData.length);
+        quads += newQuads;
+    }
+
+    /**
+     * Adds a range of quads from an array to the end of the buffer.
+     * @param quadData      quads stored in the same layout as this buffer
+     * @param firstQuad     index of the first quad to add
+     * @param quadCount     number of quads to add
+     */
+    public void addAll(float[] quadData, int firstQuad, int quadCount) {
+        requireNonNull(quadData, "Quads cannot be null");
+
+        if (firstQuad < 0 || quadCount < 0
+                || ((long) firstQuad + quadCount) * FLOATS_PER_QUAD > quadData.length) {
+            throw new IndexOutOfBoundsException("Quad range out of bounds: " + firstQuad + " to "
+                    + (firstQuad + quadCount));
+        }
+
+        ensureCapacity(quads + quadCount);
+        System.arraycopy(quadData, firstQuad * FLOATS_PER_QUAD, data, quads * FLOATS_PER_QUAD,
+                quadCount * FLOATS_PER_QUAD);
+        quads += quadCount;
+    }
+
+    /**
+     * Removes all quads while keeping the buffer's capacity.
+     */
+    public void clear() {
+        quads = 0;
+    }
+
+    /**
+     * Gets the number of quads in the buffer.
+     * @return number of quads
+     */
+    public int quadCount() {
+        return quads;
+    }
+
+    /**
+     * Gets one value of a quad.
+     * @param quad          index of the quad
+     * @param component     index of the value within the quad, from 0 (x0) to 7 (v1)
+     * @return the value
+     */
+    public float get(int quad, int component) {
+        if (quad < 0 || quad >= quads) {
+            throw new IndexOutOfBoundsException("Quad index out of bounds: " + quad);
+        }
+
+        if (component < 0 || component >= FLOATS_PER_QUAD) {
+            throw new IndexOutOfBoundsException("Component index out of bounds: " + component);
+        }
+
+        return data[quad * FLOATS_PER_QUAD + component];
+    }
+
+    /**
+     * Gets the backing array without copying it. Only the first {@code quadCount() * FLOATS_PER_QUAD}
+     * values are meaningful, and the array may be replaced when the buffer grows.
+     * @return the backing array
+     */
+    public float[] array() {
+        return data;
+    }
+
+    /**
+     * Copies the quads in this buffer into a new array of exactly the right size.
+     * @return copy of the quads in this buffer
+     */
+    public float[] toArray() {
+        return Arrays.copyOf(data, quads * FLOATS_PER_QUAD);
+    }
+
+    /**
+     * Grows the backing array if necessary.
+     * @param quadCapacity      number of quads that must fit
+     */
+    private void ensureCapacity(int quadCapacity) {
+        int requiredLength = quadCapacity * FLOATS_PER_QUAD;
+        if (requiredLength > data.length) {
+            data = Arrays.copyOf(data, Math.max(requiredLength, data.length * 2));
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.AnalyzedMetadata;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.InvalidMetadataException;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataAnalyzer;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataView;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Analyzer that records every texture it analyzes in a {@link GuiTextureReport}, including how
+ * long the analysis took and whether it failed. Failures are still thrown to the caller. A lazily
+ * analyzed texture is fully analyzed as it is recorded so that the report lists its scaling.
+ * @author soir20
+ */
+public final class ReportingMetadataAnalyzer implements MetadataAnalyzer {
+    private final MetadataAnalyzer DELEGATE;
+    private final GuiTextureReport REPORT;
+
+    /**
+     * Creates a new reporting analyzer.
+     * @param delegate      analyzer that performs the analysis
+     * @param report        report to record each texture in
+     */
+    public ReportingMetadataAnalyzer(MetadataAnalyzer delegate, GuiTextureReport report) {
+        DELEGATE = requireNonNull(delegate, "Delegate cannot be null");
+        REPORT = requireNonNull(report, "Report cannot be null");
+    }
+
+    @Override
+    public AnalyzedMetadata analyze(MetadataView metadata, int imageWidth, int imageHeight) throws InvalidMetadataException {
+        long start = System.nanoTime();
+        try {
+            AnalyzedMetadata result = DELEGATE.analyze(metadata, imageWidth, imageHeight);
+
+            // Read the scaling inside the timed region so that lazy analysis is counted
+            result.guiScaling();
+
+            REPORT.record(GuiTextureReport.Entry.analyzed(result, imageWidth, imageHeight, System.nanoTime() - start));
+            return result;
+        } catch (InvalidMetadataException err) {
+            String problem = err.getMessage() == null ? "Invalid metadata" : err.getMessage();
+            REPORT.record(GuiTextureReport.Entry.failed(problem, imageWidth, imageHeight, System.nanoTime() - start));
+            throw err;
+        }
+    }
+
+}
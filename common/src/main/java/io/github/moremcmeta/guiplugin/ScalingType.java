@@ -0,0 +1,73 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import java.util.Set;
+
+/**
+ * A value of the {@code type} field in the scaling section. Each type declares which fields it needs,
+ * so the analyzer never reads or validates fields that the type ignores.
+ * @author soir20
+ */
+public interface ScalingType {
+
+    /**
+     * Gets the fields that this type reads from the scaling section.
+     * @return fields this type needs
+     */
+    Set<Field> fields();
+
+    /**
+     * Creates analyzed metadata from the parsed fields. Fields that were not declared by
+     * {@link #fields()} are zero.
+     * @param interner      interner that provides shared results for identical configurations
+     * @param frameWidth    positive width of a frame, if declared
+     * @param frameHeight   positive height of a frame, if declared
+     * @param left          non-negative size of the left border, if declared
+     * @param right         non-negative size of the right border, if declared
+     * @param top           non-negative size of the top border, if declared
+     * @param bottom        non-negative size of the bottom border, if declared
+     * @return analyzed metadata for this type
+     */
+    GuiMetadata create(GuiMetadataInterner interner, int frameWidth, int frameHeight,
+                       int left, int right, int top, int bottom);
+
+    /**
+     * A group of fields that a scaling type can read.
+     * @author soir20
+     */
+    enum Field {
+
+        /**
+         * The {@code width} and {@code height} of a frame.
+         */
+        FRAME_SIZE,
+
+        /**
+         * The {@code left} and {@code right} sides of the {@code border}.
+         */
+        HORIZONTAL_BORDER,
+
+        /**
+         * The {@code top} and {@code bottom} sides of the {@code border}.
+         */
+        VERTICAL_BORDER
+
+    }
+
+}
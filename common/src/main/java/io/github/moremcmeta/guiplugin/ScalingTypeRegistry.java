@@ -0,0 +1,146 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Maps the names used in the {@code type} field of the scaling section to {@link ScalingType}s.
+ * Lookup is a single hash table access, so adding types does not slow down analysis of the others.
+ * @author soir20
+ */
+public final class ScalingTypeRegistry {
+    public static final String STRETCH = "stretch";
+    public static final String TILE = "tile";
+    public static final String NINE_SLICE = "nine_slice";
+
+    private static final ScalingType STRETCH_TYPE = new BuiltInType(EnumSet.noneOf(ScalingType.Field.class)) {
+        @Override
+        public GuiMetadata create(GuiMetadataInterner interner, int frameWidth, int frameHeight,
+                                  int left, int right, int top, int bottom) {
+            return interner.stretch();
+        }
+    };
+    private static final ScalingType TILE_TYPE = new BuiltInType(EnumSet.of(ScalingType.Field.FRAME_SIZE)) {
+        @Override
+        public GuiMetadata create(GuiMetadataInterner interner, int frameWidth, int frameHeight,
+                                  int left, int right, int top, int bottom) {
+            return interner.tile(frameWidth, frameHeight);
+        }
+    };
+    private static final ScalingType NINE_SLICE_TYPE = new BuiltInType(EnumSet.allOf(ScalingType.Field.class)) {
+        @Override
+        public GuiMetadata create(GuiMetadataInterner interner, int frameWidth, int frameHeight,
+                                  int left, int right, int top, int bottom) {
+            return interner.nineSlice(frameWidth, frameHeight, left, right, top, bottom);
+        }
+    };
+
+    private final ConcurrentMap<String, ScalingType> TYPES;
+
+    /**
+     * Creates a new registry with no types.
+     */
+    public ScalingTypeRegistry() {
+        TYPES = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates a new registry containing the {@link #STRETCH}, {@link #TILE}, and {@link #NINE_SLICE} types.
+     * @return registry with the built-in types
+     */
+    public static ScalingTypeRegistry withBuiltInTypes() {
+        ScalingTypeRegistry registry = new ScalingTypeRegistry();
+        registry.register(STRETCH, STRETCH_TYPE);
+        registry.register(TILE, TILE_TYPE);
+        registry.register(NINE_SLICE, NINE_SLICE_TYPE);
+        return registry;
+    }
+
+    /**
+     * Adds a type to the registry.
+     * @param name      value of the {@code type} field that selects this type
+     * @param type      the type to add
+     * @throws IllegalArgumentException if a type is already registered with the same name
+     */
+    public void register(String name, ScalingType type) {
+        requireNonNull(name, "Name cannot be null");
+        requireNonNull(type, "Type cannot be null");
+        requireNonNull(type.fields(), "Type fields cannot be null");
+
+        if (TYPES.putIfAbsent(name, type) != null) {
+            throw new IllegalArgumentException("Scaling type already registered: " + name);
+        }
+    }
+
+    /**
+     * Gets the type registered with a name.
+     * @param name      name of the type
+     * @return the type or empty if none is registered with the name
+     */
+    public Optional<ScalingType> type(String name) {
+        requireNonNull(name, "Name cannot be null");
+        return Optional.ofNullable(TYPES.get(name));
+    }
+
+    /**
+     * Gets the names of all registered types.
+     * @return names of all registered types
+     */
+    public Set<String> names() {
+        return Collections.unmodifiableSet(TYPES.keySet());
+    }
+
+    /**
+     * Gets the type registered with a name without wrapping it in an {@link Optional}.
+     * @param name      name of the type
+     * @return the type or null if none is registered with the name
+     */
+    ScalingType find(String name) {
+        return TYPES.get(name);
+    }
+
+    /**
+     * A type that ships with the plugin.
+     * @author soir20
+     */
+    private abstract static class BuiltInType implements ScalingType {
+        private final Set<Field> FIELDS;
+
+        /**
+         * Creates a new built-in type.
+         * @param fields    fields the type reads
+         */
+        public BuiltInType(Set<Field> fields) {
+            FIELDS = Collections.unmodifiableSet(fields);
+        }
+
+        @Override
+        public Set<Field> fields() {
+            return FIELDS;
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Records when each phase of the plugin's startup runs, relative to when the timeline was created,
+ * and how long timed phases take. Marks from the loader's entrypoints and reload listeners place
+ * the plugin's own work among the game's load stages.
+ * @author soir20
+ */
+public final class StartupTimeline {
+    private final long START_NANOS;
+    private final List<Event> EVENTS;
+
+    /**
+     * Creates a new timeline that starts now.
+     */
+    public StartupTimeline() {
+        START_NANOS = System.nanoTime();
+        EVENTS = new ArrayList<>();
+    }
+
+    /**
+     * Records that a phase has been reached.
+     * @param phase     name of the phase
+     */
+    public void mark(String phase) {
+        requireNonNull(phase, "Phase cannot be null");
+        record(phase, System.nanoTime(), 0);
+    }
+
+    /**
+     * Runs a phase and records how long it took. The phase is recorded even if it throws.
+     * @param phase     name of the phase
+     * @param action    work done in the phase
+     * @return result of the work
+     * @param <T> type of the result
+     */
+    public <T> T time(String phase, Supplier<T> action) {
+        requireNonNull(phase, "Phase cannot be null");
+        requireNonNull(action, "Action cannot be null");
+
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(phase, start, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Gets all recorded events in the order they finished.
+     * @return recorded events
+     */
+    public synchronized List<Event> events() {
+        return List.copyOf(EVENTS);
+    }
+
+    /**
+     * Gets the total time spent in timed phases.
+     * @return total duration of all events in nanoseconds
+     */
+    public synchronized long totalNanos() {
+        long total = 0;
+        for (Event event : EVENTS) {
+            total += event.durationNanos();
+        }
+
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("Startup timeline (")
+                .append(String.format(Locale.ROOT, "%.3f ms", totalNanos() / 1e6))
+                .append(" in timed phases)");
+
+        for (Event event : events()) {
+            builder.append(System.lineSeparator()).append("  ").append(event);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Adds an event to the timeline.
+     * @param phase             name of the phase
+     * @param startNanos        absolute time when the phase started
+     * @param durationNanos     how long the phase took
+     */
+    private synchronized void record(String phase, long startNanos, long durationNanos) {
+        EVENTS.add(new Event(phase, Thread.currentThread().getName(), startNanos - START_NANOS, durationNanos));
+    }
+
+    /**
+     * A phase recorded in the timeline.
+     * @author soir20
+     */
+    public static final class Event {
+        private final String PHASE;
+        private final String THREAD;
+        private final long OFFSET_NANOS;
+        private final long DURATION_NANOS;
+
+        /**
+         * Creates a new event.
+         * @param phase             name of the phase
+         * @param thread            name of the thread the phase ran on
+         * @param offsetNanos       time from the start of the timeline to the start of the phase
+         * @param durationNanos     how long the phase took, or zero if it was only marked
+         */
+        public Event(String phase, String thread, long offsetNanos, long durationNanos) {
+            PHASE = requireNonNull(phase, "Phase cannot be null");
+            THREAD = requireNonNull(thread, "Thread cannot be null");
+            OFFSET_NANOS = offsetNanos;
+            DURATION_NANOS = durationNanos;
+        }
+
+        /**
+         * Gets the name of the phase.
+         * @return name of the phase
+         */
+        public String phase() {
+            return PHASE;
+        }
+
+        /**
+         * Gets the name of the thread the phase ran on.
+         * @return name of the thread
+         */
+        public String thread() {
+            return THREAD;
+        }
+
+        /**
+         * Gets the time from the start of the timeline to the start of the phase.
+         * @return offset of the phase in nanoseconds
+         */
+        public long offsetNanos() {
+            return OFFSET_NANOS;
+        }
+
+        /**
+         * Gets how long the phase took.
+         * @return duration in nanoseconds, or zero if the phase was only marked
+         */
+        public long durationNanos() {
+            return DURATION_NANOS;
+        }
+
+        @Override
+        public String toString() {
+            String event = String.format(Locale.ROOT, "+%.1f ms [%s] %s", OFFSET_NANOS / 1e6, THREAD, PHASE);
+            return DURATION_NANOS == 0
+                    ? event
+                    : event + String.format(Locale.ROOT, " (%.3f ms)", DURATION_NANOS / 1e6);
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Lays out the quads needed to fill a rectangle with a repeating texture. When the frame is the
+ * whole texture, the texture sampler can repeat it, so a single quad with texture coordinates past
+ * 1 covers the whole target. Otherwise, repeating would sample neighboring frames, so one quad is
+ * added per tile and the tiles on the right and bottom edges are clipped. Positions are relative
+ * to the top-left corner of the target rectangle, and texture coordinates are normalized to the frame.
+ * @author soir20
+ */
+public final class TileGeometry {
+
+    /**
+     * Adds the quads for one tiled draw to a buffer.
+     * @param frameWidth        width of a frame in texture pixels
+     * @param frameHeight       height of a frame in texture pixels
+     * @param frameIsTexture    whether the frame is the whole texture, so that the texture can be
+     *                          repeated by the sampler
+     * @param width             width of the target rectangle in GUI units
+     * @param height            height of the target rectangle in GUI units
+     * @param out               buffer to add the quads to
+     * @return number of quads added
+     */
+    public static int layout(int frameWidth, int frameHeight, boolean frameIsTexture,
+                             int width, int height, QuadBuffer out) {
+        requireNonNull(out, "Buffer cannot be null");
+
+        if (frameWidth <= 0 || frameHeight <= 0) {
+            throw new IllegalArgumentException("Frame size must be positive");
+        }
+
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException("Target size cannot be negative");
+        }
+
+        if (width == 0 || height == 0) {
+            return 0;
+        }
+
+        if (frameIsTexture) {
+            out.add(0, 0, width, height, 0, 0, width / (float) frameWidth, height / (float) frameHeight);
+            return 1;
+        }
+
+        int added = 0;
+        for (int y = 0; y < height; y += frameHeight) {
+            int tileHeight = Math.min(frameHeight, height - y);
+            float v1 = tileHeight / (float) frameHeight;
+
+            for (int x = 0; x < width; x += frameWidth) {
+                int tileWidth = Math.min(frameWidth, width - x);
+                out.add(x, y, x + tileWidth, y + tileHeight, 0, 0, tileWidth / (float) frameWidth, v1);
+                added++;
+            }
+        }
+
+        return added;
+    }
+
+    /**
+     * Prevents this class from being constructed.
+     */
+    private TileGeometry() {}
+
+}
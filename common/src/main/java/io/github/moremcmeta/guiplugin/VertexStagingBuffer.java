@@ -0,0 +1,225 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.github.moremcmeta.guiplugin;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reusable off-heap storage for the vertices of generated GUI geometry, ready to be uploaded
+ * without copying. Each quad is written as {@link #VERTICES_PER_QUAD} vertices in the order
+ * top-left, bottom-left, bottom-right, top-right, and each vertex is packed as the floats
+ * x, y, u, v in native byte order. The backing direct buffer only changes when it has to grow,
+ * so writing the same screen every frame does not allocate.
+ * @author soir20
+ */
+public final class VertexStagingBuffer {
+    public static final int FLOATS_PER_VERTEX = 4;
+    public static final int VERTICES_PER_QUAD = 4;
+    public static final int BYTES_PER_VERTEX = FLOATS_PER_VERTEX * Float.BYTES;
+    public static final int BYTES_PER_QUAD = VERTICES_PER_QUAD * BYTES_PER_VERTEX;
+    private static final int FLOATS_PER_QUAD = VERTICES_PER_QUAD * FLOATS_PER_VERTEX;
+    private static final int DEFAULT_QUAD_CAPACITY = 256;
+
+    private ByteBuffer bytes;
+    private FloatBuffer floats;
+    private int quads;
+
+    /**
+     * Creates a new staging buffer with room for a typical screen.
+     */
+    public VertexStagingBuffer() {
+        this(DEFAULT_QUAD_CAPACITY);
+    }
+
+    /**
+     * Creates a new staging buffer.
+     * @param initialQuadCapacity       number of quads to make room for initially
+     */
+    public VertexStagingBuffer(int initialQuadCapacity) {
+        if (initialQuadCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative");
+        }
+
+        allocate(initialQuadCapacity);
+    }
+
+    /**
+     * Writes a range of quads to the end of the buffer, moving them to a position on the screen.
+     * @param quadData      quads in the format described by {@link QuadBuffer}
+     * @param firstQuad     index of the first quad to write
+     * @param quadCount     number of quads to write
+     * @param x             horizontal offset to add to each quad
+     * @param y             vertical offset to add to each quad
+     */
+    public void put(float[] quadData, int firstQuad, int quadCount, float x, float y) {
+        requireNonNull(quadData, "Quads cannot be null");
+
+        if (firstQuad < 0 || quadCount < 0
+                || ((long) firstQuad + quadCount) * QuadBuffer.FLOATS_PER_QUAD > quadData.length) {
+            throw new IndexOutOfBoundsException("Quad range out of bounds: " + firstQuad + " to "
+                    + (firstQuad + quadCount));
+        }
+
+        ensureCapacity(quads + quadCount);
+
+        FloatBuffer out = floats;
+        int index = quads * FLOATS_PER_QUAD;
+        int start = firstQuad * QuadBuffer.FLOATS_PER_QUAD;
+        int end = start + quadCount * QuadBuffer.FLOATS_PER_QUAD;
+        for (int offset = start; offset < end; offset += QuadBuffer.FLOATS_PER_QUAD) {
+            float x0 = quadData[offset] + x;
+            float y0 = quadData[offset + 1] + y;
+            float x1 = quadData[offset + 2] + x;
+            float y1 = quadData[offset + 3] + y;
+            float u0 = quadData[offset + 4];
+            float v0 = quadData[offset + 5];
+            float u1 = quadData[offset + 6];
+            float v1 = quadData[offset + 7];
+
+            index = putVertex(out, index, x0, y0, u0, v0);
+            index = putVertex(out, index, x0, y1, u0, v1);
+            index = putVertex(out, index, x1, y1, u1, v1);
+            index = putVertex(out, index, x1, y0, u1, v0);
+        }
+
+        quads += quadCount;
+    }
+
+    /**
+     * Writes every quad in a buffer to the end of this buffer, moving them to a position on the screen.
+     * @param quadData      quads to write
+     * @param x             horizontal offset to add to each quad
+     * @param y             vertical offset to add to each quad
+     */
+    public void put(QuadBuffer quadData, float x, float y) {
+        requireNonNull(quadData, "Quads cannot be null");
+        put(quadData.array(), 0, quadData.quadCount(), x, y);
+    }
+
+    /**
+     * Removes all vertices while keeping the buffer's capacity.
+     */
+    public void clear() {
+        quads = 0;
+    }
+
+    /**
+     * Gets the number of quads in the buffer.
+     * @return number of quads
+     */
+    public int quadCount() {
+        return quads;
+    }
+
+    /**
+     * Gets the number of vertices in the buffer.
+     * @return number of vertices
+     */
+    public int vertexCount() {
+        return quads * VERTICES_PER_QUAD;
+    }
+
+    /**
+     * Gets the number of quads the buffer can hold before it has to grow.
+     * @return capacity in quads
+     */
+    public int quadCapacity() {
+        return bytes.capacity() / BYTES_PER_QUAD;
+    }
+
+    /**
+     * Gets one value of a vertex.
+     * @param vertex        index of the vertex
+     * @param component     index of the value within the vertex, from 0 (x) to 3 (v)
+     * @return the value
+     */
+    public float get(int vertex, int component) {
+        if (vertex < 0 || vertex >= vertexCount()) {
+            throw new IndexOutOfBoundsException("Vertex index out of bounds: " + vertex);
+        }
+
+        if (component < 0 || component >= FLOATS_PER_VERTEX) {
+            throw new IndexOutOfBoundsException("Component index out of bounds: " + component);
+        }
+
+        return floats.get(vertex * FLOATS_PER_VERTEX + component);
+    }
+
+    /**
+     * Gets the backing direct buffer, positioned at the first vertex and limited to the last
+     * vertex written, without copying it. The buffer is replaced when this staging buffer grows,
+     * so it should be retrieved again after writing.
+     * @return the backing buffer
+     */
+    public ByteBuffer buffer() {
+        bytes.limit(quads * BYTES_PER_QUAD);
+        bytes.position(0);
+        return bytes;
+    }
+
+    /**
+     * Writes a single vertex.
+     * @param out       buffer to write to
+     * @param index     index of the vertex's first float
+     * @param x         x-coordinate of the vertex
+     * @param y         y-coordinate of the vertex
+     * @param u         horizontal texture coordinate of the vertex
+     * @param v         vertical texture coordinate of the vertex
+     * @return index of the next vertex's first float
+     */
+    private static int putVertex(FloatBuffer out, int index, float x, float y, float u, float v) {
+        out.put(index, x);
+        out.put(index + 1, y);
+        out.put(index + 2, u);
+        out.put(index + 3, v);
+        return index + FLOATS_PER_VERTEX;
+    }
+
+    /**
+     * Grows the backing buffer if necessary, keeping the vertices already written.
+     * @param quadCapacity      number of quads that must fit
+     */
+    private void ensureCapacity(int quadCapacity) {
+        int currentCapacity = quadCapacity();
+        if (quadCapacity <= currentCapacity) {
+            return;
+        }
+
+        if ((long) quadCapacity * BYTES_PER_QUAD > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many quads to stage: " + quadCapacity);
+        }
+
+        ByteBuffer oldBytes = buffer();
+        int maxQuads = Integer.MAX_VALUE / BYTES_PER_QUAD;
+        allocate((int) Math.min(Math.max(quadCapacity, currentCapacity * 2L), maxQuads));
+        bytes.put(oldBytes);
+    }
+
+    /**
+     * Replaces the backing buffer with an empty one.
+     * @param quadCapacity      number of quads the new buffer can hold
+     */
+    private void allocate(int quadCapacity) {
+        bytes = ByteBuffer.allocateDirect(quadCapacity * BYTES_PER_QUAD).order(ByteOrder.nativeOrder());
+        floats = bytes.asFloatBuffer();
+    }
+
+}
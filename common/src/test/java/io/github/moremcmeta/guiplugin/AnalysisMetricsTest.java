@@ -0,0 +1,219 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link AnalysisMetrics}.
+ * @author soir20
+ */
+public final class AnalysisMetricsTest {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void recordAnalysis_NullType_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new AnalysisMetrics().recordAnalysis(null);
+    }
+
+    @Test
+    public void recordFailure_NullKind_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new AnalysisMetrics().recordFailure(null);
+    }
+
+    @Test
+    public void snapshot_NothingRecorded_AllZero() {
+        AnalysisMetrics.Snapshot snapshot = new AnalysisMetrics().snapshot();
+
+        assertEquals(0, snapshot.totalAnalyses());
+        assertEquals(0, snapshot.totalFailures());
+        assertEquals(0, snapshot.totalNanos());
+        assertEquals(0, snapshot.percentileNanos(99));
+    }
+
+    @Test
+    public void snapshot_AnalysesRecorded_CountedPerType() {
+        AnalysisMetrics metrics = new AnalysisMetrics();
+        metrics.recordAnalysis(GuiMetadata.Type.STRETCH);
+        metrics.recordAnalysis(GuiMetadata.Type.NINE_SLICE);
+        metrics.recordAnalysis(GuiMetadata.Type.NINE_SLICE);
+
+        AnalysisMetrics.Snapshot snapshot = metrics.snapshot();
+
+        assertEquals(1, snapshot.analyses(GuiMetadata.Type.STRETCH));
+        assertEquals(0, snapshot.analyses(GuiMetadata.Type.TILE));
+        assertEquals(2, snapshot.analyses(GuiMetadata.Type.NINE_SLICE));
+        assertEquals(3, snapshot.totalAnalyses());
+    }
+
+    @Test
+    public void snapshot_FailuresRecorded_CountedPerKind() {
+        AnalysisMetrics metrics = new AnalysisMetrics();
+        metrics.recordFailure(GuiMetadataProblem.Kind.MISSING_FIELD);
+        metrics.recordFailure(GuiMetadataProblem.Kind.MISSING_FIELD);
+        metrics.recordFailure(GuiMetadataProblem.Kind.UNKNOWN_TYPE);
+
+        AnalysisMetrics.Snapshot snapshot = metrics.snapshot();
+
+        assertEquals(2, snapshot.failures(GuiMetadataProblem.Kind.MISSING_FIELD));
+        assertEquals(1, snapshot.failures(GuiMetadataProblem.Kind.UNKNOWN_TYPE));
+        assertEquals(0, snapshot.failures(GuiMetadataProblem.Kind.NEGATIVE));
+        assertEquals(3, snapshot.totalFailures());
+    }
+
+    @Test
+    public void snapshot_LaterRecording_SnapshotUnchanged() {
+        AnalysisMetrics metrics = new AnalysisMetrics();
+        metrics.recordAnalysis(GuiMetadata.Type.TILE);
+        AnalysisMetrics.Snapshot snapshot = metrics.snapshot();
+
+        metrics.recordAnalysis(GuiMetadata.Type.TILE);
+
+        assertEquals(1, snapshot.analyses(GuiMetadata.Type.TILE));
+    }
+
+    @Test
+    public void latencyBucket_Boundaries_PowerOfTwoBuckets() {
+        assertEquals(0, AnalysisMetrics.latencyBucket(-5));
+        assertEquals(0, AnalysisMetrics.latencyBucket(0));
+        assertEquals(0, AnalysisMetrics.latencyBucket(1));
+        assertEquals(1, AnalysisMetrics.latencyBucket(2));
+        assertEquals(2, AnalysisMetrics.latencyBucket(3));
+        assertEquals(2, AnalysisMetrics.latencyBucket(4));
+        assertEquals(3, AnalysisMetrics.latencyBucket(5));
+        assertEquals(10, AnalysisMetrics.latencyBucket(1024));
+        assertEquals(11, AnalysisMetrics.latencyBucket(1025));
+        assertEquals(AnalysisMetrics.LATENCY_BUCKETS - 1, AnalysisMetrics.latencyBucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void latencyBucketUpperBound_EveryBucket_ContainsItsUpperBound() {
+        for (int bucket = 0; bucket < AnalysisMetrics.LATENCY_BUCKETS - 1; bucket++) {
+            assertEquals(bucket, AnalysisMetrics.latencyBucket(AnalysisMetrics.latencyBucketUpperBound(bucket)));
+        }
+
+        assertEquals(Long.MAX_VALUE, AnalysisMetrics.latencyBucketUpperBound(AnalysisMetrics.LATENCY_BUCKETS - 1));
+    }
+
+    @Test
+    public void latencyBucketUpperBound_OutOfBounds_IndexOutOfBoundsException() {
+        expectedException.expect(IndexOutOfBoundsException.class);
+        AnalysisMetrics.latencyBucketUpperBound(AnalysisMetrics.LATENCY_BUCKETS);
+    }
+
+    @Test
+    public void percentileNanos_RecordedLatencies_UpperBoundOfBucket() {
+        AnalysisMetrics metrics = new AnalysisMetrics();
+        for (int count = 0; count < 98; count++) {
+            metrics.recordLatency(100);
+        }
+        metrics.recordLatency(5000);
+        metrics.recordLatency(5000);
+
+        AnalysisMetrics.Snapshot snapshot = metrics.snapshot();
+
+        assertEquals(128, snapshot.percentileNanos(50));
+        assertEquals(128, snapshot.percentileNanos(98));
+        assertEquals(8192, snapshot.percentileNanos(99));
+        assertEquals(8192, snapshot.percentileNanos(100));
+        assertEquals(98 * 100 + 2 * 5000, snapshot.totalNanos());
+    }
+
+    @Test
+    public void percentileNanos_OutOfRange_IllegalArgException() {
+        expectedException.expect(IllegalArgumentException.class);
+        new AnalysisMetrics().snapshot().percentileNanos(101);
+    }
+
+    @Test
+    public void since_EarlierSnapshot_Difference() {
+        AnalysisMetrics metrics = new AnalysisMetrics();
+        metrics.recordAnalysis(GuiMetadata.Type.STRETCH);
+        metrics.recordFailure(GuiMetadataProblem.Kind.NEGATIVE);
+        metrics.recordLatency(10);
+        AnalysisMetrics.Snapshot earlier = metrics.snapshot();
+
+        metrics.recordAnalysis(GuiMetadata.Type.STRETCH);
+        metrics.recordAnalysis(GuiMetadata.Type.TILE);
+        metrics.recordLatency(20);
+
+        AnalysisMetrics.Snapshot difference = metrics.snapshot().since(earlier);
+
+        assertEquals(1, difference.analyses(GuiMetadata.Type.STRETCH));
+        assertEquals(1, difference.analyses(GuiMetadata.Type.TILE));
+        assertEquals(0, difference.totalFailures());
+        assertEquals(20, difference.totalNanos());
+        assertEquals(1, difference.latencyCount(AnalysisMetrics.latencyBucket(20)));
+        assertEquals(0, difference.latencyCount(AnalysisMetrics.latencyBucket(10)));
+    }
+
+    @Test
+    public void toString_Recorded_SummaryHasCounts() {
+        AnalysisMetrics metrics = new AnalysisMetrics();
+        metrics.recordAnalysis(GuiMetadata.Type.NINE_SLICE);
+        metrics.recordFailure(GuiMetadataProblem.Kind.UNKNOWN_TYPE);
+        metrics.recordLatency(1500);
+
+        String summary = metrics.snapshot().toString();
+
+        assertTrue(summary, summary.contains("Analyzed 1 "));
+        assertTrue(summary, summary.contains("nine_slice 1"));
+        assertTrue(summary, summary.contains("rejected 1 "));
+        assertTrue(summary, summary.contains("unknown_type 1"));
+        assertTrue(summary, summary.contains("p99 <= 2048 ns"));
+    }
+
+    @Test
+    public void recordAnalysis_ManyThreads_NoLostUpdates() throws InterruptedException {
+        AnalysisMetrics metrics = new AnalysisMetrics();
+        List<Thread> threads = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            threads.add(new Thread(() -> {
+                for (int count = 0; count < 10000; count++) {
+                    metrics.recordAnalysis(GuiMetadata.Type.TILE);
+                    metrics.recordLatency(count);
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        AnalysisMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(80000, snapshot.analyses(GuiMetadata.Type.TILE));
+        long latencyCount = 0;
+        for (int bucket = 0; bucket < AnalysisMetrics.LATENCY_BUCKETS; bucket++) {
+            latencyCount += snapshot.latencyCount(bucket);
+        }
+        assertEquals(80000, latencyCount);
+    }
+
+}
@@ -0,0 +1,228 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataView;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.NegativeKeyIndexException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link ArrayMetadataView}.
+ * @author soir20
+ */
+public final class ArrayMetadataViewTest {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void put_NullKey_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        ArrayMetadataView.builder().put(null, 1);
+    }
+
+    @Test
+    public void put_NullValue_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        ArrayMetadataView.builder().put("key", null);
+    }
+
+    @Test
+    public void put_UnsupportedType_IllegalArgException() {
+        expectedException.expect(IllegalArgumentException.class);
+        ArrayMetadataView.builder().put("key", new Object());
+    }
+
+    @Test
+    public void put_DuplicateKey_IllegalArgException() {
+        ArrayMetadataView.Builder builder = ArrayMetadataView.builder().put("key", 1);
+
+        expectedException.expect(IllegalArgumentException.class);
+        builder.put("key", 2);
+    }
+
+    @Test
+    public void copyOf_NullMap_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        ArrayMetadataView.copyOf(null);
+    }
+
+    @Test
+    public void copyOf_Map_SameKeysInIterationOrder() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("c", 1);
+        map.put("a", "two");
+        map.put("b", true);
+
+        ArrayMetadataView view = ArrayMetadataView.copyOf(map);
+
+        assertEquals(3, view.size());
+        assertEquals(List.of("c", "a", "b"), toList(view.keys()));
+        assertEquals(1, (int) view.integerValue(0).orElseThrow());
+        assertEquals("two", view.stringValue(1).orElseThrow());
+        assertTrue(view.booleanValue(2).orElseThrow());
+    }
+
+    @Test
+    public void copyOf_MapChangedLater_ViewUnchanged() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("a", 1);
+        ArrayMetadataView view = ArrayMetadataView.copyOf(map);
+
+        map.put("b", 2);
+
+        assertEquals(1, view.size());
+        assertFalse(view.hasKey("b"));
+    }
+
+    @Test
+    public void build_BuilderUsedAfterBuild_ViewUnchanged() {
+        ArrayMetadataView.Builder builder = ArrayMetadataView.builder().put("a", 1);
+        ArrayMetadataView view = builder.build();
+
+        builder.put("b", 2);
+
+        assertEquals(1, view.size());
+        assertEquals(2, builder.build().size());
+    }
+
+    @Test
+    public void keys_Modified_UnsupportedOperationException() {
+        ArrayMetadataView view = ArrayMetadataView.builder().put("a", 1).build();
+
+        expectedException.expect(UnsupportedOperationException.class);
+        ((List<String>) view.keys()).add("b");
+    }
+
+    @Test
+    public void hasKey_PresentAndMissing_CorrectResult() {
+        ArrayMetadataView view = ArrayMetadataView.builder().put("a", 1).put("b", 2).build();
+
+        assertTrue(view.hasKey("a"));
+        assertFalse(view.hasKey("c"));
+        assertTrue(view.hasKey(1));
+        assertFalse(view.hasKey(2));
+    }
+
+    @Test
+    public void hasKey_NegativeIndex_NegativeKeyIndexException() {
+        expectedException.expect(NegativeKeyIndexException.class);
+        ArrayMetadataView.builder().build().hasKey(-1);
+    }
+
+    @Test
+    public void integerValue_NegativeIndex_NegativeKeyIndexException() {
+        expectedException.expect(NegativeKeyIndexException.class);
+        ArrayMetadataView.builder().put("a", 1).build().integerValue(-1);
+    }
+
+    @Test
+    public void values_EachType_OnlyMatchingGetterReturnsValue() {
+        MetadataView subView = ArrayMetadataView.builder().put("inner", 1).build();
+        ArrayMetadataView view = ArrayMetadataView.builder()
+                .put("string", "value")
+                .put("integer", 1)
+                .put("long", 2L)
+                .put("float", 3f)
+                .put("double", 4d)
+                .put("boolean", true)
+                .put("view", subView)
+                .build();
+
+        assertEquals("value", view.stringValue("string").orElseThrow());
+        assertEquals(1, (int) view.integerValue("integer").orElseThrow());
+        assertEquals(2L, (long) view.longValue("long").orElseThrow());
+        assertEquals(3f, view.floatValue("float").orElseThrow(), 0);
+        assertEquals(4d, view.doubleValue("double").orElseThrow(), 0);
+        assertTrue(view.booleanValue("boolean").orElseThrow());
+        assertSame(subView, view.subView("view").orElseThrow());
+
+        assertFalse(view.longValue("integer").isPresent());
+        assertFalse(view.integerValue("string").isPresent());
+        assertFalse(view.stringValue("view").isPresent());
+        assertFalse(view.subView("boolean").isPresent());
+        assertFalse(view.doubleValue("float").isPresent());
+    }
+
+    @Test
+    public void values_ByIndex_SameAsByKey() {
+        ArrayMetadataView view = ArrayMetadataView.builder()
+                .put("long", 2L)
+                .put("double", 4d)
+                .put("string", "value")
+                .build();
+
+        assertEquals(view.longValue("long"), view.longValue(0));
+        assertEquals(view.doubleValue("double"), view.doubleValue(1));
+        assertEquals(view.stringValue("string"), view.stringValue(2));
+        assertFalse(view.stringValue(3).isPresent());
+    }
+
+    @Test
+    public void values_MissingKey_Empty() {
+        ArrayMetadataView view = ArrayMetadataView.builder().put("a", 1).build();
+
+        assertFalse(view.integerValue("b").isPresent());
+        assertFalse(view.subView("b").isPresent());
+        assertFalse(view.byteStreamValue("b").isPresent());
+    }
+
+    @Test
+    public void integerValue_ReadTwice_SameOptional() {
+        ArrayMetadataView view = ArrayMetadataView.builder().put("a", 1000).build();
+
+        assertSame(view.integerValue("a"), view.integerValue("a"));
+        assertSame(view.integerValue("a"), view.integerValue(0));
+    }
+
+    @Test
+    public void byteStreamValue_ReadTwice_NewStreamEachTime() throws IOException {
+        byte[] bytes = {1, 2, 3};
+        ArrayMetadataView view = ArrayMetadataView.builder().put("bytes", bytes).build();
+        bytes[0] = 9;
+
+        try (InputStream first = view.byteStreamValue("bytes").orElseThrow();
+             InputStream second = view.byteStreamValue(0).orElseThrow()) {
+            assertArrayEquals(new byte[] {1, 2, 3}, first.readAllBytes());
+            assertArrayEquals(new byte[] {1, 2, 3}, second.readAllBytes());
+        }
+    }
+
+    /**
+     * Copies keys into a list.
+     * @param keys      keys to copy
+     * @return list of keys in iteration order
+     */
+    private static List<String> toList(Iterable<String> keys) {
+        List<String> list = new ArrayList<>();
+        keys.forEach(list::add);
+        return list;
+    }
+
+}
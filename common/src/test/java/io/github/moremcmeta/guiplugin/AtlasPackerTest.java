@@ -0,0 +1,251 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.AnalyzedMetadata;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link AtlasPacker}.
+ * @author soir20
+ */
+public final class AtlasPackerTest {
+    private static final GuiMetadata STRETCH = new GuiMetadata(GuiMetadata.Type.STRETCH, 0, 0, 0, 0, 0, 0);
+    private static final GuiMetadata TILE = new GuiMetadata(GuiMetadata.Type.TILE, 16, 16, 0, 0, 0, 0);
+    private static final GuiMetadata NINE_SLICE = new GuiMetadata(GuiMetadata.Type.NINE_SLICE, 16, 16, 4, 4, 4, 4);
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void construct_ZeroPageWidth_IllegalArgException() {
+        expectedException.expect(IllegalArgumentException.class);
+        new AtlasPacker(0, 256);
+    }
+
+    @Test
+    public void construct_NegativePadding_IllegalArgException() {
+        expectedException.expect(IllegalArgumentException.class);
+        new AtlasPacker(256, 256, -1);
+    }
+
+    @Test
+    public void constructEntry_ZeroWidth_IllegalArgException() {
+        expectedException.expect(IllegalArgumentException.class);
+        new AtlasEntry<>("a", STRETCH, 0, 16);
+    }
+
+    @Test
+    public void pack_NullEntries_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new AtlasPacker(256, 256).pack(null);
+    }
+
+    @Test
+    public void pack_NoEntries_NoPages() {
+        AtlasLayout<String> layout = new AtlasPacker(256, 256).pack(List.of());
+
+        assertEquals(0, layout.pages());
+        assertTrue(layout.placements().isEmpty());
+        assertTrue(layout.excluded().isEmpty());
+    }
+
+    @Test
+    public void pack_DuplicateIds_IllegalArgException() {
+        expectedException.expect(IllegalArgumentException.class);
+        new AtlasPacker(256, 256).pack(List.of(
+                new AtlasEntry<>("a", STRETCH, 16, 16),
+                new AtlasEntry<>("a", STRETCH, 16, 16)
+        ));
+    }
+
+    @Test
+    public void pack_Tile_Excluded() {
+        AtlasLayout<String> layout = new AtlasPacker(256, 256).pack(List.of(
+                new AtlasEntry<>("tile", TILE, 16, 16),
+                new AtlasEntry<>("button", NINE_SLICE, 16, 16)
+        ));
+
+        assertEquals(List.of("tile"), layout.excluded());
+        assertFalse(layout.placement("tile").isPresent());
+        assertTrue(layout.placement("button").isPresent());
+    }
+
+    @Test
+    public void pack_NoScaling_Excluded() {
+        AtlasLayout<String> layout = new AtlasPacker(256, 256).pack(List.of(
+                new AtlasEntry<>("plain", new AnalyzedMetadata() {}, 16, 16)
+        ));
+
+        assertEquals(List.of("plain"), layout.excluded());
+        assertEquals(0, layout.pages());
+    }
+
+    @Test
+    public void pack_LargerThanPage_Excluded() {
+        AtlasLayout<String> layout = new AtlasPacker(64, 64).pack(List.of(
+                new AtlasEntry<>("large", STRETCH, 65, 10),
+                new AtlasEntry<>("exact", STRETCH, 64, 64)
+        ));
+
+        assertEquals(List.of("large"), layout.excluded());
+        assertEquals(0, layout.placement("exact").orElseThrow().x());
+        assertEquals(0, layout.placement("exact").orElseThrow().y());
+    }
+
+    @Test
+    public void pack_SpritesFitOnOnePage_OnePage() {
+        List<AtlasEntry<Integer>> entries = new ArrayList<>();
+        for (int index = 0; index < 16; index++) {
+            entries.add(new AtlasEntry<>(index, NINE_SLICE, 16, 16));
+        }
+
+        AtlasLayout<Integer> layout = new AtlasPacker(64, 64, 0).pack(entries);
+
+        assertEquals(1, layout.pages());
+        assertEquals(16, layout.placements().size());
+        assertNoOverlap(layout, 64, 64, 0);
+    }
+
+    @Test
+    public void pack_SpritesDoNotFitOnOnePage_NewPage() {
+        List<AtlasEntry<Integer>> entries = new ArrayList<>();
+        for (int index = 0; index < 17; index++) {
+            entries.add(new AtlasEntry<>(index, NINE_SLICE, 16, 16));
+        }
+
+        AtlasLayout<Integer> layout = new AtlasPacker(64, 64, 0).pack(entries);
+
+        assertEquals(2, layout.pages());
+        assertNoOverlap(layout, 64, 64, 0);
+    }
+
+    @Test
+    public void pack_Padding_SpritesSeparated() {
+        List<AtlasEntry<Integer>> entries = new ArrayList<>();
+        for (int index = 0; index < 4; index++) {
+            entries.add(new AtlasEntry<>(index, STRETCH, 10, 10));
+        }
+
+        AtlasLayout<Integer> layout = new AtlasPacker(21, 21, 1).pack(entries);
+
+        assertEquals(1, layout.pages());
+        assertNoOverlap(layout, 21, 21, 1);
+    }
+
+    @Test
+    public void pack_RandomSizes_NoOverlapAndInputOrder() {
+        Random random = new Random(1234);
+        List<AtlasEntry<Integer>> entries = new ArrayList<>();
+        for (int index = 0; index < 300; index++) {
+            entries.add(new AtlasEntry<>(index, STRETCH, 1 + random.nextInt(40), 1 + random.nextInt(40)));
+        }
+
+        AtlasLayout<Integer> layout = new AtlasPacker(128, 128, 1).pack(entries);
+
+        assertNoOverlap(layout, 128, 128, 1);
+        assertEquals(300, layout.placements().size());
+        int expected = 0;
+        for (int id : layout.placements().keySet()) {
+            assertEquals(expected++, id);
+        }
+    }
+
+    @Test
+    public void u_Remapped_InPageSpace() {
+        AtlasLayout.Placement placement = new AtlasLayout.Placement(0, 32, 16, 16, 8, 128, 64);
+
+        assertEquals(0.25f, placement.u(0), 0);
+        assertEquals(0.375f, placement.u(1), 0);
+        assertEquals(0.25f, placement.v(0), 0);
+        assertEquals(0.375f, placement.v(1), 0);
+    }
+
+    @Test
+    public void remap_NineSliceLayout_PositionsKeptAndTexCoordsRemapped() {
+        AtlasLayout.Placement placement = new AtlasLayout.Placement(0, 32, 16, 16, 16, 128, 64);
+        float[] quads = {0, 0, 4, 4, 0, 0, 0.25f, 0.25f, 4, 4, 10, 10, 0.25f, 0.25f, 1, 1};
+        QuadBuffer buffer = new QuadBuffer();
+
+        placement.remap(quads, 2, buffer);
+
+        assertEquals(2, buffer.quadCount());
+        assertArrayEquals(new float[] {
+                0, 0, 4, 4, 0.25f, 0.25f, 36 / 128f, 20 / 64f,
+                4, 4, 10, 10, 36 / 128f, 20 / 64f, 48 / 128f, 0.5f
+        }, buffer.toArray(), 0.0001f);
+        assertEquals(0, quads[4], 0);
+    }
+
+    @Test
+    public void remap_TooManyQuads_IllegalArgException() {
+        AtlasLayout.Placement placement = new AtlasLayout.Placement(0, 0, 0, 16, 16, 128, 64);
+
+        expectedException.expect(IllegalArgumentException.class);
+        placement.remap(new float[8], 2, new QuadBuffer());
+    }
+
+    @Test
+    public void remap_QuadCountOverflowsInt_IllegalArgException() {
+        AtlasLayout.Placement placement = new AtlasLayout.Placement(0, 0, 0, 16, 16, 128, 64);
+
+        expectedException.expect(IllegalArgumentException.class);
+        placement.remap(new float[8], 1 << 29, new QuadBuffer());
+    }
+
+    /**
+     * Checks that every placement is within its page and that no two sprites on the
+     * same page overlap or are closer than the padding.
+     * @param layout        layout to check
+     * @param pageWidth     width of each page
+     * @param pageHeight    height of each page
+     * @param padding       minimum space between sprites
+     */
+    private static void assertNoOverlap(AtlasLayout<Integer> layout, int pageWidth, int pageHeight, int padding) {
+        List<AtlasLayout.Placement> placements = new ArrayList<>(layout.placements().values());
+
+        for (AtlasLayout.Placement placement : placements) {
+            assertTrue(placement.page() >= 0 && placement.page() < layout.pages());
+            assertTrue(placement.x() >= 0 && placement.x() + placement.width() <= pageWidth);
+            assertTrue(placement.y() >= 0 && placement.y() + placement.height() <= pageHeight);
+        }
+
+        for (int first = 0; first < placements.size(); first++) {
+            for (int second = first + 1; second < placements.size(); second++) {
+                AtlasLayout.Placement a = placements.get(first);
+                AtlasLayout.Placement b = placements.get(second);
+                if (a.page() != b.page()) {
+                    continue;
+                }
+
+                boolean separate = a.x() + a.width() + padding <= b.x() || b.x() + b.width() + padding <= a.x()
+                        || a.y() + a.height() + padding <= b.y() || b.y() + b.height() + padding <= a.y();
+                assertTrue("Sprites overlap: " + first + " and " + second, separate);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.AnalyzedMetadata;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.InvalidMetadataException;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataView;
+import io.github.moremcmeta.moremcmeta.api.client.texture.FrameGroup;
+import io.github.moremcmeta.moremcmeta.api.client.texture.MutableFrameView;
+import io.github.moremcmeta.moremcmeta.api.client.texture.TextureComponent;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Drives {@link ModConstants#ANALYZER} and {@link ModConstants#COMPONENT_BUILDER} from many threads at
+ * once over a shared corpus, the way parallel reload workers in the core mod may call them. Every
+ * thread count must produce exactly the results of a single-threaded run, so that new shared state
+ * shows up as a failure. Scaling is measured by the reload benchmark in the benchmarks module instead.
+ * The default suite is small enough for every build; set the {@code guiplugin.stressCorpusSize} and
+ * {@code guiplugin.stressMaxThreads} system properties to run a larger one, such as 20000 entries on
+ * up to 32 threads.
+ * @author soir20
+ */
+public final class ConcurrentReloadStressTest {
+    private static final long SEED = 0x57E55L;
+    private static final int CORPUS_SIZE = Integer.getInteger("guiplugin.stressCorpusSize", 2000);
+    private static final int MAX_THREADS = Integer.getInteger("guiplugin.stressMaxThreads", 8);
+    private static final int IMAGE_SIZE = 64;
+
+    private static List<MetadataView> views;
+    private static FrameGroup<MutableFrameView> frames;
+    private static Outcome[] expected;
+
+    @BeforeClass
+    public static void runSingleThreaded() {
+        Random random = new Random(SEED);
+        views = new ArrayList<>(CORPUS_SIZE);
+        for (int index = 0; index < CORPUS_SIZE; index++) {
+            views.add(GuiMetadataAnalyzerCorpusTest.toView(GuiMetadataAnalyzerCorpusTest.randomMetadata(random)));
+        }
+
+        frames = MockFrames.group(MockFrames.numbered(IMAGE_SIZE, IMAGE_SIZE));
+
+        expected = new Outcome[CORPUS_SIZE];
+        for (int index = 0; index < CORPUS_SIZE; index++) {
+            expected[index] = process(index);
+        }
+    }
+
+    @Test
+    public void analyzeAndBuild_OneToMaxThreads_SameAsSingleThreaded() throws Exception {
+        for (int threads = 1; threads <= MAX_THREADS; threads *= 2) {
+            Outcome[] actual = new Outcome[CORPUS_SIZE];
+            runConcurrently(threads, actual);
+
+            for (int index = 0; index < CORPUS_SIZE; index++) {
+                assertEquals("Result differs with " + threads + " threads for " + views.get(index),
+                        expected[index], actual[index]);
+            }
+        }
+    }
+
+    /**
+     * Processes the whole corpus with several threads that take entries from a shared counter.
+     * @param threads       number of threads to use
+     * @param results       array to store the result for each entry in
+     * @throws Exception if a thread fails or the current thread is interrupted
+     */
+    private static void runConcurrently(int threads, Outcome[] results) throws Exception {
+        AtomicInteger nextIndex = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        // Release all workers at once so that they contend from the first entry
+        CyclicBarrier start = new CyclicBarrier(threads);
+
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int thread = 0; thread < threads; thread++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    int index;
+                    while ((index = nextIndex.getAndIncrement()) < CORPUS_SIZE) {
+                        results[index] = process(index);
+                    }
+                } catch (Throwable err) {
+                    failure.compareAndSet(null, err);
+                }
+            }, "reload-worker-" + thread);
+            worker.start();
+            workers.add(worker);
+        }
+
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        if (failure.get() != null) {
+            throw new AssertionError("Worker failed with " + threads + " threads", failure.get());
+        }
+    }
+
+    /**
+     * Analyzes one entry of the corpus and, if it is valid, builds its component and draws it.
+     * @param index     index of the entry
+     * @return everything observable about the result
+     */
+    private static Outcome process(int index) {
+        AnalyzedMetadata metadata;
+        try {
+            metadata = ModConstants.ANALYZER.analyze(views.get(index), IMAGE_SIZE, IMAGE_SIZE);
+        } catch (InvalidMetadataException err) {
+            return new Outcome(err.getMessage(), null, null);
+        }
+
+        TextureComponent<?> component = ModConstants.COMPONENT_BUILDER.build(metadata, frames);
+        assertTrue(component instanceof GuiTextureComponent);
+        GuiTextureComponent<?> guiComponent = (GuiTextureComponent<?>) component;
+
+        GuiScaling scaling = guiComponent.scaling().orElse(null);
+        float[] quads = null;
+        if (scaling instanceof GuiScaling.NineSlice) {
+            quads = guiComponent.nineSliceLayout(200, 20, 2).clone();
+        } else if (scaling instanceof GuiScaling.Tile) {
+            QuadBuffer buffer = new QuadBuffer();
+            guiComponent.tileLayout(200, 20, buffer);
+            quads = buffer.toArray();
+        }
+
+        return new Outcome(null, scaling, quads);
+    }
+
+    /**
+     * Observable result of processing one entry of the corpus.
+     * @author soir20
+     */
+    private static final class Outcome {
+        private final String ERROR;
+        private final GuiScaling SCALING;
+        private final float[] OUTPUT;
+
+        /**
+         * Creates a new outcome.
+         * @param error         message of the analysis error or null if the metadata is valid
+         * @param scaling       scaling of the built component or null if there is none
+         * @param output        quads drawn with the component or null if nothing was drawn
+         */
+        public Outcome(String error, GuiScaling scaling, float[] output) {
+            ERROR = error;
+            SCALING = scaling;
+            OUTPUT = output;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Outcome otherOutcome)) {
+                return false;
+            }
+
+            return Objects.equals(ERROR, otherOutcome.ERROR) && Objects.equals(SCALING, otherOutcome.SCALING)
+                    && Arrays.equals(OUTPUT, otherOutcome.OUTPUT);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Objects.hashCode(ERROR) + Objects.hashCode(SCALING)) + Arrays.hashCode(OUTPUT);
+        }
+
+        @Override
+        public String toString() {
+            return ERROR != null ? "error: " + ERROR : SCALING + " drawn as " + Arrays.toString(OUTPUT);
+        }
+    }
+
+}
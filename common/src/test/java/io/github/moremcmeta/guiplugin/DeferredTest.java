@@ -0,0 +1,169 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link Deferred}.
+ * @author soir20
+ */
+public final class DeferredTest {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void construct_NullName_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new Deferred<>(null, Object::new, new StartupTimeline());
+    }
+
+    @Test
+    public void construct_NullFactory_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new Deferred<>("object", null, new StartupTimeline());
+    }
+
+    @Test
+    public void construct_NullTimeline_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new Deferred<>("object", Object::new, null);
+    }
+
+    @Test
+    public void construct_NotUsed_NotCreated() {
+        AtomicInteger creations = new AtomicInteger();
+        StartupTimeline timeline = new StartupTimeline();
+
+        Deferred<Object> deferred = new Deferred<>("object", () -> {
+            creations.incrementAndGet();
+            return new Object();
+        }, timeline);
+
+        assertFalse(deferred.isCreated());
+        assertEquals(Optional.empty(), deferred.getIfCreated());
+        assertEquals(0, creations.get());
+        assertTrue(timeline.events().isEmpty());
+    }
+
+    @Test
+    public void get_CalledTwice_CreatedOnce() {
+        AtomicInteger creations = new AtomicInteger();
+        Deferred<Object> deferred = new Deferred<>("object", () -> {
+            creations.incrementAndGet();
+            return new Object();
+        }, new StartupTimeline());
+
+        Object first = deferred.get();
+
+        assertSame(first, deferred.get());
+        assertSame(first, deferred.getIfCreated().orElseThrow());
+        assertTrue(deferred.isCreated());
+        assertEquals(1, creations.get());
+    }
+
+    @Test
+    public void get_FirstCall_CreationRecordedInTimeline() {
+        StartupTimeline timeline = new StartupTimeline();
+        Deferred<Object> deferred = new Deferred<>("analyzer", Object::new, timeline);
+
+        deferred.get();
+        deferred.get();
+
+        assertEquals(1, timeline.events().size());
+        assertEquals("create analyzer", timeline.events().get(0).phase());
+    }
+
+    @Test
+    public void get_FactoryReturnsNull_NullPointerException() {
+        Deferred<Object> deferred = new Deferred<>("object", () -> null, new StartupTimeline());
+
+        expectedException.expect(NullPointerException.class);
+        deferred.get();
+    }
+
+    @Test
+    public void get_FactoryThrowsOnce_RetriedOnNextCall() {
+        AtomicInteger attempts = new AtomicInteger();
+        Deferred<String> deferred = new Deferred<>("object", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("first attempt fails");
+            }
+            return "created";
+        }, new StartupTimeline());
+
+        try {
+            deferred.get();
+            fail("Exception should have been thrown");
+        } catch (IllegalStateException err) {
+            assertFalse(deferred.isCreated());
+        }
+
+        assertEquals("created", deferred.get());
+    }
+
+    @Test
+    public void get_ManyThreads_CreatedOnce() throws InterruptedException {
+        AtomicInteger creations = new AtomicInteger();
+        Deferred<Object> deferred = new Deferred<>("object", () -> {
+            creations.incrementAndGet();
+            return new Object();
+        }, new StartupTimeline());
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Object> results = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int index = 0; index < 8; index++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException err) {
+                    Thread.currentThread().interrupt();
+                }
+
+                Object result = deferred.get();
+                synchronized (results) {
+                    results.add(result);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, creations.get());
+        assertEquals(8, results.size());
+        results.forEach((result) -> assertSame(results.get(0), result));
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link FramePixels}.
+ * @author soir20
+ */
+public final class FramePixelsTest {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void copyOf_NullPixels_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        FramePixels.copyOf(1, 1, null);
+    }
+
+    @Test
+    public void copyOf_ZeroWidth_IllegalArgumentException() {
+        expectedException.expect(IllegalArgumentException.class);
+        FramePixels.copyOf(0, 1, new int[0]);
+    }
+
+    @Test
+    public void copyOf_WrongPixelCount_IllegalArgumentException() {
+        expectedException.expect(IllegalArgumentException.class);
+        FramePixels.copyOf(2, 2, new int[3]);
+    }
+
+    @Test
+    public void copyOf_ArrayModifiedAfter_PixelsUnchanged() {
+        int[] colors = { 1, 2, 3, 4 };
+        FramePixels pixels = FramePixels.copyOf(2, 2, colors);
+        colors[0] = 100;
+
+        assertEquals(1, pixels.color(0, 0));
+    }
+
+    @Test
+    public void color_OutOfBounds_IndexOutOfBoundsException() {
+        FramePixels pixels = FramePixels.copyOf(2, 2, new int[4]);
+
+        expectedException.expect(IndexOutOfBoundsException.class);
+        pixels.color(2, 0);
+    }
+
+    @Test
+    public void toArray_Modified_PixelsUnchanged() {
+        FramePixels pixels = FramePixels.copyOf(2, 1, new int[] { 5, 6 });
+        pixels.toArray()[0] = 100;
+
+        assertArrayEquals(new int[] { 5, 6 }, pixels.toArray());
+    }
+
+    @Test
+    public void byteSize_TwoByThree_FourBytesPerPixel() {
+        assertEquals(24, FramePixels.copyOf(2, 3, new int[6]).byteSize());
+    }
+
+    @Test
+    public void resample_NullSource_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        FramePixels.resample(null, 2, 2);
+    }
+
+    @Test
+    public void resample_NegativeHeight_IllegalArgumentException() {
+        expectedException.expect(IllegalArgumentException.class);
+        FramePixels.resample(MockFrames.numbered(2, 2), 2, -1);
+    }
+
+    @Test
+    public void resample_TooManyPixels_ArithmeticException() {
+        expectedException.expect(ArithmeticException.class);
+        FramePixels.resample(MockFrames.numbered(2, 2), 65536, 65536);
+    }
+
+    @Test
+    public void copyOf_TooManyPixels_ArithmeticException() {
+        expectedException.expect(ArithmeticException.class);
+        FramePixels.copyOf(65536, 65536, new int[0]);
+    }
+
+    @Test
+    public void resample_SameSize_SameColors() {
+        FramePixels pixels = FramePixels.resample(MockFrames.numbered(3, 2), 3, 2);
+
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 4, 5 }, pixels.toArray());
+    }
+
+    @Test
+    public void resample_DoubleSize_EachPixelRepeated() {
+        FramePixels pixels = FramePixels.resample(MockFrames.numbered(2, 2), 4, 4);
+
+        assertArrayEquals(new int[] {
+                0, 0, 1, 1,
+                0, 0, 1, 1,
+                2, 2, 3, 3,
+                2, 2, 3, 3
+        }, pixels.toArray());
+    }
+
+    @Test
+    public void resample_HalfSize_CenterPixelsKept() {
+        FramePixels pixels = FramePixels.resample(MockFrames.numbered(4, 4), 2, 2);
+
+        assertArrayEquals(new int[] { 5, 7, 13, 15 }, pixels.toArray());
+    }
+
+    @Test
+    public void resample_NonUniformScale_NearestColumnsAndRows() {
+        FramePixels pixels = FramePixels.resample(MockFrames.numbered(3, 1), 5, 2);
+
+        assertArrayEquals(new int[] {
+                0, 0, 1, 2, 2,
+                0, 0, 1, 2, 2
+        }, pixels.toArray());
+    }
+
+    @Test
+    public void resized_AnySize_SameAsResampleFromFrame() {
+        FramePixels source = FramePixels.resample(MockFrames.numbered(5, 3), 5, 3);
+
+        assertEquals(FramePixels.resample(MockFrames.numbered(5, 3), 7, 11), source.resized(7, 11));
+        assertEquals(FramePixels.resample(MockFrames.numbered(5, 3), 2, 2), source.resized(2, 2));
+    }
+
+    @Test
+    public void equals_SameSizeDifferentColors_NotEqual() {
+        assertNotEquals(FramePixels.copyOf(1, 1, new int[] { 1 }), FramePixels.copyOf(1, 1, new int[] { 2 }));
+    }
+
+    @Test
+    public void equals_SameColorsDifferentShape_NotEqual() {
+        assertNotEquals(FramePixels.copyOf(2, 1, new int[2]), FramePixels.copyOf(1, 2, new int[2]));
+    }
+
+}
@@ -0,0 +1,396 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link GuiDrawBatcher}.
+ * @author soir20
+ */
+public final class GuiDrawBatcherTest {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void add_NullTexture_NullPointerException() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+
+        expectedException.expect(NullPointerException.class);
+        batcher.add(null, 0, 0, 0, quad(1), 1);
+    }
+
+    @Test
+    public void add_NullQuads_NullPointerException() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+
+        expectedException.expect(NullPointerException.class);
+        batcher.add("a", 0, 0, 0, (float[]) null, 1);
+    }
+
+    @Test
+    public void add_QuadCountTooLarge_IllegalArgException() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+
+        expectedException.expect(IllegalArgumentException.class);
+        batcher.add("a", 0, 0, 0, quad(1), 2);
+    }
+
+    @Test
+    public void add_QuadCountOverflowsInt_IllegalArgException() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+
+        expectedException.expect(IllegalArgumentException.class);
+        batcher.add("a", 0, 0, 0, quad(1), 1 << 29);
+    }
+
+    @Test
+    public void add_NegativeQuadCount_IllegalArgException() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+
+        expectedException.expect(IllegalArgumentException.class);
+        batcher.add("a", 0, 0, 0, quad(1), -1);
+    }
+
+    @Test
+    public void add_NullPlacement_NullPointerException() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+
+        expectedException.expect(NullPointerException.class);
+        batcher.add("page", null, 0, 0, 0, quad(1), 1);
+    }
+
+    @Test
+    public void flush_NullConsumer_NullPointerException() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+
+        expectedException.expect(NullPointerException.class);
+        batcher.flush(null);
+    }
+
+    @Test
+    public void flush_Empty_NoDraws() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+        RecordingConsumer consumer = new RecordingConsumer();
+
+        assertEquals(0, batcher.flush(consumer));
+        assertTrue(consumer.DRAWS.isEmpty());
+    }
+
+    @Test
+    public void flush_ZeroQuadsAdded_NoDraws() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+        batcher.add("a", 0, 0, 0, quad(1), 0);
+        RecordingConsumer consumer = new RecordingConsumer();
+
+        assertEquals(0, batcher.flush(consumer));
+        assertTrue(consumer.DRAWS.isEmpty());
+    }
+
+    @Test
+    public void flush_QuadsAdded_PositionsOffsetAndTextureCoordinatesKept() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+        batcher.add("a", 0, 10, 20, new float[] {0, 0, 4, 5, 0.1f, 0.2f, 0.3f, 0.4f}, 1);
+        RecordingConsumer consumer = new RecordingConsumer();
+
+        assertEquals(1, batcher.flush(consumer));
+        assertEquals("a", consumer.DRAWS.get(0).TEXTURE);
+        assertArrayEquals(new float[] {10, 20, 14, 25, 0.1f, 0.2f, 0.3f, 0.4f}, consumer.DRAWS.get(0).QUADS, 0);
+    }
+
+    @Test
+    public void flush_QuadBufferAdded_AllQuadsDrawn() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+        QuadBuffer buffer = new QuadBuffer();
+        buffer.add(0, 0, 1, 1, 0, 0, 1, 1);
+        buffer.add(1, 0, 2, 1, 0, 0, 1, 1);
+        batcher.add("a", 0, 5, 0, buffer);
+        RecordingConsumer consumer = new RecordingConsumer();
+
+        batcher.flush(consumer);
+
+        assertArrayEquals(new float[] {5, 0, 6, 1, 0, 0, 1, 1, 6, 0, 7, 1, 0, 0, 1, 1},
+                consumer.DRAWS.get(0).QUADS, 0);
+    }
+
+    @Test
+    public void flush_SingleQuadAdded_QuadUnchanged() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+        batcher.addQuad("stretch", 0, 1, 2, 3, 4, 0, 0, 1, 1);
+        RecordingConsumer consumer = new RecordingConsumer();
+
+        batcher.flush(consumer);
+
+        assertArrayEquals(new float[] {1, 2, 3, 4, 0, 0, 1, 1}, consumer.DRAWS.get(0).QUADS, 0);
+    }
+
+    @Test
+    public void flush_PlacementGiven_TextureCoordinatesInPageSpace() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+        AtlasLayout.Placement placement = new AtlasLayout.Placement(0, 16, 32, 16, 16, 64, 64);
+        batcher.add("page", placement, 0, 1, 1, new float[] {0, 0, 2, 2, 0, 0, 1, 0.5f}, 1);
+        RecordingConsumer consumer = new RecordingConsumer();
+
+        batcher.flush(consumer);
+
+        assertArrayEquals(new float[] {1, 1, 3, 3, 0.25f, 0.5f, 0.5f, 0.625f}, consumer.DRAWS.get(0).QUADS, 0);
+    }
+
+    @Test
+    public void flush_TexturesInterleavedOnOneLayer_OneDrawPerTexture() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+        batcher.add("a", 0, 0, 0, quad(1), 1);
+        batcher.add("b", 0, 0, 0, quad(2), 1);
+        batcher.add("a", 0, 0, 0, quad(3), 1);
+        batcher.add("b", 0, 0, 0, quad(4), 1);
+        RecordingConsumer consumer = new RecordingConsumer();
+
+        assertEquals(2, batcher.flush(consumer));
+        assertEquals(List.of("a", "b"), consumer.textures());
+        assertEquals(List.of(1f, 3f), consumer.DRAWS.get(0).firstValues());
+        assertEquals(List.of(2f, 4f), consumer.DRAWS.get(1).firstValues());
+    }
+
+    @Test
+    public void flush_HigherLayerAddedFirst_LowerLayerDrawnFirst() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+        batcher.add("tooltip", 5, 0, 0, quad(1), 1);
+        batcher.add("slot", -1, 0, 0, quad(2), 1);
+        RecordingConsumer consumer = new RecordingConsumer();
+
+        batcher.flush(consumer);
+
+        assertEquals(List.of("slot", "tooltip"), consumer.textures());
+    }
+
+    @Test
+    public void flush_SameTexturesOnTwoLayers_LayersNotMixed() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+        batcher.add("a", 0, 0, 0, quad(1), 1);
+        batcher.add("b", 0, 0, 0, quad(2), 1);
+        batcher.add("a", 1, 0, 0, quad(3), 1);
+        batcher.add("b", 1, 0, 0, quad(4), 1);
+        RecordingConsumer consumer = new RecordingConsumer();
+
+        assertEquals(3, batcher.flush(consumer));
+        assertEquals(List.of("a", "b", "a"), consumer.textures());
+        assertEquals(List.of(1f), consumer.DRAWS.get(0).firstValues());
+        assertEquals(List.of(2f, 4f), consumer.DRAWS.get(1).firstValues());
+        assertEquals(List.of(3f), consumer.DRAWS.get(2).firstValues());
+    }
+
+    @Test
+    public void flush_SequentialAdds_AllDrawsShareOneArray() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+        for (int widget = 0; widget < 100; widget++) {
+            batcher.add(widget % 2 == 0 ? "a" : "b", 0, widget, 0, quad(widget), 1);
+        }
+
+        RecordingConsumer consumer = new RecordingConsumer();
+        batcher.flush(consumer);
+
+        assertSame(consumer.DRAWS.get(0).ARRAY, consumer.DRAWS.get(1).ARRAY);
+        assertEquals(0, consumer.DRAWS.get(0).FIRST_QUAD);
+        assertEquals(50, consumer.DRAWS.get(1).FIRST_QUAD);
+    }
+
+    @Test
+    public void flush_FlushedTwice_SecondFlushEmpty() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+        batcher.add("a", 0, 0, 0, quad(1), 1);
+        batcher.flush(new RecordingConsumer());
+
+        RecordingConsumer consumer = new RecordingConsumer();
+        assertEquals(0, batcher.quadCount());
+        assertEquals(0, batcher.flush(consumer));
+        assertTrue(consumer.DRAWS.isEmpty());
+    }
+
+    @Test
+    public void flush_ReusedAfterFlush_NewTexturesDrawn() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+        batcher.add("a", 0, 0, 0, quad(1), 1);
+        batcher.flush(new RecordingConsumer());
+        batcher.add("b", 0, 0, 0, quad(2), 1);
+
+        RecordingConsumer consumer = new RecordingConsumer();
+        batcher.flush(consumer);
+
+        assertEquals(List.of("b"), consumer.textures());
+        assertEquals(List.of(2f), consumer.DRAWS.get(0).firstValues());
+    }
+
+    @Test
+    public void flush_TexturesReusedInNewOrder_RankedByFirstUseInFlush() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+        batcher.add("a", 0, 0, 0, quad(1), 1);
+        batcher.add("b", 0, 0, 0, quad(2), 1);
+        batcher.flush(new RecordingConsumer());
+        batcher.add("b", 0, 0, 0, quad(3), 1);
+        batcher.add("a", 0, 0, 0, quad(4), 1);
+        batcher.add("b", 0, 0, 0, quad(5), 1);
+
+        RecordingConsumer consumer = new RecordingConsumer();
+        assertEquals(2, batcher.flush(consumer));
+
+        assertEquals(List.of("b", "a"), consumer.textures());
+        assertEquals(List.of(3f, 5f), consumer.DRAWS.get(0).firstValues());
+        assertEquals(List.of(4f), consumer.DRAWS.get(1).firstValues());
+    }
+
+    @Test
+    public void flush_ManyTexturesDrawnBefore_LaterFlushStillCorrect() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+        for (int texture = 0; texture < 2000; texture++) {
+            batcher.add("texture" + texture, 0, 0, 0, quad(texture), 1);
+        }
+        batcher.flush(new RecordingConsumer());
+        batcher.add("texture5", 0, 0, 0, quad(1), 1);
+        batcher.add("a", 0, 0, 0, quad(2), 1);
+
+        RecordingConsumer consumer = new RecordingConsumer();
+        assertEquals(2, batcher.flush(consumer));
+
+        assertEquals(List.of("texture5", "a"), consumer.textures());
+    }
+
+    @Test
+    public void clear_QuadsAdded_NothingDrawn() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+        batcher.add("a", 0, 0, 0, quad(1), 1);
+        batcher.clear();
+
+        assertEquals(0, batcher.flush(new RecordingConsumer()));
+    }
+
+    @Test
+    public void flush_InventoryScreen_HandfulOfDraws() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+        QuadBuffer buffer = new QuadBuffer();
+        GuiScaling.NineSlice frame = new GuiScaling.NineSlice(4, 4, 4, 4);
+        int expectedQuads = 0;
+
+        NineSliceGeometry.layout(frame, 16, 16, 176, 166, 2, buffer);
+        batcher.add("background", 0, 0, 0, buffer);
+        expectedQuads += buffer.quadCount();
+
+        for (int slot = 0; slot < 36; slot++) {
+            buffer.clear();
+            NineSliceGeometry.layout(frame, 16, 16, 18, 18, 2, buffer);
+            batcher.add("slot", 0, 8 + slot % 9 * 18, 84 + slot / 9 * 18, buffer);
+            expectedQuads += buffer.quadCount();
+
+            buffer.clear();
+            TileGeometry.layout(8, 8, true, 16, 16, buffer);
+            batcher.add("pattern", 0, 9 + slot % 9 * 18, 85 + slot / 9 * 18, buffer);
+            expectedQuads += buffer.quadCount();
+
+            batcher.addQuad("highlight", 1, 9, 85, 25, 101, 0, 0, 1, 1);
+            expectedQuads++;
+        }
+
+        RecordingConsumer consumer = new RecordingConsumer();
+        assertEquals(4, batcher.flush(consumer));
+        assertEquals(List.of("background", "slot", "pattern", "highlight"), consumer.textures());
+        assertEquals(expectedQuads, consumer.DRAWS.stream().mapToInt((draw) -> draw.QUAD_COUNT).sum());
+    }
+
+    /**
+     * Creates a quad whose values are all the same.
+     * @param value     value of every component
+     * @return the quad
+     */
+    private static float[] quad(float value) {
+        float[] quad = new float[QuadBuffer.FLOATS_PER_QUAD];
+        Arrays.fill(quad, value);
+        return quad;
+    }
+
+    /**
+     * Records every draw it receives.
+     * @author soir20
+     */
+    private static final class RecordingConsumer implements GuiDrawBatcher.DrawConsumer<String> {
+        private final List<Draw> DRAWS = new ArrayList<>();
+
+        @Override
+        public void draw(String texture, float[] quads, int firstQuad, int quadCount) {
+            DRAWS.add(new Draw(texture, quads, firstQuad, quadCount));
+        }
+
+        /**
+         * Gets the texture of every draw, in order.
+         * @return textures drawn
+         */
+        public List<String> textures() {
+            return DRAWS.stream().map((draw) -> draw.TEXTURE).toList();
+        }
+
+    }
+
+    /**
+     * A single recorded draw.
+     * @author soir20
+     */
+    private static final class Draw {
+        private final String TEXTURE;
+        private final float[] ARRAY;
+        private final int FIRST_QUAD;
+        private final int QUAD_COUNT;
+        private final float[] QUADS;
+
+        /**
+         * Records a draw, copying its quads since the array is reused.
+         * @param texture       texture drawn from
+         * @param array         array holding every quad in the flush
+         * @param firstQuad     index of the first quad in the draw
+         * @param quadCount     number of quads in the draw
+         */
+        public Draw(String texture, float[] array, int firstQuad, int quadCount) {
+            TEXTURE = texture;
+            ARRAY = array;
+            FIRST_QUAD = firstQuad;
+            QUAD_COUNT = quadCount;
+            QUADS = Arrays.copyOfRange(array, firstQuad * QuadBuffer.FLOATS_PER_QUAD,
+                    (firstQuad + quadCount) * QuadBuffer.FLOATS_PER_QUAD);
+        }
+
+        /**
+         * Gets the first value of each quad in the draw.
+         * @return first value of each quad
+         */
+        public List<Float> firstValues() {
+            List<Float> values = new ArrayList<>();
+            for (int quad = 0; quad < QUAD_COUNT; quad++) {
+                values.add(QUADS[quad * QuadBuffer.FLOATS_PER_QUAD]);
+            }
+            return values;
+        }
+
+    }
+
+}
@@ -0,0 +1,343 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.InvalidMetadataException;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataView;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the {@link GuiMetadataAnalyzer} against a simple reference model on a large corpus of randomly
+ * generated scaling sections, both valid and invalid. Throughput is measured by the benchmarks module
+ * instead. The corpus is generated from a fixed seed so failures are reproducible. Set the
+ * {@code guiplugin.corpusSize} system property to run a larger suite.
+ * @author soir20
+ */
+public final class GuiMetadataAnalyzerCorpusTest {
+    private static final long SEED = 0x5EEDL;
+    private static final int CORPUS_SIZE = Integer.getInteger("guiplugin.corpusSize", 50000);
+    private static final String[] TYPES = {"stretch", "tile", "nine_slice", "nine-slice", "Tile", ""};
+    private static final String[] SIDES = {"left", "right", "top", "bottom"};
+
+    private static List<Map<String, Object>> corpus;
+    private static List<MetadataView> views;
+
+    @BeforeClass
+    public static void generateCorpus() {
+        Random random = new Random(SEED);
+        corpus = new ArrayList<>(CORPUS_SIZE);
+        views = new ArrayList<>(CORPUS_SIZE);
+
+        for (int index = 0; index < CORPUS_SIZE; index++) {
+            Map<String, Object> metadata = randomMetadata(random);
+            corpus.add(metadata);
+            views.add(toView(metadata));
+        }
+    }
+
+    @Test
+    public void analyze_RandomCorpus_MatchesReferenceModel() {
+        GuiMetadataAnalyzer analyzer = new GuiMetadataAnalyzer();
+        int valid = 0;
+
+        for (int index = 0; index < CORPUS_SIZE; index++) {
+            Expected expected = model(corpus.get(index));
+
+            try {
+                GuiMetadata result = analyzer.analyze(views.get(index), 256, 256);
+                assertTrue("Expected a problem for " + corpus.get(index), expected.PROBLEMS.isEmpty());
+                assertSameMetadata(corpus.get(index), expected.METADATA, result);
+                valid++;
+            } catch (InvalidMetadataException err) {
+                assertFalse("Expected valid metadata for " + corpus.get(index), expected.PROBLEMS.isEmpty());
+                assertEquals("Wrong first problem for " + corpus.get(index),
+                        expected.PROBLEMS.get(0).message(), err.getMessage());
+            }
+        }
+
+        // Make sure the generator produces a useful mix of valid and invalid metadata
+        assertTrue(valid > CORPUS_SIZE / 10);
+        assertTrue(valid < CORPUS_SIZE * 9 / 10);
+    }
+
+    @Test
+    public void diagnose_RandomCorpus_MatchesReferenceModel() {
+        GuiMetadataAnalyzer analyzer = new GuiMetadataAnalyzer();
+
+        for (int index = 0; index < CORPUS_SIZE; index++) {
+            Expected expected = model(corpus.get(index));
+            GuiMetadataDiagnostics diagnostics = analyzer.diagnose(views.get(index), 256, 256);
+
+            assertEquals("Wrong problems for " + corpus.get(index), expected.PROBLEMS, diagnostics.problems());
+            if (expected.PROBLEMS.isEmpty()) {
+                assertSameMetadata(corpus.get(index), expected.METADATA, diagnostics.metadata().orElseThrow());
+            }
+        }
+    }
+
+    /**
+     * Generates random metadata as nested maps. Each field is independently present or missing,
+     * of the right or wrong type, and inside or outside its valid range.
+     * @param random    source of randomness
+     * @return generated metadata
+     */
+    static Map<String, Object> randomMetadata(Random random) {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+
+        int scalingChoice = random.nextInt(40);
+        if (scalingChoice == 0) {
+            return metadata;
+        } else if (scalingChoice == 1) {
+            metadata.put("scaling", "stretch");
+            return metadata;
+        }
+
+        Map<String, Object> scaling = new LinkedHashMap<>();
+        int typeChoice = random.nextInt(20);
+        if (typeChoice < 15) {
+            scaling.put("type", TYPES[typeChoice % 3]);
+        } else if (typeChoice < 18) {
+            scaling.put("type", TYPES[3 + random.nextInt(TYPES.length - 3)]);
+        } else if (typeChoice == 18) {
+            scaling.put("type", 1);
+        }
+
+        putRandomInt(random, scaling, "width", 1, 512);
+        putRandomInt(random, scaling, "height", 1, 512);
+
+        int borderChoice = random.nextInt(10);
+        if (borderChoice < 4) {
+            putRandomInt(random, scaling, "border", 0, 64);
+        } else if (borderChoice < 8) {
+            Map<String, Object> border = new LinkedHashMap<>();
+            for (String side : SIDES) {
+                putRandomInt(random, border, side, 0, 64);
+            }
+            scaling.put("border", border);
+        } else if (borderChoice == 8) {
+            scaling.put("border", "4");
+        }
+
+        if (random.nextInt(4) == 0) {
+            scaling.put("extra", random.nextInt());
+        }
+
+        metadata.put("scaling", scaling);
+        return metadata;
+    }
+
+    /**
+     * Adds a random integer field that is usually valid. Sometimes the field is missing, has the
+     * wrong type, is zero or negative, or is extremely large.
+     * @param random    source of randomness
+     * @param map       map to add the field to
+     * @param key       key of the field
+     * @param min       smallest usual value
+     * @param max       largest usual value
+     */
+    private static void putRandomInt(Random random, Map<String, Object> map, String key, int min, int max) {
+        int choice = random.nextInt(30);
+        if (choice == 0) {
+            return;
+        } else if (choice == 1) {
+            map.put(key, String.valueOf(min));
+        } else if (choice == 2) {
+            map.put(key, 0);
+        } else if (choice == 3) {
+            map.put(key, -1 - random.nextInt(Integer.MAX_VALUE));
+        } else if (choice == 4) {
+            map.put(key, Integer.MAX_VALUE - random.nextInt(16));
+        } else if (choice == 5) {
+            map.put(key, (long) max);
+        } else {
+            map.put(key, min + random.nextInt(max - min + 1));
+        }
+    }
+
+    /**
+     * Converts generated metadata into a view, converting nested maps into sub-views.
+     * @param map       generated metadata
+     * @return view of the metadata
+     */
+    @SuppressWarnings("unchecked")
+    static MetadataView toView(Map<String, Object> map) {
+        ArrayMetadataView.Builder builder = ArrayMetadataView.builder();
+        map.forEach((key, value) -> builder.put(
+                key,
+                value instanceof Map ? toView((Map<String, Object>) value) : value
+        ));
+        return builder.build();
+    }
+
+    /**
+     * Computes the expected result of analyzing generated metadata. This is written independently
+     * of the analyzer and directly from the rules for the metadata format.
+     * @param metadata      generated metadata
+     * @return expected problems, in order, and the expected result if there are none
+     */
+    @SuppressWarnings("unchecked")
+    private static Expected model(Map<String, Object> metadata) {
+        List<GuiMetadataProblem> problems = new ArrayList<>();
+
+        if (!(metadata.get("scaling") instanceof Map)) {
+            problems.add(new GuiMetadataProblem(GuiMetadataProblem.Kind.MISSING_SECTION, "scaling",
+                    "Missing scaling section"));
+            return new Expected(problems, null);
+        }
+
+        Map<String, Object> scaling = (Map<String, Object>) metadata.get("scaling");
+        Object type = scaling.get("type");
+        if (!(type instanceof String)) {
+            problems.add(new GuiMetadataProblem(GuiMetadataProblem.Kind.MISSING_FIELD, "scaling.type",
+                    "Missing type field in scaling section"));
+            type = null;
+        }
+
+        if ("stretch".equals(type)) {
+            return new Expected(problems, new GuiMetadata(GuiMetadata.Type.STRETCH, 0, 0, 0, 0, 0, 0));
+        }
+
+        int width = checkPositive(scaling, "width", "Frame width", problems);
+        int height = checkPositive(scaling, "height", "Frame height", problems);
+
+        if ("tile".equals(type)) {
+            return new Expected(problems, new GuiMetadata(GuiMetadata.Type.TILE, width, height, 0, 0, 0, 0));
+        }
+
+        boolean isNineSlice = "nine_slice".equals(type);
+        if (type != null && !isNineSlice) {
+            problems.add(new GuiMetadataProblem(GuiMetadataProblem.Kind.UNKNOWN_TYPE, "scaling.type",
+                    "Unknown scaling type " + type));
+        }
+
+        if (!isNineSlice && !scaling.containsKey("border")) {
+            return new Expected(problems, null);
+        }
+
+        int[] sides = new int[SIDES.length];
+        if (scaling.get("border") instanceof Map) {
+            Map<String, Object> border = (Map<String, Object>) scaling.get("border");
+            for (int index = 0; index < SIDES.length; index++) {
+                sides[index] = checkNonNegative(border, SIDES[index], "border", "scaling.border", problems);
+            }
+        } else {
+            int size = checkNonNegative(scaling, "border", "scaling", "scaling", problems);
+            for (int index = 0; index < SIDES.length; index++) {
+                sides[index] = size;
+            }
+        }
+
+        return new Expected(problems, isNineSlice
+                ? new GuiMetadata(GuiMetadata.Type.NINE_SLICE, width, height, sides[0], sides[1], sides[2], sides[3])
+                : null);
+    }
+
+    /**
+     * Checks that a field is a positive integer.
+     * @param section       section containing the field
+     * @param key           key of the field
+     * @param description   description of the field in problem messages
+     * @param problems      list to add a problem to
+     * @return value of the field, or zero if it is missing
+     */
+    private static int checkPositive(Map<String, Object> section, String key, String description,
+                                     List<GuiMetadataProblem> problems) {
+        if (!(section.get(key) instanceof Integer)) {
+            problems.add(new GuiMetadataProblem(GuiMetadataProblem.Kind.MISSING_FIELD, "scaling." + key,
+                    "Missing " + key + " field in scaling section"));
+            return 0;
+        }
+
+        int value = (Integer) section.get(key);
+        if (value <= 0) {
+            problems.add(new GuiMetadataProblem(GuiMetadataProblem.Kind.NOT_POSITIVE, "scaling." + key,
+                    description + " must be positive"));
+        }
+
+        return value;
+    }
+
+    /**
+     * Checks that a field is a non-negative integer.
+     * @param section       section containing the field
+     * @param key           key of the field
+     * @param sectionName   name of the section in problem messages
+     * @param sectionPath   path of the section in problem fields
+     * @param problems      list to add a problem to
+     * @return value of the field, or zero if it is missing
+     */
+    private static int checkNonNegative(Map<String, Object> section, String key, String sectionName,
+                                        String sectionPath, List<GuiMetadataProblem> problems) {
+        if (!(section.get(key) instanceof Integer)) {
+            problems.add(new GuiMetadataProblem(GuiMetadataProblem.Kind.MISSING_FIELD, sectionPath + "." + key,
+                    "Missing " + key + " field in " + sectionName + " section"));
+            return 0;
+        }
+
+        int value = (Integer) section.get(key);
+        if (value < 0) {
+            problems.add(new GuiMetadataProblem(GuiMetadataProblem.Kind.NEGATIVE, sectionPath + "." + key,
+                    key + " is negative"));
+        }
+
+        return value;
+    }
+
+    /**
+     * Checks that the analyzer's result has the same type, frame size, and borders as the model's.
+     * @param metadata      generated metadata, for the failure message
+     * @param expected      result from the model
+     * @param actual        result from the analyzer
+     */
+    private static void assertSameMetadata(Map<String, Object> metadata, GuiMetadata expected, GuiMetadata actual) {
+        String message = "Wrong result for " + metadata;
+        assertEquals(message, expected.type(), actual.type());
+        assertEquals(message, expected.scaling(), actual.scaling());
+        assertEquals(message, expected.frameWidth(), actual.frameWidth());
+        assertEquals(message, expected.frameHeight(), actual.frameHeight());
+    }
+
+    /**
+     * Expected result of analyzing one piece of metadata.
+     * @author soir20
+     */
+    private static final class Expected {
+        private final List<GuiMetadataProblem> PROBLEMS;
+        private final GuiMetadata METADATA;
+
+        /**
+         * Creates a new expected result.
+         * @param problems      expected problems in order
+         * @param metadata      expected result if there are no problems
+         */
+        public Expected(List<GuiMetadataProblem> problems, GuiMetadata metadata) {
+            PROBLEMS = problems;
+            METADATA = metadata;
+        }
+    }
+
+}
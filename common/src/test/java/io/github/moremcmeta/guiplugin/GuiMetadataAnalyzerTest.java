@@ -27,6 +27,10 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.Assert.*;
 
 /**
@@ -40,7 +44,7 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_MissingScaling_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of());
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of());
 
         expectedException.expect(InvalidMetadataException.class);
         ANALYZER.analyze(metadata, 100, 100);
@@ -48,8 +52,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_UnknownType_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "unknown",
                         "width", 10,
                         "height", 10
@@ -62,8 +66,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_StretchNoWidthNoHeight_HasStretchType() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "stretch"
                 ))
         ));
@@ -76,8 +80,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_StretchHasWidthHasHeight_HasStretchType() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "stretch",
                         "width", 10,
                         "height", 10
@@ -92,8 +96,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_TileNoWidthHasHeight_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "tile",
                         "height", 20
                 ))
@@ -105,8 +109,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_TileHasWidthNoHeight_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "tile",
                         "width", 10
                 ))
@@ -118,8 +122,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_TileNegativeWidthHasHeight_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "tile",
                         "width", -2,
                         "height", 10
@@ -132,8 +136,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_TileHasWidthNegativeHeight_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "tile",
                         "width", 10,
                         "height", -2
@@ -146,8 +150,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_TileZeroWidthHasHeight_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "tile",
                         "width", 0,
                         "height", 10
@@ -160,8 +164,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_TileHasWidthZeroHeight_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "tile",
                         "width", 10,
                         "height", 0
@@ -174,8 +178,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_TileHasWidthHasHeight_HasTileTypeAndFrameSize() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "tile",
                         "width", 10,
                         "height", 20
@@ -190,8 +194,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceNoWidthHasHeight_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "height", 20,
                         "border", 1
@@ -204,8 +208,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceHasWidthNoHeight_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "border", 1
@@ -218,8 +222,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceNegativeWidthHasHeight_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", -2,
                         "height", 20,
@@ -233,8 +237,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceHasWidthNegativeHeight_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", -2,
@@ -248,8 +252,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceZeroWidthHasHeight_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 0,
                         "height", 20,
@@ -263,8 +267,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceHasWidthZeroHeight_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", 0,
@@ -278,8 +282,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceNoBorder_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", 10
@@ -292,8 +296,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceNegativeBorder_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", 20,
@@ -307,8 +311,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceZeroBorder_HasZeroBorder() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", 20,
@@ -324,8 +328,8 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSlicePositiveBorder_HasPositiveBorder() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", 20,
@@ -341,12 +345,12 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceMissingLeft_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", 20,
-                        "border", new MockMetadataView(ImmutableMap.of(
+                        "border", ArrayMetadataView.copyOf(ImmutableMap.of(
                                 "right", 2,
                                 "top", 3,
                                 "bottom", 4
@@ -360,12 +364,12 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceNegativeLeft_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", 20,
-                        "border", new MockMetadataView(ImmutableMap.of(
+                        "border", ArrayMetadataView.copyOf(ImmutableMap.of(
                                 "left", -1,
                                 "right", 2,
                                 "top", 3,
@@ -380,12 +384,12 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceZeroLeft_HasLeft() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", 20,
-                        "border", new MockMetadataView(ImmutableMap.of(
+                        "border", ArrayMetadataView.copyOf(ImmutableMap.of(
                                 "left", 0,
                                 "right", 2,
                                 "top", 3,
@@ -402,12 +406,12 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceMissingRight_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", 20,
-                        "border", new MockMetadataView(ImmutableMap.of(
+                        "border", ArrayMetadataView.copyOf(ImmutableMap.of(
                                 "left", 1,
                                 "top", 3,
                                 "bottom", 4
@@ -421,12 +425,12 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceNegativeRight_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", 20,
-                        "border", new MockMetadataView(ImmutableMap.of(
+                        "border", ArrayMetadataView.copyOf(ImmutableMap.of(
                                 "left", 1,
                                 "right", -2,
                                 "top", 3,
@@ -441,12 +445,12 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceZeroRight_HasRight() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", 20,
-                        "border", new MockMetadataView(ImmutableMap.of(
+                        "border", ArrayMetadataView.copyOf(ImmutableMap.of(
                                 "left", 1,
                                 "right", 0,
                                 "top", 3,
@@ -463,12 +467,12 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceMissingTop_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", 20,
-                        "border", new MockMetadataView(ImmutableMap.of(
+                        "border", ArrayMetadataView.copyOf(ImmutableMap.of(
                                 "left", 1,
                                 "right", 2,
                                 "bottom", 4
@@ -482,12 +486,12 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceNegativeTop_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", 20,
-                        "border", new MockMetadataView(ImmutableMap.of(
+                        "border", ArrayMetadataView.copyOf(ImmutableMap.of(
                                 "left", 1,
                                 "right", 2,
                                 "top", -3,
@@ -502,12 +506,12 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceZeroTop_HasTop() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", 20,
-                        "border", new MockMetadataView(ImmutableMap.of(
+                        "border", ArrayMetadataView.copyOf(ImmutableMap.of(
                                 "left", 1,
                                 "right", 2,
                                 "top", 0,
@@ -524,12 +528,12 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceMissingBottom_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", 20,
-                        "border", new MockMetadataView(ImmutableMap.of(
+                        "border", ArrayMetadataView.copyOf(ImmutableMap.of(
                                 "left", 1,
                                 "right", 2,
                                 "top", 3
@@ -543,12 +547,12 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceNegativeBottom_InvalidMetadataException() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", 20,
-                        "border", new MockMetadataView(ImmutableMap.of(
+                        "border", ArrayMetadataView.copyOf(ImmutableMap.of(
                                 "left", 1,
                                 "right", 2,
                                 "top", 3,
@@ -563,12 +567,12 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceZeroBottom_HasBottom() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", 20,
-                        "border", new MockMetadataView(ImmutableMap.of(
+                        "border", ArrayMetadataView.copyOf(ImmutableMap.of(
                                 "left", 1,
                                 "right", 2,
                                 "top", 3,
@@ -585,12 +589,12 @@ public final class GuiMetadataAnalyzerTest {
 
     @Test
     public void analyze_NineSliceAllPositive_HasAll() throws InvalidMetadataException {
-        MetadataView metadata = new MockMetadataView(ImmutableMap.of(
-                "scaling", new MockMetadataView(ImmutableMap.of(
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
                         "type", "nine_slice",
                         "width", 10,
                         "height", 20,
-                        "border", new MockMetadataView(ImmutableMap.of(
+                        "border", ArrayMetadataView.copyOf(ImmutableMap.of(
                                 "left", 1,
                                 "right", 2,
                                 "top", 3,
@@ -605,4 +609,447 @@ public final class GuiMetadataAnalyzerTest {
         assertEquals(20, (int) result.frameHeight().orElseThrow());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void analyze_SameNineSliceTwice_SameInstance() throws InvalidMetadataException {
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "nine_slice",
+                        "width", 200,
+                        "height", 20,
+                        "border", 4
+                ))
+        ));
+        MetadataView sameMetadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "nine_slice",
+                        "width", 200,
+                        "height", 20,
+                        "border", ArrayMetadataView.copyOf(ImmutableMap.of(
+                                "left", 4,
+                                "right", 4,
+                                "top", 4,
+                                "bottom", 4
+                        ))
+                ))
+        ));
+
+        GuiMetadataAnalyzer analyzer = new GuiMetadataAnalyzer();
+        AnalyzedMetadata first = analyzer.analyze(metadata, 100, 100);
+        AnalyzedMetadata second = analyzer.analyze(sameMetadata, 100, 100);
+
+        assertSame(first, second);
+        assertEquals(1, analyzer.interner().hits());
+        assertEquals(1, analyzer.interner().misses());
+    }
+
+    @Test
+    public void construct_NullInterner_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new GuiMetadataAnalyzer(null);
+    }
+
+    @Test
+    public void diagnose_NullMetadata_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new GuiMetadataAnalyzer().diagnose(null, 100, 100);
+    }
+
+    @Test
+    public void diagnose_ValidNineSlice_ValidWithMetadata() {
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "nine_slice",
+                        "width", 200,
+                        "height", 20,
+                        "border", 4
+                ))
+        ));
+
+        GuiMetadataDiagnostics diagnostics = new GuiMetadataAnalyzer().diagnose(metadata, 100, 100);
+
+        assertTrue(diagnostics.isValid());
+        assertTrue(diagnostics.problems().isEmpty());
+        assertEquals(new GuiScaling.NineSlice(4, 4, 4, 4), diagnostics.metadata().orElseThrow().scaling());
+    }
+
+    @Test
+    public void diagnose_ValidStretch_ValidWithMetadata() {
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "stretch"
+                ))
+        ));
+
+        GuiMetadataDiagnostics diagnostics = new GuiMetadataAnalyzer().diagnose(metadata, 100, 100);
+
+        assertTrue(diagnostics.isValid());
+        assertEquals(new GuiScaling.Stretch(), diagnostics.metadata().orElseThrow().scaling());
+    }
+
+    @Test
+    public void diagnose_MissingScaling_OneProblem() {
+        GuiMetadataDiagnostics diagnostics = new GuiMetadataAnalyzer().diagnose(
+                ArrayMetadataView.copyOf(ImmutableMap.of()), 100, 100
+        );
+
+        assertFalse(diagnostics.isValid());
+        assertFalse(diagnostics.metadata().isPresent());
+        assertEquals(
+                List.of(new GuiMetadataProblem(GuiMetadataProblem.Kind.MISSING_SECTION, "scaling", "Missing scaling section")),
+                diagnostics.problems()
+        );
+    }
+
+    @Test
+    public void diagnose_MissingTypeAndWidth_BothProblems() {
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "height", 20
+                ))
+        ));
+
+        GuiMetadataDiagnostics diagnostics = new GuiMetadataAnalyzer().diagnose(metadata, 100, 100);
+
+        assertEquals(
+                List.of(
+                        new GuiMetadataProblem(GuiMetadataProblem.Kind.MISSING_FIELD, "scaling.type",
+                                "Missing type field in scaling section"),
+                        new GuiMetadataProblem(GuiMetadataProblem.Kind.MISSING_FIELD, "scaling.width",
+                                "Missing width field in scaling section")
+                ),
+                diagnostics.problems()
+        );
+    }
+
+    @Test
+    public void diagnose_TileZeroWidthNegativeHeight_BothProblems() {
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "tile",
+                        "width", 0,
+                        "height", -2
+                ))
+        ));
+
+        GuiMetadataDiagnostics diagnostics = new GuiMetadataAnalyzer().diagnose(metadata, 100, 100);
+
+        assertEquals(
+                List.of(
+                        new GuiMetadataProblem(GuiMetadataProblem.Kind.NOT_POSITIVE, "scaling.width",
+                                "Frame width must be positive"),
+                        new GuiMetadataProblem(GuiMetadataProblem.Kind.NOT_POSITIVE, "scaling.height",
+                                "Frame height must be positive")
+                ),
+                diagnostics.problems()
+        );
+    }
+
+    @Test
+    public void diagnose_NineSliceManyBorderProblems_AllProblems() {
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "nine_slice",
+                        "height", 20,
+                        "border", ArrayMetadataView.copyOf(ImmutableMap.of(
+                                "left", -1,
+                                "top", -3,
+                                "bottom", 4
+                        ))
+                ))
+        ));
+
+        GuiMetadataDiagnostics diagnostics = new GuiMetadataAnalyzer().diagnose(metadata, 100, 100);
+
+        assertEquals(
+                List.of(
+                        new GuiMetadataProblem(GuiMetadataProblem.Kind.MISSING_FIELD, "scaling.width",
+                                "Missing width field in scaling section"),
+                        new GuiMetadataProblem(GuiMetadataProblem.Kind.NEGATIVE, "scaling.border.left",
+                                "left is negative"),
+                        new GuiMetadataProblem(GuiMetadataProblem.Kind.MISSING_FIELD, "scaling.border.right",
+                                "Missing right field in border section"),
+                        new GuiMetadataProblem(GuiMetadataProblem.Kind.NEGATIVE, "scaling.border.top",
+                                "top is negative")
+                ),
+                diagnostics.problems()
+        );
+    }
+
+    @Test
+    public void diagnose_NineSliceMissingBorder_OneProblem() {
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "nine_slice",
+                        "width", 200,
+                        "height", 20
+                ))
+        ));
+
+        GuiMetadataDiagnostics diagnostics = new GuiMetadataAnalyzer().diagnose(metadata, 100, 100);
+
+        assertEquals(
+                List.of(new GuiMetadataProblem(GuiMetadataProblem.Kind.MISSING_FIELD, "scaling.border",
+                        "Missing border field in scaling section")),
+                diagnostics.problems()
+        );
+    }
+
+    @Test
+    public void diagnose_UnknownTypeWithNegativeBorder_BothProblems() {
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "nine_slise",
+                        "width", 200,
+                        "height", 20,
+                        "border", -4
+                ))
+        ));
+
+        GuiMetadataDiagnostics diagnostics = new GuiMetadataAnalyzer().diagnose(metadata, 100, 100);
+
+        assertEquals(
+                List.of(
+                        new GuiMetadataProblem(GuiMetadataProblem.Kind.UNKNOWN_TYPE, "scaling.type",
+                                "Unknown scaling type nine_slise"),
+                        new GuiMetadataProblem(GuiMetadataProblem.Kind.NEGATIVE, "scaling.border",
+                                "border is negative")
+                ),
+                diagnostics.problems()
+        );
+    }
+
+    @Test
+    public void diagnose_UnknownTypeWithoutBorder_OneProblem() {
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "unknown",
+                        "width", 200,
+                        "height", 20
+                ))
+        ));
+
+        GuiMetadataDiagnostics diagnostics = new GuiMetadataAnalyzer().diagnose(metadata, 100, 100);
+
+        assertEquals(1, diagnostics.problems().size());
+        assertEquals(GuiMetadataProblem.Kind.UNKNOWN_TYPE, diagnostics.problems().get(0).kind());
+    }
+
+    @Test
+    public void diagnose_InvalidMetadata_FirstProblemSameAsAnalyzeException() throws InvalidMetadataException {
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "nine_slice",
+                        "width", 200,
+                        "height", 0,
+                        "border", -1
+                ))
+        ));
+        GuiMetadataAnalyzer analyzer = new GuiMetadataAnalyzer();
+
+        GuiMetadataDiagnostics diagnostics = analyzer.diagnose(metadata, 100, 100);
+        assertEquals(2, diagnostics.problems().size());
+
+        expectedException.expect(InvalidMetadataException.class);
+        expectedException.expectMessage(diagnostics.problems().get(0).message());
+        analyzer.analyze(metadata, 100, 100);
+    }
+
+    @Test
+    public void construct_NullMetrics_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new GuiMetadataAnalyzer(new GuiMetadataInterner(), null);
+    }
+
+    @Test
+    public void analyze_ValidMetadata_AnalysisAndLatencyRecorded() throws InvalidMetadataException {
+        AnalysisMetrics metrics = new AnalysisMetrics();
+        GuiMetadataAnalyzer analyzer = new GuiMetadataAnalyzer(new GuiMetadataInterner(), metrics);
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "tile",
+                        "width", 10,
+                        "height", 20
+                ))
+        ));
+
+        analyzer.analyze(metadata, 100, 100);
+        analyzer.analyze(metadata, 100, 100);
+
+        AnalysisMetrics.Snapshot snapshot = metrics.snapshot();
+        assertSame(metrics, analyzer.metrics());
+        assertEquals(2, snapshot.analyses(GuiMetadata.Type.TILE));
+        assertEquals(2, snapshot.totalAnalyses());
+        assertEquals(0, snapshot.totalFailures());
+        assertTrue(snapshot.percentileNanos(100) > 0);
+    }
+
+    @Test
+    public void analyze_InvalidMetadata_FailureReasonAndLatencyRecorded() {
+        AnalysisMetrics metrics = new AnalysisMetrics();
+        GuiMetadataAnalyzer analyzer = new GuiMetadataAnalyzer(new GuiMetadataInterner(), metrics);
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "nine_slice",
+                        "width", 10,
+                        "height", 20,
+                        "border", -1
+                ))
+        ));
+
+        try {
+            analyzer.analyze(metadata, 100, 100);
+            fail("Expected invalid metadata");
+        } catch (InvalidMetadataException ignored) {}
+
+        AnalysisMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(0, snapshot.totalAnalyses());
+        assertEquals(1, snapshot.failures(GuiMetadataProblem.Kind.NEGATIVE));
+        assertEquals(1, snapshot.totalFailures());
+        assertTrue(snapshot.percentileNanos(100) > 0);
+    }
+
+    @Test
+    public void diagnose_InvalidMetadata_NotRecorded() {
+        AnalysisMetrics metrics = new AnalysisMetrics();
+        GuiMetadataAnalyzer analyzer = new GuiMetadataAnalyzer(new GuiMetadataInterner(), metrics);
+
+        analyzer.diagnose(ArrayMetadataView.copyOf(ImmutableMap.of()), 100, 100);
+
+        assertEquals(0, metrics.snapshot().totalFailures());
+    }
+
+    @Test
+    public void construct_NullTypes_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new GuiMetadataAnalyzer(new GuiMetadataInterner(), new AnalysisMetrics(), null);
+    }
+
+    @Test
+    public void analyze_BuiltInTypeNotRegistered_InvalidMetadataException() throws InvalidMetadataException {
+        GuiMetadataAnalyzer analyzer = new GuiMetadataAnalyzer(
+                new GuiMetadataInterner(),
+                new AnalysisMetrics(),
+                new ScalingTypeRegistry()
+        );
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "stretch"
+                ))
+        ));
+
+        expectedException.expect(InvalidMetadataException.class);
+        expectedException.expectMessage("Missing width field in scaling section");
+        analyzer.analyze(metadata, 100, 100);
+    }
+
+    @Test
+    public void analyze_CustomHorizontalType_VerticalBorderNotRead() throws InvalidMetadataException {
+        ScalingTypeRegistry types = ScalingTypeRegistry.withBuiltInTypes();
+        types.register("horizontal_stretch", makeHorizontalType());
+        GuiMetadataAnalyzer analyzer = new GuiMetadataAnalyzer(new GuiMetadataInterner(), new AnalysisMetrics(), types);
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "horizontal_stretch",
+                        "width", 100,
+                        "height", 10,
+                        "border", ArrayMetadataView.copyOf(ImmutableMap.of(
+                                "left", 3,
+                                "right", 4,
+                                "top", -1
+                        ))
+                ))
+        ));
+
+        GuiMetadata result = analyzer.analyze(metadata, 100, 100);
+
+        assertEquals(new GuiScaling.NineSlice(3, 4, 0, 0), result.scaling());
+        assertEquals(100, result.frameWidthOr(0));
+        assertEquals(10, result.frameHeightOr(0));
+    }
+
+    @Test
+    public void analyze_CustomHorizontalTypeUniformBorder_OnlyHorizontalSidesSet() throws InvalidMetadataException {
+        ScalingTypeRegistry types = ScalingTypeRegistry.withBuiltInTypes();
+        types.register("horizontal_stretch", makeHorizontalType());
+        GuiMetadataAnalyzer analyzer = new GuiMetadataAnalyzer(new GuiMetadataInterner(), new AnalysisMetrics(), types);
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "horizontal_stretch",
+                        "width", 100,
+                        "height", 10,
+                        "border", 5
+                ))
+        ));
+
+        GuiMetadata result = analyzer.analyze(metadata, 100, 100);
+
+        assertEquals(new GuiScaling.NineSlice(5, 5, 0, 0), result.scaling());
+    }
+
+    @Test
+    public void analyze_CustomTypeMissingHorizontalSide_InvalidMetadataException() throws InvalidMetadataException {
+        ScalingTypeRegistry types = ScalingTypeRegistry.withBuiltInTypes();
+        types.register("horizontal_stretch", makeHorizontalType());
+        GuiMetadataAnalyzer analyzer = new GuiMetadataAnalyzer(new GuiMetadataInterner(), new AnalysisMetrics(), types);
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "horizontal_stretch",
+                        "width", 100,
+                        "height", 10,
+                        "border", ArrayMetadataView.copyOf(ImmutableMap.of(
+                                "left", 3
+                        ))
+                ))
+        ));
+
+        expectedException.expect(InvalidMetadataException.class);
+        expectedException.expectMessage("Missing right field in border section");
+        analyzer.analyze(metadata, 100, 100);
+    }
+
+    @Test
+    public void analyze_CustomTypeWithoutFrameSize_WidthNotRead() throws InvalidMetadataException {
+        ScalingTypeRegistry types = new ScalingTypeRegistry();
+        types.register("plain", new ScalingType() {
+            @Override
+            public Set<Field> fields() {
+                return EnumSet.noneOf(Field.class);
+            }
+
+            @Override
+            public GuiMetadata create(GuiMetadataInterner interner, int frameWidth, int frameHeight,
+                                      int left, int right, int top, int bottom) {
+                return interner.stretch();
+            }
+        });
+        GuiMetadataAnalyzer analyzer = new GuiMetadataAnalyzer(new GuiMetadataInterner(), new AnalysisMetrics(), types);
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "plain",
+                        "width", -5
+                ))
+        ));
+
+        assertEquals(GuiMetadata.Type.STRETCH, analyzer.analyze(metadata, 100, 100).type());
+    }
+
+    /**
+     * Makes a type for bars that only stretch horizontally, which needs no vertical border.
+     * @return new scaling type
+     */
+    private static ScalingType makeHorizontalType() {
+        return new ScalingType() {
+            @Override
+            public Set<Field> fields() {
+                return EnumSet.of(Field.FRAME_SIZE, Field.HORIZONTAL_BORDER);
+            }
+
+            @Override
+            public GuiMetadata create(GuiMetadataInterner interner, int frameWidth, int frameHeight,
+                                      int left, int right, int top, int bottom) {
+                return interner.nineSlice(frameWidth, frameHeight, left, right, top, bottom);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,208 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import com.google.common.collect.ImmutableMap;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.InvalidMetadataException;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataAnalyzer;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataView;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link GuiMetadataBatchAnalyzer}.
+ * @author soir20
+ */
+public final class GuiMetadataBatchAnalyzerTest {
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void construct_NullAnalyzer_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new GuiMetadataBatchAnalyzer(null, 1);
+    }
+
+    @Test
+    public void construct_ZeroParallelism_IllegalArgumentException() {
+        expectedException.expect(IllegalArgumentException.class);
+        new GuiMetadataBatchAnalyzer(new GuiMetadataAnalyzer(), 0);
+    }
+
+    @Test
+    public void parallelism_Configured_SameAsConfigured() {
+        try (GuiMetadataBatchAnalyzer batchAnalyzer = new GuiMetadataBatchAnalyzer(new GuiMetadataAnalyzer(), 3)) {
+            assertEquals(3, batchAnalyzer.parallelism());
+        }
+    }
+
+    @Test
+    public void analyzeAll_NullEntries_NullPointerException() {
+        try (GuiMetadataBatchAnalyzer batchAnalyzer = new GuiMetadataBatchAnalyzer(new GuiMetadataAnalyzer(), 2)) {
+            expectedException.expect(NullPointerException.class);
+            batchAnalyzer.analyzeAll(null);
+        }
+    }
+
+    @Test
+    public void analyzeAll_NoEntries_EmptyResult() {
+        try (GuiMetadataBatchAnalyzer batchAnalyzer = new GuiMetadataBatchAnalyzer(new GuiMetadataAnalyzer(), 2)) {
+            BatchResult<String> result = batchAnalyzer.analyzeAll(List.of());
+
+            assertTrue(result.successes().isEmpty());
+            assertTrue(result.failures().isEmpty());
+        }
+    }
+
+    @Test
+    public void analyzeAll_MixedEntries_SuccessesAndFailuresSeparatedInOrder() {
+        List<BatchEntry<Integer>> entries = makeEntries(1000);
+
+        try (GuiMetadataBatchAnalyzer batchAnalyzer = new GuiMetadataBatchAnalyzer(new GuiMetadataAnalyzer(), 4)) {
+            BatchResult<Integer> result = batchAnalyzer.analyzeAll(entries);
+
+            assertEquals(750, result.successes().size());
+            assertEquals(250, result.failures().size());
+
+            int lastId = -1;
+            for (BatchResult.Success<Integer> success : result.successes()) {
+                assertTrue(success.id() > lastId);
+                assertNotEquals(3, success.id() % 4);
+                lastId = success.id();
+            }
+
+            lastId = -1;
+            for (BatchResult.Failure<Integer> failure : result.failures()) {
+                assertTrue(failure.id() > lastId);
+                assertEquals(3, failure.id() % 4);
+                assertNotNull(failure.error());
+                assertEquals(BatchResult.Failure.Kind.INVALID_METADATA, failure.kind());
+                assertTrue(failure.error() instanceof InvalidMetadataException);
+                lastId = failure.id();
+            }
+        }
+    }
+
+    @Test
+    public void analyzeAll_AnalyzerThrowsUnexpectedly_OnlyThatEntryFails() {
+        List<BatchEntry<Integer>> entries = new ArrayList<>();
+        for (int index = 0; index < 100; index++) {
+            entries.add(new BatchEntry<>(index, ArrayMetadataView.copyOf(ImmutableMap.of()), index + 1, 1));
+        }
+        IllegalStateException thrown = new IllegalStateException("broken analyzer");
+        MetadataAnalyzer analyzer = (metadata, imageWidth, imageHeight) -> {
+            if (imageWidth == 50) {
+                throw thrown;
+            }
+
+            return new GuiMetadata(GuiMetadata.Type.STRETCH, 0, 0, 0, 0, 0, 0);
+        };
+
+        try (GuiMetadataBatchAnalyzer batchAnalyzer = new GuiMetadataBatchAnalyzer(analyzer, 4)) {
+            BatchResult<Integer> result = batchAnalyzer.analyzeAll(entries);
+
+            assertEquals(99, result.successes().size());
+            assertEquals(1, result.failures().size());
+            assertEquals(49, (int) result.failures().get(0).id());
+            assertEquals(BatchResult.Failure.Kind.UNEXPECTED_ERROR, result.failures().get(0).kind());
+            assertSame(thrown, result.failures().get(0).error());
+        }
+    }
+
+    @Test
+    public void analyzeAll_ManyThreads_SameAsSingleAnalyzer() throws InvalidMetadataException {
+        List<BatchEntry<Integer>> entries = makeEntries(1000);
+        GuiMetadataAnalyzer analyzer = new GuiMetadataAnalyzer();
+
+        try (GuiMetadataBatchAnalyzer batchAnalyzer = new GuiMetadataBatchAnalyzer(analyzer, 8)) {
+            BatchResult<Integer> result = batchAnalyzer.analyzeAll(entries);
+
+            for (BatchResult.Success<Integer> success : result.successes()) {
+                BatchEntry<Integer> entry = entries.get(success.id());
+                assertSame(
+                        analyzer.analyze(entry.metadata(), entry.imageWidth(), entry.imageHeight()),
+                        success.metadata()
+                );
+            }
+        }
+    }
+
+    @Test
+    public void analyzeAll_NineSliceEntry_HasNineSliceResult() {
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "nine_slice",
+                        "width", 200,
+                        "height", 20,
+                        "border", 4
+                ))
+        ));
+
+        try (GuiMetadataBatchAnalyzer batchAnalyzer = new GuiMetadataBatchAnalyzer(new GuiMetadataAnalyzer(), 2)) {
+            BatchResult<String> result = batchAnalyzer.analyzeAll(List.of(
+                    new BatchEntry<>("textures/gui/button.png", metadata, 200, 20)
+            ));
+
+            assertEquals(1, result.successes().size());
+            assertEquals("textures/gui/button.png", result.successes().get(0).id());
+            assertEquals(
+                    new GuiScaling.NineSlice(4, 4, 4, 4),
+                    result.successes().get(0).metadata().guiScaling().orElseThrow()
+            );
+        }
+    }
+
+    /**
+     * Makes entries where every fourth entry (starting at index 3) has an unknown scaling type.
+     * @param count     number of entries to make
+     * @return entries identified by their index
+     */
+    private static List<BatchEntry<Integer>> makeEntries(int count) {
+        List<BatchEntry<Integer>> entries = new ArrayList<>();
+
+        for (int index = 0; index < count; index++) {
+            String type = switch (index % 4) {
+                case 0 -> "stretch";
+                case 1 -> "tile";
+                case 2 -> "nine_slice";
+                default -> "unknown";
+            };
+
+            MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                    "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                            "type", type,
+                            "width", 1 + index % 7,
+                            "height", 1 + index % 5,
+                            "border", index % 3
+                    ))
+            ));
+
+            entries.add(new BatchEntry<>(index, metadata, 100, 100));
+        }
+
+        return entries;
+    }
+
+}
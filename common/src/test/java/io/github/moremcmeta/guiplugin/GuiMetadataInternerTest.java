@@ -0,0 +1,163 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link GuiMetadataInterner}.
+ * @author soir20
+ */
+public final class GuiMetadataInternerTest {
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void construct_NegativeMaxEntries_IllegalArgumentException() {
+        expectedException.expect(IllegalArgumentException.class);
+        new GuiMetadataInterner(-1);
+    }
+
+    @Test
+    public void stretch_CalledTwice_SameInstance() {
+        GuiMetadataInterner interner = new GuiMetadataInterner();
+        GuiMetadata first = interner.stretch();
+
+        assertSame(first, interner.stretch());
+        assertEquals(new GuiScaling.Stretch(), first.guiScaling().orElseThrow());
+        assertFalse(first.frameWidth().isPresent());
+        assertFalse(first.frameHeight().isPresent());
+    }
+
+    @Test
+    public void tile_SameFrameSize_SameInstance() {
+        GuiMetadataInterner interner = new GuiMetadataInterner();
+        GuiMetadata first = interner.tile(10, 20);
+
+        assertSame(first, interner.tile(10, 20));
+        assertEquals(new GuiScaling.Tile(), first.guiScaling().orElseThrow());
+        assertEquals(10, (int) first.frameWidth().orElseThrow());
+        assertEquals(20, (int) first.frameHeight().orElseThrow());
+    }
+
+    @Test
+    public void tile_DifferentFrameSize_DifferentInstance() {
+        GuiMetadataInterner interner = new GuiMetadataInterner();
+
+        assertNotSame(interner.tile(10, 20), interner.tile(20, 10));
+    }
+
+    @Test
+    public void nineSlice_SameBorders_SameInstance() {
+        GuiMetadataInterner interner = new GuiMetadataInterner();
+        GuiMetadata first = interner.nineSlice(200, 20, 1, 2, 3, 4);
+
+        assertSame(first, interner.nineSlice(200, 20, 1, 2, 3, 4));
+        assertEquals(new GuiScaling.NineSlice(1, 2, 3, 4), first.guiScaling().orElseThrow());
+        assertEquals(200, (int) first.frameWidth().orElseThrow());
+        assertEquals(20, (int) first.frameHeight().orElseThrow());
+    }
+
+    @Test
+    public void nineSlice_DifferentBorders_DifferentInstance() {
+        GuiMetadataInterner interner = new GuiMetadataInterner();
+
+        assertNotSame(interner.nineSlice(200, 20, 1, 2, 3, 4), interner.nineSlice(200, 20, 4, 3, 2, 1));
+    }
+
+    @Test
+    public void tileAndNineSlice_SameFrameSizeZeroBorders_DifferentInstance() {
+        GuiMetadataInterner interner = new GuiMetadataInterner();
+
+        assertNotSame(interner.tile(200, 20), interner.nineSlice(200, 20, 0, 0, 0, 0));
+    }
+
+    @Test
+    public void hitsAndMisses_RepeatedConfigurations_CountedSeparately() {
+        GuiMetadataInterner interner = new GuiMetadataInterner();
+        interner.nineSlice(200, 20, 4, 4, 4, 4);
+        interner.nineSlice(200, 20, 4, 4, 4, 4);
+        interner.nineSlice(200, 20, 4, 4, 4, 4);
+        interner.tile(16, 16);
+        interner.stretch();
+        interner.stretch();
+
+        assertEquals(3, interner.hits());
+        assertEquals(3, interner.misses());
+        assertEquals(3, interner.size());
+    }
+
+    @Test
+    public void intern_MaxEntriesReached_NewConfigurationsNotRetained() {
+        GuiMetadataInterner interner = new GuiMetadataInterner(1);
+        GuiMetadata retained = interner.tile(10, 10);
+        GuiMetadata first = interner.tile(20, 20);
+        GuiMetadata second = interner.tile(20, 20);
+
+        assertSame(retained, interner.tile(10, 10));
+        assertNotSame(first, second);
+        assertEquals(first.frameWidth(), second.frameWidth());
+        assertEquals(1, interner.size());
+        assertEquals(3, interner.misses());
+    }
+
+    @Test
+    public void intern_ZeroMaxEntries_NothingRetained() {
+        GuiMetadataInterner interner = new GuiMetadataInterner(0);
+
+        assertNotSame(interner.stretch(), interner.stretch());
+        assertEquals(0, interner.size());
+        assertEquals(0, interner.hits());
+    }
+
+    @Test
+    public void intern_ManyThreads_AllGetSameInstance() throws ExecutionException, InterruptedException {
+        GuiMetadataInterner interner = new GuiMetadataInterner();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<GuiMetadata>> futures = new ArrayList<>();
+            for (int task = 0; task < 64; task++) {
+                futures.add(executor.submit(() -> interner.nineSlice(200, 20, 4, 4, 4, 4)));
+            }
+
+            GuiMetadata expected = futures.get(0).get();
+            for (Future<GuiMetadata> future : futures) {
+                assertSame(expected, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, interner.size());
+        assertEquals(64, interner.hits() + interner.misses());
+    }
+
+}
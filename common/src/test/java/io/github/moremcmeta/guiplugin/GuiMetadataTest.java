@@ -0,0 +1,121 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link GuiMetadata}.
+ * @author soir20
+ */
+public final class GuiMetadataTest {
+
+    @Test
+    public void construct_Stretch_NoFrameSizeOrBorders() {
+        GuiMetadata metadata = new GuiMetadata(GuiMetadata.Type.STRETCH, 10, 20, 1, 2, 3, 4);
+
+        assertEquals(GuiMetadata.Type.STRETCH, metadata.type());
+        assertEquals(new GuiScaling.Stretch(), metadata.scaling());
+        assertEquals(new GuiScaling.Stretch(), metadata.guiScaling().orElseThrow());
+        assertFalse(metadata.frameWidth().isPresent());
+        assertFalse(metadata.frameHeight().isPresent());
+        assertEquals(0, metadata.left());
+        assertEquals(0, metadata.right());
+        assertEquals(0, metadata.top());
+        assertEquals(0, metadata.bottom());
+    }
+
+    @Test
+    public void construct_Tile_FrameSizeNoBorders() {
+        GuiMetadata metadata = new GuiMetadata(GuiMetadata.Type.TILE, 10, 20, 1, 2, 3, 4);
+
+        assertEquals(GuiMetadata.Type.TILE, metadata.type());
+        assertEquals(new GuiScaling.Tile(), metadata.scaling());
+        assertEquals(10, (int) metadata.frameWidth().orElseThrow());
+        assertEquals(20, (int) metadata.frameHeight().orElseThrow());
+        assertEquals(0, metadata.left());
+        assertEquals(0, metadata.right());
+        assertEquals(0, metadata.top());
+        assertEquals(0, metadata.bottom());
+    }
+
+    @Test
+    public void construct_NineSlice_FrameSizeAndBorders() {
+        GuiMetadata metadata = new GuiMetadata(GuiMetadata.Type.NINE_SLICE, 10, 20, 1, 2, 3, 4);
+
+        assertEquals(GuiMetadata.Type.NINE_SLICE, metadata.type());
+        assertEquals(new GuiScaling.NineSlice(1, 2, 3, 4), metadata.scaling());
+        assertEquals(new GuiScaling.NineSlice(1, 2, 3, 4), metadata.guiScaling().orElseThrow());
+        assertEquals(10, (int) metadata.frameWidth().orElseThrow());
+        assertEquals(20, (int) metadata.frameHeight().orElseThrow());
+        assertEquals(1, metadata.left());
+        assertEquals(2, metadata.right());
+        assertEquals(3, metadata.top());
+        assertEquals(4, metadata.bottom());
+    }
+
+    @Test
+    public void frameWidthOr_Stretch_Fallback() {
+        GuiMetadata metadata = new GuiMetadata(GuiMetadata.Type.STRETCH, 10, 20, 0, 0, 0, 0);
+
+        assertEquals(100, metadata.frameWidthOr(100));
+        assertEquals(200, metadata.frameHeightOr(200));
+    }
+
+    @Test
+    public void frameWidthOr_Tile_FrameSize() {
+        GuiMetadata metadata = new GuiMetadata(GuiMetadata.Type.TILE, 10, 20, 0, 0, 0, 0);
+
+        assertEquals(10, metadata.frameWidthOr(100));
+        assertEquals(20, metadata.frameHeightOr(200));
+    }
+
+    @Test
+    public void accessors_CalledTwice_SameOptionals() {
+        GuiMetadata metadata = new GuiMetadata(GuiMetadata.Type.NINE_SLICE, 10, 20, 1, 2, 3, 4);
+
+        assertSame(metadata.frameWidth(), metadata.frameWidth());
+        assertSame(metadata.frameHeight(), metadata.frameHeight());
+        assertSame(metadata.guiScaling(), metadata.guiScaling());
+    }
+
+    @Test
+    public void matches_SameConfiguration_True() {
+        GuiMetadata metadata = new GuiMetadata(GuiMetadata.Type.NINE_SLICE, 10, 20, 1, 2, 3, 4);
+
+        assertTrue(metadata.matches(GuiMetadata.Type.NINE_SLICE, 10, 20, 1, 2, 3, 4));
+    }
+
+    @Test
+    public void matches_DifferentType_False() {
+        GuiMetadata metadata = new GuiMetadata(GuiMetadata.Type.TILE, 10, 20, 0, 0, 0, 0);
+
+        assertFalse(metadata.matches(GuiMetadata.Type.NINE_SLICE, 10, 20, 0, 0, 0, 0));
+    }
+
+    @Test
+    public void matches_DifferentBorder_False() {
+        GuiMetadata metadata = new GuiMetadata(GuiMetadata.Type.NINE_SLICE, 10, 20, 1, 2, 3, 4);
+
+        assertFalse(metadata.matches(GuiMetadata.Type.NINE_SLICE, 10, 20, 1, 2, 3, 5));
+    }
+
+}
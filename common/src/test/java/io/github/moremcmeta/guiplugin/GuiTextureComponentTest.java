@@ -0,0 +1,118 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link GuiTextureComponent}.
+ * @author soir20
+ */
+public final class GuiTextureComponentTest {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void construct_NullMetadata_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new GuiTextureComponent<>(null, 1);
+    }
+
+    @Test
+    public void scaling_NineSlice_SameAsMetadata() {
+        GuiTextureComponent<Object> component = new GuiTextureComponent<>(
+                new GuiMetadata(GuiMetadata.Type.NINE_SLICE, 16, 16, 1, 2, 3, 4), 1
+        );
+
+        assertEquals(new GuiScaling.NineSlice(1, 2, 3, 4), component.scaling().orElseThrow());
+    }
+
+    @Test
+    public void nineSliceLayout_NineSlice_SameAsGeometry() {
+        GuiTextureComponent<Object> component = new GuiTextureComponent<>(
+                new GuiMetadata(GuiMetadata.Type.NINE_SLICE, 16, 16, 1, 2, 3, 4), 1
+        );
+        QuadBuffer expected = new QuadBuffer();
+        NineSliceGeometry.layout(new GuiScaling.NineSlice(1, 2, 3, 4), 16, 16, 50, 40, 3, expected);
+
+        assertArrayEquals(expected.toArray(), component.nineSliceLayout(50, 40, 3), 0);
+    }
+
+    @Test
+    public void nineSliceLayout_SameSizeTwice_CachedLayout() {
+        GuiTextureComponent<Object> component = new GuiTextureComponent<>(
+                new GuiMetadata(GuiMetadata.Type.NINE_SLICE, 16, 16, 1, 2, 3, 4), 1
+        );
+
+        assertSame(component.nineSliceLayout(50, 40, 3), component.nineSliceLayout(50, 40, 3));
+    }
+
+    @Test
+    public void nineSliceLayout_Stretch_IllegalStateException() {
+        GuiTextureComponent<Object> component = new GuiTextureComponent<>(
+                new GuiMetadata(GuiMetadata.Type.STRETCH, 0, 0, 0, 0, 0, 0), 1
+        );
+
+        expectedException.expect(IllegalStateException.class);
+        component.nineSliceLayout(50, 40, 3);
+    }
+
+    @Test
+    public void construct_NoFrames_IllegalArgException() {
+        expectedException.expect(IllegalArgumentException.class);
+        new GuiTextureComponent<>(new GuiMetadata(GuiMetadata.Type.TILE, 16, 16, 0, 0, 0, 0), 0);
+    }
+
+    @Test
+    public void tileLayout_SingleFrame_OneWrappedQuad() {
+        GuiTextureComponent<Object> component = new GuiTextureComponent<>(
+                new GuiMetadata(GuiMetadata.Type.TILE, 16, 8, 0, 0, 0, 0), 1
+        );
+        QuadBuffer buffer = new QuadBuffer();
+
+        assertEquals(1, component.tileLayout(40, 20, buffer));
+        assertArrayEquals(new float[] {0, 0, 40, 20, 0, 0, 2.5f, 2.5f}, buffer.toArray(), 0);
+    }
+
+    @Test
+    public void tileLayout_MultipleFrames_QuadPerTile() {
+        GuiTextureComponent<Object> component = new GuiTextureComponent<>(
+                new GuiMetadata(GuiMetadata.Type.TILE, 16, 8, 0, 0, 0, 0), 4
+        );
+        QuadBuffer buffer = new QuadBuffer();
+
+        assertEquals(9, component.tileLayout(40, 20, buffer));
+    }
+
+    @Test
+    public void tileLayout_NineSlice_IllegalStateException() {
+        GuiTextureComponent<Object> component = new GuiTextureComponent<>(
+                new GuiMetadata(GuiMetadata.Type.NINE_SLICE, 16, 16, 1, 2, 3, 4), 1
+        );
+
+        expectedException.expect(IllegalStateException.class);
+        component.tileLayout(50, 40, new QuadBuffer());
+    }
+
+}
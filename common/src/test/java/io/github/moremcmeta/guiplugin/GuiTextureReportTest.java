@@ -0,0 +1,339 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.github.moremcmeta.guiplugin;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link GuiTextureReport}.
+ * @author soir20
+ */
+public final class GuiTextureReportTest {
+    private static final GuiMetadata NINE_SLICE = new GuiMetadata(GuiMetadata.Type.NINE_SLICE, 16, 8, 1, 2, 3, 4);
+    private static final GuiMetadata STRETCH = new GuiMetadata(GuiMetadata.Type.STRETCH, 0, 0, 0, 0, 0, 0);
+    private static final GuiMetadata TILE = new GuiMetadata(GuiMetadata.Type.TILE, 8, 8, 0, 0, 0, 0);
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void construct_NegativeTopOffenders_IllegalArgException() {
+        expectedException.expect(IllegalArgumentException.class);
+        new GuiTextureReport(-1);
+    }
+
+    @Test
+    public void configuredFormat_PropertyNotSet_Empty() {
+        System.clearProperty(GuiTextureReport.FORMAT_PROPERTY);
+        assertEquals(Optional.empty(), GuiTextureReport.configuredFormat());
+    }
+
+    @Test
+    public void configuredFormat_KnownFormatAnyCase_FormatFound() {
+        System.setProperty(GuiTextureReport.FORMAT_PROPERTY, " Csv ");
+        try {
+            assertEquals(Optional.of(GuiTextureReport.Format.CSV), GuiTextureReport.configuredFormat());
+        } finally {
+            System.clearProperty(GuiTextureReport.FORMAT_PROPERTY);
+        }
+    }
+
+    @Test
+    public void configuredFormat_UnknownFormat_Empty() {
+        System.setProperty(GuiTextureReport.FORMAT_PROPERTY, "xml");
+        try {
+            assertEquals(Optional.empty(), GuiTextureReport.configuredFormat());
+        } finally {
+            System.clearProperty(GuiTextureReport.FORMAT_PROPERTY);
+        }
+    }
+
+    @Test
+    public void record_NullEntry_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new GuiTextureReport().record(null);
+    }
+
+    @Test
+    public void analyzed_NullMetadata_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        GuiTextureReport.Entry.analyzed(null, 16, 16, 0);
+    }
+
+    @Test
+    public void failed_NullProblem_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        GuiTextureReport.Entry.failed(null, 16, 16, 0);
+    }
+
+    @Test
+    public void analyzed_NegativeImageSize_IllegalArgException() {
+        expectedException.expect(IllegalArgumentException.class);
+        GuiTextureReport.Entry.analyzed(NINE_SLICE, -1, 16, 0);
+    }
+
+    @Test
+    public void analyzed_NineSlice_LayoutCacheCountedOnHeap() {
+        GuiTextureReport.Entry entry = GuiTextureReport.Entry.analyzed(NINE_SLICE, 16, 16, 100);
+
+        assertEquals("nine_slice", entry.typeName());
+        assertEquals(16, entry.frameWidth());
+        assertEquals(8, entry.frameHeight());
+        assertEquals(1024, entry.textureBytes());
+        assertEquals(1024 + NineSliceLayoutCache.DEFAULT_MAX_LAYOUTS * 9 * 8 * 4, entry.heapBytes());
+        assertEquals(entry.heapBytes() + entry.textureBytes(), entry.totalBytes());
+    }
+
+    @Test
+    public void analyzed_Stretch_FrameIsImageAndOnlyImageCounted() {
+        GuiTextureReport.Entry entry = GuiTextureReport.Entry.analyzed(STRETCH, 10, 20, 100);
+
+        assertEquals("stretch", entry.typeName());
+        assertEquals(10, entry.frameWidth());
+        assertEquals(20, entry.frameHeight());
+        assertEquals(800, entry.textureBytes());
+        assertEquals(800, entry.heapBytes());
+    }
+
+    @Test
+    public void analyzed_Tile_OnlyImageCounted() {
+        GuiTextureReport.Entry entry = GuiTextureReport.Entry.analyzed(TILE, 8, 16, 100);
+
+        assertEquals("tile", entry.typeName());
+        assertEquals(512, entry.textureBytes());
+        assertEquals(512, entry.heapBytes());
+    }
+
+    @Test
+    public void failed_Problem_NoMemoryCounted() {
+        GuiTextureReport.Entry entry = GuiTextureReport.Entry.failed("Missing scaling section", 64, 64, 100);
+
+        assertEquals("invalid", entry.typeName());
+        assertEquals(Optional.of("Missing scaling section"), entry.problem());
+        assertEquals(Optional.empty(), entry.scaling());
+        assertEquals(0, entry.totalBytes());
+    }
+
+    @Test
+    public void analyzed_NegativeTime_ClampedToZero() {
+        assertEquals(0, GuiTextureReport.Entry.analyzed(TILE, 8, 8, -5).analysisNanos());
+    }
+
+    @Test
+    public void entries_SeveralRecorded_InRecordingOrder() {
+        GuiTextureReport report = new GuiTextureReport();
+        GuiTextureReport.Entry first = GuiTextureReport.Entry.analyzed(TILE, 8, 8, 1);
+        GuiTextureReport.Entry second = GuiTextureReport.Entry.analyzed(STRETCH, 8, 8, 1);
+        report.record(first);
+        report.record(second);
+
+        assertEquals(List.of(first, second), report.entries());
+    }
+
+    @Test
+    public void drain_EntriesRecorded_MovedToNewReport() {
+        GuiTextureReport report = new GuiTextureReport();
+        GuiTextureReport.Entry entry = GuiTextureReport.Entry.analyzed(TILE, 8, 8, 1);
+        report.record(entry);
+
+        GuiTextureReport drained = report.drain();
+
+        assertEquals(List.of(entry), drained.entries());
+        assertTrue(report.entries().isEmpty());
+    }
+
+    @Test
+    public void clear_EntriesRecorded_Empty() {
+        GuiTextureReport report = new GuiTextureReport();
+        report.record(GuiTextureReport.Entry.analyzed(TILE, 8, 8, 1));
+        report.clear();
+
+        assertTrue(report.entries().isEmpty());
+    }
+
+    @Test
+    public void write_NullFormat_NullPointerException() throws IOException {
+        expectedException.expect(NullPointerException.class);
+        new GuiTextureReport().write(null, new StringWriter());
+    }
+
+    @Test
+    public void write_NullWriter_NullPointerException() throws IOException {
+        expectedException.expect(NullPointerException.class);
+        new GuiTextureReport().write(GuiTextureReport.Format.JSON, (StringWriter) null);
+    }
+
+    @Test
+    public void write_JsonEmpty_ZeroTotals() throws IOException {
+        JsonObject root = writeJson(new GuiTextureReport());
+
+        assertEquals(0, root.getAsJsonArray("textures").size());
+        assertEquals(0, root.getAsJsonObject("totals").get("textures").getAsInt());
+        assertEquals(0, root.getAsJsonObject("totals").get("heap_bytes").getAsLong());
+        assertEquals(0, root.getAsJsonArray("largest").size());
+    }
+
+    @Test
+    public void write_Json_EveryTextureWithDetails() throws IOException {
+        GuiTextureReport report = new GuiTextureReport();
+        report.record(GuiTextureReport.Entry.analyzed(NINE_SLICE, 16, 16, 100));
+        report.record(GuiTextureReport.Entry.failed("Missing \"type\"", 4, 4, 50));
+
+        JsonObject root = writeJson(report);
+        JsonArray textures = root.getAsJsonArray("textures");
+        JsonObject nineSlice = textures.get(0).getAsJsonObject();
+        JsonObject invalid = textures.get(1).getAsJsonObject();
+
+        assertEquals(2, textures.size());
+        assertEquals(0, nineSlice.get("index").getAsInt());
+        assertEquals("nine_slice", nineSlice.get("type").getAsString());
+        assertEquals(16, nineSlice.get("frame_width").getAsInt());
+        assertEquals(8, nineSlice.get("frame_height").getAsInt());
+        assertEquals(1, nineSlice.getAsJsonObject("borders").get("left").getAsInt());
+        assertEquals(2, nineSlice.getAsJsonObject("borders").get("right").getAsInt());
+        assertEquals(3, nineSlice.getAsJsonObject("borders").get("top").getAsInt());
+        assertEquals(4, nineSlice.getAsJsonObject("borders").get("bottom").getAsInt());
+        assertEquals(100, nineSlice.get("analysis_ns").getAsLong());
+        assertEquals(1024, nineSlice.get("texture_bytes").getAsLong());
+        assertFalse(nineSlice.has("problem"));
+
+        assertEquals("invalid", invalid.get("type").getAsString());
+        assertEquals("Missing \"type\"", invalid.get("problem").getAsString());
+        assertFalse(invalid.has("frame_width"));
+        assertFalse(invalid.has("borders"));
+    }
+
+    @Test
+    public void write_Json_TotalsSummed() throws IOException {
+        GuiTextureReport report = new GuiTextureReport();
+        report.record(GuiTextureReport.Entry.analyzed(TILE, 8, 16, 100));
+        report.record(GuiTextureReport.Entry.analyzed(STRETCH, 10, 20, 200));
+        report.record(GuiTextureReport.Entry.failed("Bad", 4, 4, 50));
+
+        JsonObject totals = writeJson(report).getAsJsonObject("totals");
+
+        assertEquals(3, totals.get("textures").getAsInt());
+        assertEquals(1, totals.get("invalid").getAsInt());
+        assertEquals(350, totals.get("analysis_ns").getAsLong());
+        assertEquals(512 + 800, totals.get("heap_bytes").getAsLong());
+        assertEquals(512 + 800, totals.get("texture_bytes").getAsLong());
+    }
+
+    @Test
+    public void write_JsonMoreTexturesThanTopOffenders_LargestListedInOrder() throws IOException {
+        GuiTextureReport report = new GuiTextureReport(2);
+        report.record(GuiTextureReport.Entry.analyzed(TILE, 8, 8, 1));
+        report.record(GuiTextureReport.Entry.analyzed(TILE, 256, 256, 1));
+        report.record(GuiTextureReport.Entry.analyzed(TILE, 16, 16, 1));
+        report.record(GuiTextureReport.Entry.analyzed(TILE, 512, 256, 1));
+
+        JsonArray largest = writeJson(report).getAsJsonArray("largest");
+
+        assertEquals(2, largest.size());
+        assertEquals(3, largest.get(0).getAsJsonObject().get("index").getAsInt());
+        assertEquals(1, largest.get(0).getAsJsonObject().get("memory_rank").getAsInt());
+        assertEquals(1, largest.get(1).getAsJsonObject().get("index").getAsInt());
+        assertEquals(2, largest.get(1).getAsJsonObject().get("memory_rank").getAsInt());
+    }
+
+    @Test
+    public void write_Csv_HeaderRowsAndTotals() throws IOException {
+        GuiTextureReport report = new GuiTextureReport();
+        report.record(GuiTextureReport.Entry.analyzed(NINE_SLICE, 16, 16, 100));
+        report.record(GuiTextureReport.Entry.analyzed(STRETCH, 64, 64, 200));
+
+        String[] lines = writeCsv(report).split("\n");
+
+        assertEquals(4, lines.length);
+        assertEquals("index,type,image_width,image_height,frame_width,frame_height,left,right,top,bottom,"
+                + "analysis_ns,heap_bytes,texture_bytes,memory_rank,problem", lines[0]);
+        assertEquals("0,nine_slice,16,16,16,8,1,2,3,4,100,3328,1024,2,", lines[1]);
+        assertEquals("1,stretch,64,64,64,64,,,,,200,16384,16384,1,", lines[2]);
+        assertEquals("total,2,,,,,,,,,300,19712,17408,,", lines[3]);
+    }
+
+    @Test
+    public void write_CsvProblemWithSeparators_Quoted() throws IOException {
+        GuiTextureReport report = new GuiTextureReport();
+        report.record(GuiTextureReport.Entry.failed("Expected \"a\", got b", 4, 4, 7));
+
+        String[] lines = writeCsv(report).split("\n");
+
+        assertEquals("0,invalid,4,4,,,,,,,7,0,0,1,\"Expected \"\"a\"\", got b\"", lines[1]);
+    }
+
+    @Test
+    public void write_FileInMissingDirectory_DirectoryCreated() throws IOException {
+        GuiTextureReport report = new GuiTextureReport();
+        report.record(GuiTextureReport.Entry.analyzed(TILE, 8, 8, 1));
+        Path file = temporaryFolder.getRoot().toPath().resolve("moremcmeta").resolve("report.csv");
+
+        report.write(GuiTextureReport.Format.CSV, file);
+
+        assertEquals(3, Files.readAllLines(file, StandardCharsets.UTF_8).size());
+    }
+
+    @Test
+    public void extension_Formats_LowerCaseNames() {
+        assertEquals("json", GuiTextureReport.Format.JSON.extension());
+        assertEquals("csv", GuiTextureReport.Format.CSV.extension());
+    }
+
+    /**
+     * Writes a report as JSON and parses it.
+     * @param report        report to write
+     * @return root object of the report
+     * @throws IOException if the report cannot be written
+     */
+    private static JsonObject writeJson(GuiTextureReport report) throws IOException {
+        StringWriter out = new StringWriter();
+        report.write(GuiTextureReport.Format.JSON, out);
+        return JsonParser.parseString(out.toString()).getAsJsonObject();
+    }
+
+    /**
+     * Writes a report as CSV.
+     * @param report        report to write
+     * @return text of the report
+     * @throws IOException if the report cannot be written
+     */
+    private static String writeCsv(GuiTextureReport report) throws IOException {
+        StringWriter out = new StringWriter();
+        report.write(GuiTextureReport.Format.CSV, out);
+        return out.toString();
+    }
+
+}
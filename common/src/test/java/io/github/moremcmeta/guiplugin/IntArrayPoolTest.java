@@ -0,0 +1,132 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link IntArrayPool}.
+ * @author soir20
+ */
+public final class IntArrayPoolTest {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void construct_NegativeMax_IllegalArgumentException() {
+        expectedException.expect(IllegalArgumentException.class);
+        new IntArrayPool(-1);
+    }
+
+    @Test
+    public void acquire_NegativeLength_IllegalArgumentException() {
+        expectedException.expect(IllegalArgumentException.class);
+        new IntArrayPool().acquire(-1);
+    }
+
+    @Test
+    public void acquire_TooLarge_IllegalArgumentException() {
+        expectedException.expect(IllegalArgumentException.class);
+        new IntArrayPool().acquire(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void acquire_Zero_NonNullArray() {
+        assertNotNull(new IntArrayPool().acquire(0));
+    }
+
+    @Test
+    public void acquire_NotPowerOfTwo_RoundedUp() {
+        assertEquals(128, new IntArrayPool().acquire(100).length);
+    }
+
+    @Test
+    public void acquire_PowerOfTwo_ExactLength() {
+        assertEquals(64, new IntArrayPool().acquire(64).length);
+    }
+
+    @Test
+    public void acquire_AfterRelease_SameArrayReused() {
+        IntArrayPool pool = new IntArrayPool();
+        int[] array = pool.acquire(100);
+        pool.release(array);
+
+        assertSame(array, pool.acquire(90));
+        assertEquals(0, pool.freeArrays());
+    }
+
+    @Test
+    public void acquire_ReleasedArrayOfOtherSize_NewArray() {
+        IntArrayPool pool = new IntArrayPool();
+        int[] array = pool.acquire(100);
+        pool.release(array);
+
+        assertNotSame(array, pool.acquire(200));
+        assertEquals(1, pool.freeArrays());
+    }
+
+    @Test
+    public void release_Null_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new IntArrayPool().release(null);
+    }
+
+    @Test
+    public void release_NotPowerOfTwo_NotPooled() {
+        IntArrayPool pool = new IntArrayPool();
+        pool.release(new int[100]);
+
+        assertEquals(0, pool.freeArrays());
+    }
+
+    @Test
+    public void release_MoreThanMax_ExtraArraysDropped() {
+        IntArrayPool pool = new IntArrayPool(2);
+        pool.release(new int[16]);
+        pool.release(new int[16]);
+        pool.release(new int[16]);
+        pool.release(new int[32]);
+
+        assertEquals(3, pool.freeArrays());
+    }
+
+    @Test
+    public void release_AlreadyReleased_IllegalArgumentException() {
+        IntArrayPool pool = new IntArrayPool();
+        int[] array = pool.acquire(16);
+        pool.release(array);
+
+        expectedException.expect(IllegalArgumentException.class);
+        pool.release(array);
+    }
+
+    @Test
+    public void release_EqualContentsButDifferentArray_BothPooled() {
+        IntArrayPool pool = new IntArrayPool();
+        pool.release(new int[16]);
+        pool.release(new int[16]);
+
+        assertEquals(2, pool.freeArrays());
+    }
+
+}
@@ -0,0 +1,322 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import com.google.common.collect.ImmutableMap;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.AnalyzedMetadata;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.InvalidMetadataException;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataAnalyzer;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataView;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link LazyMetadataAnalyzer}.
+ * @author soir20
+ */
+public final class LazyMetadataAnalyzerTest {
+    private static final MetadataView NINE_SLICE = ArrayMetadataView.copyOf(ImmutableMap.of(
+            "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                    "type", "nine_slice",
+                    "width", 16,
+                    "height", 8,
+                    "border", 2
+            ))
+    ));
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void construct_NullDelegate_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new LazyMetadataAnalyzer(null);
+    }
+
+    @Test
+    public void analyze_NullMetadata_NullPointerException() throws InvalidMetadataException {
+        expectedException.expect(NullPointerException.class);
+        new LazyMetadataAnalyzer(new GuiMetadataAnalyzer()).analyze(null, 100, 100);
+    }
+
+    @Test
+    public void analyze_MissingScaling_InvalidMetadataException() throws InvalidMetadataException {
+        CountingAnalyzer delegate = new CountingAnalyzer();
+
+        expectedException.expect(InvalidMetadataException.class);
+        expectedException.expectMessage("Missing scaling section");
+        new LazyMetadataAnalyzer(delegate).analyze(ArrayMetadataView.copyOf(ImmutableMap.of()), 100, 100);
+    }
+
+    @Test
+    public void analyze_MissingType_InvalidMetadataException() throws InvalidMetadataException {
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "width", 16
+                ))
+        ));
+
+        expectedException.expect(InvalidMetadataException.class);
+        expectedException.expectMessage("Missing type field in scaling section");
+        new LazyMetadataAnalyzer(new CountingAnalyzer()).analyze(metadata, 100, 100);
+    }
+
+    @Test
+    public void analyze_StructurallyValid_NotAnalyzedUntilRead() throws InvalidMetadataException {
+        CountingAnalyzer delegate = new CountingAnalyzer();
+
+        new LazyMetadataAnalyzer(delegate).analyze(NINE_SLICE, 100, 100);
+
+        assertEquals(0, delegate.CALLS.get());
+    }
+
+    @Test
+    public void analyze_Read_SameAsFullAnalysis() throws InvalidMetadataException {
+        CountingAnalyzer delegate = new CountingAnalyzer();
+        AnalyzedMetadata result = new LazyMetadataAnalyzer(delegate).analyze(NINE_SLICE, 100, 100);
+
+        assertEquals(new GuiScaling.NineSlice(2, 2, 2, 2), result.guiScaling().orElseThrow());
+        assertEquals(16, (int) result.frameWidth().orElseThrow());
+        assertEquals(8, (int) result.frameHeight().orElseThrow());
+        assertEquals(1, delegate.CALLS.get());
+    }
+
+    @Test
+    public void analyze_ReadFromManyThreads_AnalyzedOnce() throws InvalidMetadataException, InterruptedException {
+        CountingAnalyzer delegate = new CountingAnalyzer();
+        AnalyzedMetadata result = new LazyMetadataAnalyzer(delegate).analyze(NINE_SLICE, 100, 100);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        AtomicInteger mismatches = new AtomicInteger();
+
+        for (int thread = 0; thread < 8; thread++) {
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException err) {
+                    Thread.currentThread().interrupt();
+                }
+
+                if (!new GuiScaling.NineSlice(2, 2, 2, 2).equals(result.guiScaling().orElse(null))) {
+                    mismatches.incrementAndGet();
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, mismatches.get());
+        assertEquals(1, delegate.CALLS.get());
+    }
+
+    @Test
+    public void analyze_InvalidBorderFoundLate_ScalingEmptyAndAnalyzedOnce() throws InvalidMetadataException {
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "nine_slice",
+                        "width", 16,
+                        "height", 8,
+                        "border", -2
+                ))
+        ));
+        CountingAnalyzer delegate = new CountingAnalyzer();
+        AnalyzedMetadata result = new LazyMetadataAnalyzer(delegate).analyze(metadata, 100, 100);
+
+        assertFalse(result.guiScaling().isPresent());
+        assertFalse(result.guiScaling().isPresent());
+        assertEquals(16, (int) result.frameWidth().orElseThrow());
+        assertEquals(8, (int) result.frameHeight().orElseThrow());
+        assertEquals(1, delegate.CALLS.get());
+    }
+
+    @Test
+    public void analyze_FrameSizeReadAfterAnalysis_NoFullAnalysis() throws InvalidMetadataException {
+        CountingAnalyzer delegate = new CountingAnalyzer();
+        AnalyzedMetadata result = new LazyMetadataAnalyzer(delegate).analyze(NINE_SLICE, 100, 100);
+
+        assertEquals(16, (int) result.frameWidth().orElseThrow());
+        assertEquals(8, (int) result.frameHeight().orElseThrow());
+        assertEquals(0, delegate.CALLS.get());
+    }
+
+    @Test
+    public void analyze_StretchFrameSizeRead_EmptyWithoutFullAnalysis() throws InvalidMetadataException {
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "stretch"
+                ))
+        ));
+        CountingAnalyzer delegate = new CountingAnalyzer();
+        AnalyzedMetadata result = new LazyMetadataAnalyzer(delegate).analyze(metadata, 100, 100);
+
+        assertFalse(result.frameWidth().isPresent());
+        assertFalse(result.frameHeight().isPresent());
+        assertEquals(0, delegate.CALLS.get());
+    }
+
+    @Test
+    public void analyze_UnknownType_InvalidMetadataException() throws InvalidMetadataException {
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "nine-slice",
+                        "width", 16,
+                        "height", 8
+                ))
+        ));
+
+        expectedException.expect(InvalidMetadataException.class);
+        expectedException.expectMessage("Unknown scaling type");
+        new LazyMetadataAnalyzer(new CountingAnalyzer()).analyze(metadata, 100, 100);
+    }
+
+    @Test
+    public void analyze_UnknownTypeWithoutFrameSize_SameErrorAsFullAnalysis() {
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "nine-slice",
+                        "height", 8
+                ))
+        ));
+
+        assertEquals(errorMessage(new GuiMetadataAnalyzer(), metadata),
+                errorMessage(new LazyMetadataAnalyzer(new CountingAnalyzer()), metadata));
+    }
+
+    @Test
+    public void analyze_MissingFrameHeight_InvalidMetadataException() throws InvalidMetadataException {
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "tile",
+                        "width", 16
+                ))
+        ));
+
+        expectedException.expect(InvalidMetadataException.class);
+        expectedException.expectMessage("Missing height field in scaling section");
+        new LazyMetadataAnalyzer(new CountingAnalyzer()).analyze(metadata, 100, 100);
+    }
+
+    @Test
+    public void analyze_FrameWidthNotPositive_InvalidMetadataException() throws InvalidMetadataException {
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "tile",
+                        "width", -16,
+                        "height", 8
+                ))
+        ));
+
+        expectedException.expect(InvalidMetadataException.class);
+        expectedException.expectMessage("Frame width must be positive");
+        new LazyMetadataAnalyzer(new CountingAnalyzer()).analyze(metadata, 100, 100);
+    }
+
+    @Test
+    public void analyze_CustomTypeRegistered_Recognized() throws InvalidMetadataException {
+        ScalingTypeRegistry types = ScalingTypeRegistry.withBuiltInTypes();
+        types.register("custom", new ScalingType() {
+            @Override
+            public Set<Field> fields() {
+                return EnumSet.noneOf(Field.class);
+            }
+
+            @Override
+            public GuiMetadata create(GuiMetadataInterner interner, int frameWidth, int frameHeight,
+                                      int left, int right, int top, int bottom) {
+                return interner.stretch();
+            }
+        });
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "custom"
+                ))
+        ));
+
+        AnalyzedMetadata result = new LazyMetadataAnalyzer(new CountingAnalyzer(), types).analyze(metadata, 100, 100);
+
+        assertFalse(result.frameWidth().isPresent());
+    }
+
+    @Test
+    public void construct_NullTypes_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new LazyMetadataAnalyzer(new CountingAnalyzer(), null);
+    }
+
+    @Test
+    public void analyze_ComponentBuilt_NotAnalyzedUntilComponentUsed() throws InvalidMetadataException {
+        CountingAnalyzer delegate = new CountingAnalyzer();
+        AnalyzedMetadata result = new LazyMetadataAnalyzer(delegate).analyze(NINE_SLICE, 100, 100);
+
+        GuiTextureComponent<Object> component = new GuiTextureComponent<>(result, 1);
+        assertEquals(0, delegate.CALLS.get());
+
+        component.nineSliceLayout(32, 32, 1);
+        component.scaling();
+        assertEquals(1, delegate.CALLS.get());
+    }
+
+    /**
+     * Gets the message of the error an analyzer reports for invalid metadata.
+     * @param analyzer      analyzer to use
+     * @param metadata      invalid metadata
+     * @return message of the error
+     */
+    private static String errorMessage(MetadataAnalyzer analyzer, MetadataView metadata) {
+        try {
+            analyzer.analyze(metadata, 100, 100);
+        } catch (InvalidMetadataException err) {
+            return err.getMessage();
+        }
+
+        fail("Expected invalid metadata");
+        return null;
+    }
+
+    /**
+     * Analyzer that counts how many times it is called.
+     * @author soir20
+     */
+    private static final class CountingAnalyzer implements MetadataAnalyzer {
+        private final MetadataAnalyzer DELEGATE = new GuiMetadataAnalyzer();
+        private final AtomicInteger CALLS = new AtomicInteger();
+
+        @Override
+        public AnalyzedMetadata analyze(MetadataView metadata, int imageWidth, int imageHeight)
+                throws InvalidMetadataException {
+            CALLS.incrementAndGet();
+            return DELEGATE.analyze(metadata, imageWidth, imageHeight);
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.texture.FrameGroup;
+import io.github.moremcmeta.moremcmeta.api.client.texture.MutableFrameView;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates frames and frame groups for tests. Proxies are used so that only the methods the plugin
+ * calls need to be implemented.
+ * @author soir20
+ */
+public final class MockFrames {
+
+    /**
+     * Creates a frame with the given colors.
+     * @param width     width of the frame
+     * @param height    height of the frame
+     * @param pixels    colors in row-major order
+     * @param reads     incremented whenever a color is read
+     * @return the frame
+     */
+    public static MutableFrameView frame(int width, int height, int[] pixels, AtomicInteger reads) {
+        return (MutableFrameView) Proxy.newProxyInstance(
+                MockFrames.class.getClassLoader(),
+                new Class<?>[] { MutableFrameView.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "width" -> width;
+                    case "height" -> height;
+                    case "color" -> {
+                        if (args.length != 2) {
+                            throw new UnsupportedOperationException("Frames are read-only");
+                        }
+
+                        reads.incrementAndGet();
+                        yield pixels[(int) args[1] * width + (int) args[0]];
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "MockFrame[" + width + "x" + height + "]";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+
+    /**
+     * Creates a frame whose pixels are numbered in row-major order.
+     * @param width     width of the frame
+     * @param height    height of the frame
+     * @return the frame
+     */
+    public static MutableFrameView numbered(int width, int height) {
+        int[] pixels = new int[width * height];
+        for (int index = 0; index < pixels.length; index++) {
+            pixels[index] = index;
+        }
+
+        return frame(width, height, pixels, new AtomicInteger());
+    }
+
+    /**
+     * Creates a group of frames.
+     * @param frames    frames in the group
+     * @return the group
+     */
+    @SuppressWarnings("unchecked")
+    public static FrameGroup<MutableFrameView> group(MutableFrameView... frames) {
+        return (FrameGroup<MutableFrameView>) Proxy.newProxyInstance(
+                MockFrames.class.getClassLoader(),
+                new Class<?>[] { FrameGroup.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "frame" -> frames[(int) args[0]];
+                    case "frames" -> frames.length;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "MockFrameGroup[" + frames.length + "]";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+
+    /**
+     * Prevents this class from being constructed.
+     */
+    private MockFrames() {}
+
+}
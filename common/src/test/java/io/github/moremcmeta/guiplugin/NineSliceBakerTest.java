@@ -0,0 +1,193 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link NineSliceBaker}.
+ * @author soir20
+ */
+public final class NineSliceBakerTest {
+
+    /* 4x4 source with one-pixel borders:
+       0  1  2  3
+       4  5  6  7
+       8  9 10 11
+      12 13 14 15 */
+    private static final FramePixels SOURCE = FramePixels.resample(MockFrames.numbered(4, 4), 4, 4);
+    private static final GuiScaling.NineSlice ONE_PIXEL = new GuiScaling.NineSlice(1, 1, 1, 1);
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void construct_NullPool_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new NineSliceBaker(null, NineSliceBaker.Fill.STRETCH);
+    }
+
+    @Test
+    public void construct_NullFill_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new NineSliceBaker(new IntArrayPool(), null);
+    }
+
+    @Test
+    public void bake_NullSource_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new NineSliceBaker().bake(null, ONE_PIXEL, 4, 4);
+    }
+
+    @Test
+    public void bake_NullScaling_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new NineSliceBaker().bake(SOURCE, null, 4, 4);
+    }
+
+    @Test
+    public void bake_ZeroWidth_IllegalArgumentException() {
+        expectedException.expect(IllegalArgumentException.class);
+        new NineSliceBaker().bake(SOURCE, ONE_PIXEL, 0, 4);
+    }
+
+    @Test
+    public void bake_BufferTooSmall_IllegalArgumentException() {
+        expectedException.expect(IllegalArgumentException.class);
+        new NineSliceBaker().bake(SOURCE, ONE_PIXEL, 4, 4, new int[15]);
+    }
+
+    @Test
+    public void bake_SameSize_SameAsSource() {
+        assertEquals(SOURCE, new NineSliceBaker().bake(SOURCE, ONE_PIXEL, 4, 4));
+    }
+
+    @Test
+    public void bake_StretchLarger_CornersKeptAndMiddleStretched() {
+        FramePixels baked = new NineSliceBaker().bake(SOURCE, ONE_PIXEL, 6, 5);
+
+        assertArrayEquals(new int[] {
+                0,  1,  1,  2,  2,  3,
+                4,  5,  5,  6,  6,  7,
+                8,  9,  9, 10, 10, 11,
+                8,  9,  9, 10, 10, 11,
+                12, 13, 13, 14, 14, 15
+        }, baked.toArray());
+    }
+
+    @Test
+    public void bake_TileLarger_CornersKeptAndMiddleRepeated() {
+        NineSliceBaker baker = new NineSliceBaker(new IntArrayPool(), NineSliceBaker.Fill.TILE);
+        FramePixels baked = baker.bake(SOURCE, ONE_PIXEL, 7, 6);
+
+        assertArrayEquals(new int[] {
+                0,  1,  2,  1,  2,  1,  3,
+                4,  5,  6,  5,  6,  5,  7,
+                8,  9, 10,  9, 10,  9, 11,
+                4,  5,  6,  5,  6,  5,  7,
+                8,  9, 10,  9, 10,  9, 11,
+                12, 13, 14, 13, 14, 13, 15
+        }, baked.toArray());
+    }
+
+    @Test
+    public void bake_UnevenBorders_EachCornerKept() {
+        FramePixels source = FramePixels.resample(MockFrames.numbered(5, 3), 5, 3);
+        FramePixels baked = new NineSliceBaker().bake(source, new GuiScaling.NineSlice(2, 1, 0, 1), 8, 3);
+
+        assertArrayEquals(new int[] {
+                0,  1,  2,  2,  3,  3,  3,  4,
+                5,  6,  7,  7,  8,  8,  8,  9,
+                10, 11, 12, 12, 13, 13, 13, 14
+        }, baked.toArray());
+    }
+
+    @Test
+    public void bake_SmallerThanBorders_BordersShrinkAndSampleCenters() {
+        FramePixels source = FramePixels.resample(MockFrames.numbered(4, 4), 4, 4);
+        FramePixels baked = new NineSliceBaker().bake(source, new GuiScaling.NineSlice(2, 2, 2, 2), 2, 2);
+
+        assertArrayEquals(new int[] { 5, 7, 13, 15 }, baked.toArray());
+    }
+
+    @Test
+    public void bake_BordersCoverSource_MiddleUsesEdgeBetweenBorders() {
+        FramePixels source = FramePixels.resample(MockFrames.numbered(2, 1), 2, 1);
+        FramePixels baked = new NineSliceBaker().bake(source, new GuiScaling.NineSlice(1, 1, 0, 0), 4, 1);
+
+        assertArrayEquals(new int[] { 0, 1, 1, 1 }, baked.toArray());
+    }
+
+    @Test
+    public void bake_BordersLargerThanSource_Clamped() {
+        FramePixels baked = new NineSliceBaker().bake(SOURCE, new GuiScaling.NineSlice(10, 10, 10, 10), 4, 4);
+
+        assertEquals(SOURCE, baked);
+    }
+
+    @Test
+    public void bake_IntoLargerBuffer_RestOfBufferUntouched() {
+        int[] out = new int[20];
+        out[16] = -1;
+        new NineSliceBaker().bake(SOURCE, ONE_PIXEL, 4, 4, out);
+
+        assertEquals(15, out[15]);
+        assertEquals(-1, out[16]);
+    }
+
+    @Test
+    public void bake_ScratchBuffers_ReturnedToPool() {
+        IntArrayPool pool = new IntArrayPool();
+        NineSliceBaker baker = new NineSliceBaker(pool, NineSliceBaker.Fill.STRETCH);
+
+        baker.bake(SOURCE, ONE_PIXEL, 200, 20);
+        int freeAfterFirst = pool.freeArrays();
+        baker.bake(SOURCE, ONE_PIXEL, 200, 20);
+
+        assertEquals(2, freeAfterFirst);
+        assertEquals(2, pool.freeArrays());
+    }
+
+    @Test
+    public void bake_ButtonSize_MatchesSampledQuads() {
+        NineSliceBaker baker = new NineSliceBaker();
+        FramePixels source = FramePixels.resample(MockFrames.numbered(200, 20), 200, 20);
+        GuiScaling.NineSlice scaling = new GuiScaling.NineSlice(20, 4, 3, 3);
+
+        FramePixels baked = baker.bake(source, scaling, 300, 40);
+
+        // Every pixel is one the nine-slice quads would have sampled from the same region
+        for (int y = 0; y < 40; y++) {
+            for (int x = 0; x < 300; x++) {
+                int color = baked.color(x, y);
+                int sourceX = color % 200;
+                int sourceY = color / 200;
+                assertEquals(x < 20, sourceX < 20);
+                assertEquals(x >= 296, sourceX >= 196);
+                assertEquals(y < 3, sourceY < 3);
+                assertEquals(y >= 37, sourceY >= 17);
+            }
+        }
+    }
+
+}
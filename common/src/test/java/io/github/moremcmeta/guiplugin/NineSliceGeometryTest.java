@@ -0,0 +1,200 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link NineSliceGeometry}.
+ * @author soir20
+ */
+public final class NineSliceGeometryTest {
+    private static final float DELTA = 0.0001f;
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void layout_NullScaling_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        NineSliceGeometry.layout(null, 16, 16, 32, 32, 1, new QuadBuffer());
+    }
+
+    @Test
+    public void layout_NullBuffer_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        NineSliceGeometry.layout(new GuiScaling.NineSlice(4, 4, 4, 4), 16, 16, 32, 32, 1, null);
+    }
+
+    @Test
+    public void layout_ZeroFrameWidth_IllegalArgException() {
+        expectedException.expect(IllegalArgumentException.class);
+        NineSliceGeometry.layout(new GuiScaling.NineSlice(4, 4, 4, 4), 0, 16, 32, 32, 1, new QuadBuffer());
+    }
+
+    @Test
+    public void layout_NegativeTargetHeight_IllegalArgException() {
+        expectedException.expect(IllegalArgumentException.class);
+        NineSliceGeometry.layout(new GuiScaling.NineSlice(4, 4, 4, 4), 16, 16, 32, -1, 1, new QuadBuffer());
+    }
+
+    @Test
+    public void layout_ZeroGuiScale_IllegalArgException() {
+        expectedException.expect(IllegalArgumentException.class);
+        NineSliceGeometry.layout(new GuiScaling.NineSlice(4, 4, 4, 4), 16, 16, 32, 32, 0, new QuadBuffer());
+    }
+
+    @Test
+    public void layout_LargerTarget_NineQuadsWithFixedCorners() {
+        QuadBuffer buffer = new QuadBuffer();
+        int added = NineSliceGeometry.layout(new GuiScaling.NineSlice(2, 4, 3, 5), 16, 16, 40, 30, 1, buffer);
+
+        assertEquals(9, added);
+        assertEquals(9, buffer.quadCount());
+
+        assertQuad(buffer, 0, 0, 0, 2, 3, 0, 0, 2 / 16f, 3 / 16f);
+        assertQuad(buffer, 1, 2, 0, 36, 3, 2 / 16f, 0, 12 / 16f, 3 / 16f);
+        assertQuad(buffer, 2, 36, 0, 40, 3, 12 / 16f, 0, 1, 3 / 16f);
+        assertQuad(buffer, 3, 0, 3, 2, 25, 0, 3 / 16f, 2 / 16f, 11 / 16f);
+        assertQuad(buffer, 4, 2, 3, 36, 25, 2 / 16f, 3 / 16f, 12 / 16f, 11 / 16f);
+        assertQuad(buffer, 5, 36, 3, 40, 25, 12 / 16f, 3 / 16f, 1, 11 / 16f);
+        assertQuad(buffer, 6, 0, 25, 2, 30, 0, 11 / 16f, 2 / 16f, 1);
+        assertQuad(buffer, 7, 2, 25, 36, 30, 2 / 16f, 11 / 16f, 12 / 16f, 1);
+        assertQuad(buffer, 8, 36, 25, 40, 30, 12 / 16f, 11 / 16f, 1, 1);
+    }
+
+    @Test
+    public void layout_SameSizeAsFrame_QuadsMatchTexture() {
+        QuadBuffer buffer = new QuadBuffer();
+        NineSliceGeometry.layout(new GuiScaling.NineSlice(4, 4, 4, 4), 16, 16, 16, 16, 1, buffer);
+
+        for (int quad = 0; quad < buffer.quadCount(); quad++) {
+            assertEquals(buffer.get(quad, 0) / 16f, buffer.get(quad, 4), DELTA);
+            assertEquals(buffer.get(quad, 1) / 16f, buffer.get(quad, 5), DELTA);
+            assertEquals(buffer.get(quad, 2) / 16f, buffer.get(quad, 6), DELTA);
+            assertEquals(buffer.get(quad, 3) / 16f, buffer.get(quad, 7), DELTA);
+        }
+    }
+
+    @Test
+    public void layout_NoBorders_OnlyCenter() {
+        QuadBuffer buffer = new QuadBuffer();
+        int added = NineSliceGeometry.layout(new GuiScaling.NineSlice(0, 0, 0, 0), 16, 16, 40, 30, 1, buffer);
+
+        assertEquals(1, added);
+        assertQuad(buffer, 0, 0, 0, 40, 30, 0, 0, 1, 1);
+    }
+
+    @Test
+    public void layout_BordersFillTarget_NoCenter() {
+        QuadBuffer buffer = new QuadBuffer();
+        int added = NineSliceGeometry.layout(new GuiScaling.NineSlice(4, 4, 4, 4), 16, 16, 8, 8, 1, buffer);
+
+        assertEquals(4, added);
+        assertQuad(buffer, 0, 0, 0, 4, 4, 0, 0, 0.25f, 0.25f);
+        assertQuad(buffer, 3, 4, 4, 8, 8, 0.75f, 0.75f, 1, 1);
+    }
+
+    @Test
+    public void layout_TargetSmallerThanBorders_BordersShrinkProportionally() {
+        QuadBuffer buffer = new QuadBuffer();
+        int added = NineSliceGeometry.layout(new GuiScaling.NineSlice(2, 6, 4, 4), 16, 16, 4, 4, 1, buffer);
+
+        assertEquals(4, added);
+        assertQuad(buffer, 0, 0, 0, 1, 2, 0, 0, 2 / 16f, 0.25f);
+        assertQuad(buffer, 1, 1, 0, 4, 2, 10 / 16f, 0, 1, 0.25f);
+        assertQuad(buffer, 2, 0, 2, 1, 4, 0, 0.75f, 2 / 16f, 1);
+        assertQuad(buffer, 3, 1, 2, 4, 4, 10 / 16f, 0.75f, 1, 1);
+    }
+
+    @Test
+    public void layout_ZeroSizeTarget_NoQuads() {
+        QuadBuffer buffer = new QuadBuffer();
+        int added = NineSliceGeometry.layout(new GuiScaling.NineSlice(4, 4, 4, 4), 16, 16, 0, 0, 1, buffer);
+
+        assertEquals(0, added);
+        assertEquals(0, buffer.quadCount());
+    }
+
+    @Test
+    public void layout_FractionalEdge_SnappedToScreenPixel() {
+        QuadBuffer buffer = new QuadBuffer();
+        NineSliceGeometry.layout(new GuiScaling.NineSlice(1, 2, 1, 2), 16, 16, 1, 1, 2, buffer);
+
+        assertEquals(0.5f, buffer.get(0, 2), DELTA);
+        assertEquals(0.5f, buffer.get(0, 3), DELTA);
+    }
+
+    @Test
+    public void layout_BordersLargerThanFrame_BordersClamped() {
+        QuadBuffer buffer = new QuadBuffer();
+        NineSliceGeometry.layout(new GuiScaling.NineSlice(20, 20, 20, 20), 16, 16, 32, 32, 1, buffer);
+
+        assertEquals(4, buffer.quadCount());
+        assertQuad(buffer, 0, 0, 0, 16, 16, 0, 0, 1, 1);
+    }
+
+    @Test
+    public void layout_BufferHasQuads_QuadsAppended() {
+        QuadBuffer buffer = new QuadBuffer();
+        buffer.add(1, 2, 3, 4, 5, 6, 7, 8);
+
+        NineSliceGeometry.layout(new GuiScaling.NineSlice(4, 4, 4, 4), 16, 16, 32, 32, 1, buffer);
+
+        assertEquals(10, buffer.quadCount());
+        assertEquals(1, buffer.get(0, 0), 0);
+    }
+
+    @Test
+    public void layout_AnyTarget_QuadsCoverTargetExactlyOnce() {
+        QuadBuffer buffer = new QuadBuffer();
+
+        for (int width = 0; width <= 24; width++) {
+            for (int height = 0; height <= 24; height++) {
+                buffer.clear();
+                NineSliceGeometry.layout(new GuiScaling.NineSlice(3, 5, 7, 2), 16, 16, width, height, 1, buffer);
+
+                float area = 0;
+                for (int quad = 0; quad < buffer.quadCount(); quad++) {
+                    area += (buffer.get(quad, 2) - buffer.get(quad, 0)) * (buffer.get(quad, 3) - buffer.get(quad, 1));
+                }
+
+                assertEquals(width * height, area, DELTA);
+            }
+        }
+    }
+
+    /**
+     * Checks that a quad in the buffer has the expected values.
+     * @param buffer        buffer containing the quad
+     * @param quad          index of the quad
+     * @param expected      expected values in buffer order
+     */
+    private static void assertQuad(QuadBuffer buffer, int quad, float... expected) {
+        for (int component = 0; component < QuadBuffer.FLOATS_PER_QUAD; component++) {
+            assertEquals("Component " + component + " of quad " + quad,
+                    expected[component], buffer.get(quad, component), DELTA);
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link NineSliceLayoutCache}.
+ * @author soir20
+ */
+public final class NineSliceLayoutCacheTest {
+    private static final GuiScaling.NineSlice SCALING = new GuiScaling.NineSlice(4, 4, 4, 4);
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void construct_NullScaling_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new NineSliceLayoutCache(null, 16, 16);
+    }
+
+    @Test
+    public void construct_ZeroFrameHeight_IllegalArgException() {
+        expectedException.expect(IllegalArgumentException.class);
+        new NineSliceLayoutCache(SCALING, 16, 0);
+    }
+
+    @Test
+    public void construct_ZeroMaxLayouts_IllegalArgException() {
+        expectedException.expect(IllegalArgumentException.class);
+        new NineSliceLayoutCache(SCALING, 16, 16, 0);
+    }
+
+    @Test
+    public void layout_NotCached_SameAsGeometry() {
+        NineSliceLayoutCache cache = new NineSliceLayoutCache(SCALING, 16, 16);
+        QuadBuffer expected = new QuadBuffer();
+        NineSliceGeometry.layout(SCALING, 16, 16, 40, 30, 2, expected);
+
+        assertArrayEquals(expected.toArray(), cache.layout(40, 30, 2), 0);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void layout_SameKeyTwice_SameArray() {
+        NineSliceLayoutCache cache = new NineSliceLayoutCache(SCALING, 16, 16);
+
+        float[] first = cache.layout(40, 30, 2);
+        float[] second = cache.layout(40, 30, 2);
+
+        assertSame(first, second);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void layout_DifferentSize_DifferentLayout() {
+        NineSliceLayoutCache cache = new NineSliceLayoutCache(SCALING, 16, 16);
+
+        float[] first = cache.layout(40, 30, 2);
+        float[] second = cache.layout(40, 31, 2);
+
+        assertNotSame(first, second);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void layout_DifferentGuiScale_DifferentLayout() {
+        NineSliceLayoutCache cache = new NineSliceLayoutCache(SCALING, 16, 16);
+
+        float[] first = cache.layout(40, 30, 2);
+        float[] second = cache.layout(40, 30, 3);
+
+        assertNotSame(first, second);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void layout_CacheFull_OldestReplaced() {
+        NineSliceLayoutCache cache = new NineSliceLayoutCache(SCALING, 16, 16, 2);
+
+        float[] first = cache.layout(10, 10, 1);
+        float[] second = cache.layout(20, 20, 1);
+        cache.layout(30, 30, 1);
+
+        assertEquals(2, cache.size());
+        assertSame(second, cache.layout(20, 20, 1));
+        assertNotSame(first, cache.layout(10, 10, 1));
+    }
+
+}
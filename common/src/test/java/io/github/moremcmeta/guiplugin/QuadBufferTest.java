@@ -0,0 +1,148 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link QuadBuffer}.
+ * @author soir20
+ */
+public final class QuadBufferTest {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void construct_NegativeCapacity_IllegalArgException() {
+        expectedException.expect(IllegalArgumentException.class);
+        new QuadBuffer(-1);
+    }
+
+    @Test
+    public void add_OneQuad_ValuesInOrder() {
+        QuadBuffer buffer = new QuadBuffer();
+        buffer.add(1, 2, 3, 4, 0.1f, 0.2f, 0.3f, 0.4f);
+
+        assertEquals(1, buffer.quadCount());
+        assertArrayEquals(new float[] {1, 2, 3, 4, 0.1f, 0.2f, 0.3f, 0.4f}, buffer.toArray(), 0);
+    }
+
+    @Test
+    public void add_BeyondInitialCapacity_BufferGrows() {
+        QuadBuffer buffer = new QuadBuffer(0);
+        for (int quad = 0; quad < 20; quad++) {
+            buffer.add(quad, 0, 0, 0, 0, 0, 0, 0);
+        }
+
+        assertEquals(20, buffer.quadCount());
+        for (int quad = 0; quad < 20; quad++) {
+            assertEquals(quad, buffer.get(quad, 0), 0);
+        }
+    }
+
+    @Test
+    public void addAll_WholeQuads_AllAdded() {
+        QuadBuffer buffer = new QuadBuffer(1);
+        buffer.add(1, 1, 1, 1, 1, 1, 1, 1);
+        buffer.addAll(new float[] {2, 2, 2, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 3, 3});
+
+        assertEquals(3, buffer.quadCount());
+        assertEquals(1, buffer.get(0, 7), 0);
+        assertEquals(2, buffer.get(1, 0), 0);
+        assertEquals(3, buffer.get(2, 7), 0);
+    }
+
+    @Test
+    public void addAll_Range_OnlyRangeAdded() {
+        QuadBuffer buffer = new QuadBuffer(0);
+        buffer.addAll(new float[] {1, 1, 1, 1, 1, 1, 1, 1, 2, 2, 2, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 3, 3}, 1, 2);
+
+        assertEquals(2, buffer.quadCount());
+        assertEquals(2, buffer.get(0, 0), 0);
+        assertEquals(3, buffer.get(1, 7), 0);
+    }
+
+    @Test
+    public void addAll_RangePastEnd_IndexOutOfBoundsException() {
+        QuadBuffer buffer = new QuadBuffer();
+
+        expectedException.expect(IndexOutOfBoundsException.class);
+        buffer.addAll(new float[] {1, 1, 1, 1, 1, 1, 1, 1}, 1, 1);
+    }
+
+    @Test
+    public void addAll_RangeOverflowsInt_IndexOutOfBoundsException() {
+        QuadBuffer buffer = new QuadBuffer();
+
+        expectedException.expect(IndexOutOfBoundsException.class);
+        buffer.addAll(new float[] {1, 1, 1, 1, 1, 1, 1, 1}, 1 << 29, 1);
+    }
+
+    @Test
+    public void addAll_NullRange_NullPointerException() {
+        QuadBuffer buffer = new QuadBuffer();
+
+        expectedException.expect(NullPointerException.class);
+        buffer.addAll(null, 0, 0);
+    }
+
+    @Test
+    public void addAll_PartialQuad_IllegalArgException() {
+        QuadBuffer buffer = new QuadBuffer();
+
+        expectedException.expect(IllegalArgumentException.class);
+        buffer.addAll(new float[] {1, 2, 3});
+    }
+
+    @Test
+    public void clear_HasQuads_EmptyWithSameArray() {
+        QuadBuffer buffer = new QuadBuffer();
+        buffer.add(1, 2, 3, 4, 5, 6, 7, 8);
+        float[] array = buffer.array();
+
+        buffer.clear();
+
+        assertEquals(0, buffer.quadCount());
+        assertEquals(0, buffer.toArray().length);
+        assertSame(array, buffer.array());
+    }
+
+    @Test
+    public void get_QuadOutOfBounds_IndexOutOfBoundsException() {
+        QuadBuffer buffer = new QuadBuffer();
+        buffer.add(1, 2, 3, 4, 5, 6, 7, 8);
+
+        expectedException.expect(IndexOutOfBoundsException.class);
+        buffer.get(1, 0);
+    }
+
+    @Test
+    public void get_ComponentOutOfBounds_IndexOutOfBoundsException() {
+        QuadBuffer buffer = new QuadBuffer();
+        buffer.add(1, 2, 3, 4, 5, 6, 7, 8);
+
+        expectedException.expect(IndexOutOfBoundsException.class);
+        buffer.get(0, 8);
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.github.moremcmeta.guiplugin;
+
+import com.google.common.collect.ImmutableMap;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.AnalyzedMetadata;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.InvalidMetadataException;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataAnalyzer;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataView;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link ReportingMetadataAnalyzer}.
+ * @author soir20
+ */
+public final class ReportingMetadataAnalyzerTest {
+    private static final MetadataView NINE_SLICE = ArrayMetadataView.copyOf(ImmutableMap.of(
+            "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                    "type", "nine_slice",
+                    "width", 16,
+                    "height", 8,
+                    "border", 2
+            ))
+    ));
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void construct_NullDelegate_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new ReportingMetadataAnalyzer(null, new GuiTextureReport());
+    }
+
+    @Test
+    public void construct_NullReport_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new ReportingMetadataAnalyzer(new GuiMetadataAnalyzer(), null);
+    }
+
+    @Test
+    public void analyze_Valid_ResultReturnedAndRecorded() throws InvalidMetadataException {
+        GuiTextureReport report = new GuiTextureReport();
+        GuiMetadataAnalyzer delegate = new GuiMetadataAnalyzer();
+
+        AnalyzedMetadata result = new ReportingMetadataAnalyzer(delegate, report).analyze(NINE_SLICE, 32, 16);
+
+        assertEquals(delegate.analyze(NINE_SLICE, 32, 16), result);
+        List<GuiTextureReport.Entry> entries = report.entries();
+        assertEquals(1, entries.size());
+        assertEquals("nine_slice", entries.get(0).typeName());
+        assertEquals(32, entries.get(0).imageWidth());
+        assertEquals(16, entries.get(0).imageHeight());
+        assertEquals(16, entries.get(0).frameWidth());
+        assertEquals(8, entries.get(0).frameHeight());
+        assertEquals(Optional.empty(), entries.get(0).problem());
+    }
+
+    @Test
+    public void analyze_Invalid_ExceptionThrownAndRecorded() {
+        GuiTextureReport report = new GuiTextureReport();
+        ReportingMetadataAnalyzer analyzer = new ReportingMetadataAnalyzer(new GuiMetadataAnalyzer(), report);
+
+        try {
+            analyzer.analyze(ArrayMetadataView.copyOf(ImmutableMap.of()), 10, 10);
+            fail("Expected invalid metadata to be rejected");
+        } catch (InvalidMetadataException err) {
+            assertEquals(Optional.of(err.getMessage()), report.entries().get(0).problem());
+        }
+
+        assertEquals(1, report.entries().size());
+        assertEquals("invalid", report.entries().get(0).typeName());
+    }
+
+    @Test
+    public void analyze_LazyWithReport_RecordedDuringReload() throws InvalidMetadataException {
+        GuiTextureReport report = new GuiTextureReport();
+        AtomicInteger fullAnalyses = new AtomicInteger();
+        GuiMetadataAnalyzer full = new GuiMetadataAnalyzer();
+        MetadataAnalyzer analyzer = ModConstants.makeAnalyzer((metadata, imageWidth, imageHeight) -> {
+            fullAnalyses.incrementAndGet();
+            return full.analyze(metadata, imageWidth, imageHeight);
+        }, ScalingTypeRegistry.withBuiltInTypes(), true, report);
+
+        AnalyzedMetadata result = analyzer.analyze(NINE_SLICE, 32, 16);
+
+        assertEquals(1, fullAnalyses.get());
+        assertEquals(1, report.drain().entries().size());
+        assertEquals(full.analyze(NINE_SLICE, 32, 16).guiScaling(), result.guiScaling());
+        assertEquals(1, fullAnalyses.get());
+    }
+
+    @Test
+    public void analyze_LazyWithReportMissingWidth_FailureRecordedDuringReload() {
+        GuiTextureReport report = new GuiTextureReport();
+        MetadataAnalyzer analyzer = ModConstants.makeAnalyzer(new GuiMetadataAnalyzer(),
+                ScalingTypeRegistry.withBuiltInTypes(), true, report);
+
+        MetadataView metadata = ArrayMetadataView.copyOf(ImmutableMap.of(
+                "scaling", ArrayMetadataView.copyOf(ImmutableMap.of(
+                        "type", "nine_slice",
+                        "height", 8,
+                        "border", 2
+                ))
+        ));
+
+        try {
+            analyzer.analyze(metadata, 32, 16);
+            fail("Expected invalid metadata to be rejected");
+        } catch (InvalidMetadataException ignored) {}
+
+        List<GuiTextureReport.Entry> entries = report.drain().entries();
+        assertEquals(1, entries.size());
+        assertEquals("invalid", entries.get(0).typeName());
+    }
+
+    @Test
+    public void analyze_NoMessage_GenericProblemRecorded() {
+        GuiTextureReport report = new GuiTextureReport();
+        ReportingMetadataAnalyzer analyzer = new ReportingMetadataAnalyzer((metadata, imageWidth, imageHeight) -> {
+            throw new InvalidMetadataException(null);
+        }, report);
+
+        try {
+            analyzer.analyze(NINE_SLICE, 10, 10);
+            fail("Expected invalid metadata to be rejected");
+        } catch (InvalidMetadataException ignored) {}
+
+        assertEquals(Optional.of("Invalid metadata"), report.entries().get(0).problem());
+    }
+
+}
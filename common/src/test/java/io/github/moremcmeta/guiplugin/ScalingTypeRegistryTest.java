@@ -0,0 +1,180 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link ScalingTypeRegistry}.
+ * @author soir20
+ */
+public final class ScalingTypeRegistryTest {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void construct_Empty_NoTypes() {
+        ScalingTypeRegistry registry = new ScalingTypeRegistry();
+
+        assertTrue(registry.names().isEmpty());
+        assertFalse(registry.type(ScalingTypeRegistry.STRETCH).isPresent());
+    }
+
+    @Test
+    public void withBuiltInTypes_BuiltInNames_AllRegistered() {
+        ScalingTypeRegistry registry = ScalingTypeRegistry.withBuiltInTypes();
+
+        assertEquals(Set.of("stretch", "tile", "nine_slice"), registry.names());
+    }
+
+    @Test
+    public void withBuiltInTypes_Stretch_NoFields() {
+        ScalingType type = ScalingTypeRegistry.withBuiltInTypes().type(ScalingTypeRegistry.STRETCH).orElseThrow();
+
+        assertTrue(type.fields().isEmpty());
+        assertEquals(GuiMetadata.Type.STRETCH, type.create(new GuiMetadataInterner(), 1, 2, 3, 4, 5, 6).type());
+    }
+
+    @Test
+    public void withBuiltInTypes_Tile_FrameSizeOnly() {
+        ScalingType type = ScalingTypeRegistry.withBuiltInTypes().type(ScalingTypeRegistry.TILE).orElseThrow();
+        GuiMetadata metadata = type.create(new GuiMetadataInterner(), 10, 20, 0, 0, 0, 0);
+
+        assertEquals(EnumSet.of(ScalingType.Field.FRAME_SIZE), type.fields());
+        assertEquals(GuiMetadata.Type.TILE, metadata.type());
+        assertEquals(10, metadata.frameWidthOr(0));
+        assertEquals(20, metadata.frameHeightOr(0));
+    }
+
+    @Test
+    public void withBuiltInTypes_NineSlice_AllFields() {
+        ScalingType type = ScalingTypeRegistry.withBuiltInTypes().type(ScalingTypeRegistry.NINE_SLICE).orElseThrow();
+        GuiMetadata metadata = type.create(new GuiMetadataInterner(), 10, 20, 1, 2, 3, 4);
+
+        assertEquals(EnumSet.allOf(ScalingType.Field.class), type.fields());
+        assertEquals(GuiMetadata.Type.NINE_SLICE, metadata.type());
+        assertEquals(1, metadata.left());
+        assertEquals(4, metadata.bottom());
+    }
+
+    @Test
+    public void withBuiltInTypes_Fields_Unmodifiable() {
+        ScalingType type = ScalingTypeRegistry.withBuiltInTypes().type(ScalingTypeRegistry.TILE).orElseThrow();
+
+        expectedException.expect(UnsupportedOperationException.class);
+        type.fields().add(ScalingType.Field.VERTICAL_BORDER);
+    }
+
+    @Test
+    public void withBuiltInTypes_CalledTwice_IndependentRegistries() {
+        ScalingTypeRegistry first = ScalingTypeRegistry.withBuiltInTypes();
+        first.register("custom", makeType());
+
+        assertFalse(ScalingTypeRegistry.withBuiltInTypes().type("custom").isPresent());
+    }
+
+    @Test
+    public void register_NullName_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new ScalingTypeRegistry().register(null, makeType());
+    }
+
+    @Test
+    public void register_NullType_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new ScalingTypeRegistry().register("custom", null);
+    }
+
+    @Test
+    public void register_NullFields_NullPointerException() {
+        ScalingType type = new ScalingType() {
+            @Override
+            public Set<Field> fields() {
+                return null;
+            }
+
+            @Override
+            public GuiMetadata create(GuiMetadataInterner interner, int frameWidth, int frameHeight,
+                                      int left, int right, int top, int bottom) {
+                return interner.stretch();
+            }
+        };
+
+        expectedException.expect(NullPointerException.class);
+        new ScalingTypeRegistry().register("custom", type);
+    }
+
+    @Test
+    public void register_NewName_Found() {
+        ScalingTypeRegistry registry = new ScalingTypeRegistry();
+        ScalingType type = makeType();
+
+        registry.register("custom", type);
+
+        assertSame(type, registry.type("custom").orElseThrow());
+        assertSame(type, registry.find("custom"));
+        assertTrue(registry.names().contains("custom"));
+    }
+
+    @Test
+    public void register_DuplicateName_IllegalArgException() {
+        ScalingTypeRegistry registry = ScalingTypeRegistry.withBuiltInTypes();
+
+        expectedException.expect(IllegalArgumentException.class);
+        registry.register(ScalingTypeRegistry.TILE, makeType());
+    }
+
+    @Test
+    public void type_NullName_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new ScalingTypeRegistry().type(null);
+    }
+
+    @Test
+    public void find_Unknown_Null() {
+        assertNull(ScalingTypeRegistry.withBuiltInTypes().find("unknown"));
+    }
+
+    /**
+     * Makes a type that only reads the frame size.
+     * @return new scaling type
+     */
+    private static ScalingType makeType() {
+        return new ScalingType() {
+            @Override
+            public Set<Field> fields() {
+                return EnumSet.of(Field.FRAME_SIZE);
+            }
+
+            @Override
+            public GuiMetadata create(GuiMetadataInterner interner, int frameWidth, int frameHeight,
+                                      int left, int right, int top, int bottom) {
+                return interner.tile(frameWidth, frameHeight);
+            }
+        };
+    }
+
+}
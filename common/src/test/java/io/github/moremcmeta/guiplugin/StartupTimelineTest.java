@@ -0,0 +1,147 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link StartupTimeline}.
+ * @author soir20
+ */
+public final class StartupTimelineTest {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void mark_NullPhase_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new StartupTimeline().mark(null);
+    }
+
+    @Test
+    public void mark_TwoPhases_RecordedInOrderWithoutDuration() {
+        StartupTimeline timeline = new StartupTimeline();
+        timeline.mark("first");
+        timeline.mark("second");
+
+        List<StartupTimeline.Event> events = timeline.events();
+        assertEquals(2, events.size());
+        assertEquals("first", events.get(0).phase());
+        assertEquals("second", events.get(1).phase());
+        assertTrue(events.get(0).offsetNanos() >= 0);
+        assertTrue(events.get(1).offsetNanos() >= events.get(0).offsetNanos());
+        assertEquals(0, events.get(0).durationNanos());
+        assertEquals(Thread.currentThread().getName(), events.get(0).thread());
+    }
+
+    @Test
+    public void time_NullPhase_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new StartupTimeline().time(null, () -> 1);
+    }
+
+    @Test
+    public void time_NullAction_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        new StartupTimeline().time("phase", null);
+    }
+
+    @Test
+    public void time_SlowAction_ResultReturnedAndDurationRecorded() {
+        StartupTimeline timeline = new StartupTimeline();
+
+        String result = timeline.time("slow", () -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException err) {
+                Thread.currentThread().interrupt();
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertTrue(timeline.events().get(0).durationNanos() >= 5_000_000);
+        assertEquals(timeline.events().get(0).durationNanos(), timeline.totalNanos());
+    }
+
+    @Test
+    public void time_ActionThrows_StillRecorded() {
+        StartupTimeline timeline = new StartupTimeline();
+
+        try {
+            timeline.time("failing", () -> {
+                throw new IllegalStateException("failed");
+            });
+            fail("Exception should have been thrown");
+        } catch (IllegalStateException err) {
+            assertEquals("failing", timeline.events().get(0).phase());
+        }
+    }
+
+    @Test
+    public void totalNanos_OnlyMarks_Zero() {
+        StartupTimeline timeline = new StartupTimeline();
+        timeline.mark("first");
+
+        assertEquals(0, timeline.totalNanos());
+    }
+
+    @Test
+    public void events_Modified_UnsupportedOperationException() {
+        StartupTimeline timeline = new StartupTimeline();
+        timeline.mark("first");
+
+        expectedException.expect(UnsupportedOperationException.class);
+        timeline.events().clear();
+    }
+
+    @Test
+    public void toString_HasEvents_OneLinePerEvent() {
+        StartupTimeline timeline = new StartupTimeline();
+        timeline.mark("first");
+        timeline.time("second", () -> 1);
+
+        String[] lines = timeline.toString().split(System.lineSeparator());
+        assertEquals(3, lines.length);
+        assertTrue(lines[1].endsWith("first"));
+        assertTrue(lines[2].contains("second ("));
+    }
+
+    @Test
+    public void toString_CommaDecimalLocale_PeriodDecimal() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            StartupTimeline timeline = new StartupTimeline();
+            timeline.mark("first");
+
+            assertTrue(timeline.toString().startsWith("Startup timeline (0.000 ms"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link TileGeometry}.
+ * @author soir20
+ */
+public final class TileGeometryTest {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void layout_NullBuffer_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        TileGeometry.layout(16, 16, true, 32, 32, null);
+    }
+
+    @Test
+    public void layout_ZeroFrameWidth_IllegalArgException() {
+        expectedException.expect(IllegalArgumentException.class);
+        TileGeometry.layout(0, 16, true, 32, 32, new QuadBuffer());
+    }
+
+    @Test
+    public void layout_NegativeTargetWidth_IllegalArgException() {
+        expectedException.expect(IllegalArgumentException.class);
+        TileGeometry.layout(16, 16, true, -1, 32, new QuadBuffer());
+    }
+
+    @Test
+    public void layout_ZeroSizeTarget_NoQuads() {
+        QuadBuffer buffer = new QuadBuffer();
+
+        assertEquals(0, TileGeometry.layout(16, 16, true, 0, 32, buffer));
+        assertEquals(0, TileGeometry.layout(16, 16, false, 32, 0, buffer));
+        assertEquals(0, buffer.quadCount());
+    }
+
+    @Test
+    public void layout_FrameIsTexture_OneWrappedQuad() {
+        QuadBuffer buffer = new QuadBuffer();
+
+        assertEquals(1, TileGeometry.layout(16, 8, true, 1920, 1080, buffer));
+        assertArrayEquals(new float[] {0, 0, 1920, 1080, 0, 0, 120, 135}, buffer.toArray(), 0);
+    }
+
+    @Test
+    public void layout_FrameIsNotTexture_OneQuadPerTile() {
+        QuadBuffer buffer = new QuadBuffer();
+
+        assertEquals(6, TileGeometry.layout(16, 8, false, 40, 16, buffer));
+        assertArrayEquals(new float[] {
+                0, 0, 16, 8, 0, 0, 1, 1,
+                16, 0, 32, 8, 0, 0, 1, 1,
+                32, 0, 40, 8, 0, 0, 0.5f, 1,
+                0, 8, 16, 16, 0, 0, 1, 1,
+                16, 8, 32, 16, 0, 0, 1, 1,
+                32, 8, 40, 16, 0, 0, 0.5f, 1
+        }, buffer.toArray(), 0);
+    }
+
+    @Test
+    public void layout_FrameIsNotTexture_TexCoordsWithinFrame() {
+        QuadBuffer buffer = new QuadBuffer();
+        TileGeometry.layout(7, 5, false, 100, 61, buffer);
+
+        for (int quad = 0; quad < buffer.quadCount(); quad++) {
+            for (int component = 4; component < QuadBuffer.FLOATS_PER_QUAD; component++) {
+                assertTrue(buffer.get(quad, component) >= 0);
+                assertTrue(buffer.get(quad, component) <= 1);
+            }
+        }
+    }
+
+    @Test
+    public void layout_BothPaths_SameTexelAtEveryPixel() {
+        int[][] sizes = {{16, 16}, {16, 8}, {7, 5}, {1, 1}, {3, 11}};
+        QuadBuffer wrapped = new QuadBuffer();
+        QuadBuffer tiled = new QuadBuffer();
+
+        for (int[] frameSize : sizes) {
+            for (int width = 1; width <= 40; width += 3) {
+                for (int height = 1; height <= 40; height += 5) {
+                    wrapped.clear();
+                    tiled.clear();
+                    TileGeometry.layout(frameSize[0], frameSize[1], true, width, height, wrapped);
+                    TileGeometry.layout(frameSize[0], frameSize[1], false, width, height, tiled);
+
+                    int[] wrappedTexels = rasterize(wrapped, frameSize[0], frameSize[1], width, height);
+                    int[] tiledTexels = rasterize(tiled, frameSize[0], frameSize[1], width, height);
+                    assertArrayEquals(wrappedTexels, tiledTexels);
+                }
+            }
+        }
+    }
+
+    /**
+     * Samples the quads at the center of every pixel in the target, wrapping texture coordinates
+     * past 1 like a repeating sampler.
+     * @param buffer        quads to sample
+     * @param frameWidth    width of a frame in texture pixels
+     * @param frameHeight   height of a frame in texture pixels
+     * @param width         width of the target
+     * @param height        height of the target
+     * @return index of the texel sampled at each pixel, in row-major order
+     */
+    private static int[] rasterize(QuadBuffer buffer, int frameWidth, int frameHeight, int width, int height) {
+        int[] texels = new int[width * height];
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                float centerX = x + 0.5f;
+                float centerY = y + 0.5f;
+                int covering = 0;
+
+                for (int quad = 0; quad < buffer.quadCount(); quad++) {
+                    float x0 = buffer.get(quad, 0);
+                    float y0 = buffer.get(quad, 1);
+                    float x1 = buffer.get(quad, 2);
+                    float y1 = buffer.get(quad, 3);
+
+                    if (centerX < x0 || centerX >= x1 || centerY < y0 || centerY >= y1) {
+                        continue;
+                    }
+
+                    float u = lerp(buffer.get(quad, 4), buffer.get(quad, 6), (centerX - x0) / (x1 - x0));
+                    float v = lerp(buffer.get(quad, 5), buffer.get(quad, 7), (centerY - y0) / (y1 - y0));
+                    int texelX = Math.floorMod((int) Math.floor(u * frameWidth), frameWidth);
+                    int texelY = Math.floorMod((int) Math.floor(v * frameHeight), frameHeight);
+
+                    texels[y * width + x] = texelY * frameWidth + texelX;
+                    covering++;
+                }
+
+                assertEquals("Pixel (" + x + ", " + y + ") must be covered exactly once", 1, covering);
+            }
+        }
+
+        return texels;
+    }
+
+    /**
+     * Linearly interpolates between two values.
+     * @param start     value at 0
+     * @param end       value at 1
+     * @param amount    position between the values
+     * @return interpolated value
+     */
+    private static float lerp(float start, float end, float amount) {
+        return start + (end - start) * amount;
+    }
+
+}
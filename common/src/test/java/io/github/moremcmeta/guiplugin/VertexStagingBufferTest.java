@@ -0,0 +1,220 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.github.moremcmeta.guiplugin;
+
+import io.github.moremcmeta.moremcmeta.api.client.metadata.GuiScaling;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link VertexStagingBuffer}.
+ * @author soir20
+ */
+public final class VertexStagingBufferTest {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void construct_NegativeCapacity_IllegalArgException() {
+        expectedException.expect(IllegalArgumentException.class);
+        new VertexStagingBuffer(-1);
+    }
+
+    @Test
+    public void construct_Default_DirectNativeOrderBuffer() {
+        ByteBuffer buffer = new VertexStagingBuffer().buffer();
+
+        assertTrue(buffer.isDirect());
+        assertEquals(ByteOrder.nativeOrder(), buffer.order());
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    public void put_NullArray_NullPointerException() {
+        VertexStagingBuffer buffer = new VertexStagingBuffer();
+
+        expectedException.expect(NullPointerException.class);
+        buffer.put((float[]) null, 0, 0, 0, 0);
+    }
+
+    @Test
+    public void put_NullQuadBuffer_NullPointerException() {
+        VertexStagingBuffer buffer = new VertexStagingBuffer();
+
+        expectedException.expect(NullPointerException.class);
+        buffer.put((QuadBuffer) null, 0, 0);
+    }
+
+    @Test
+    public void put_RangePastEnd_IndexOutOfBoundsException() {
+        VertexStagingBuffer buffer = new VertexStagingBuffer();
+
+        expectedException.expect(IndexOutOfBoundsException.class);
+        buffer.put(new float[QuadBuffer.FLOATS_PER_QUAD], 1, 1, 0, 0);
+    }
+
+    @Test
+    public void put_NegativeFirstQuad_IndexOutOfBoundsException() {
+        VertexStagingBuffer buffer = new VertexStagingBuffer();
+
+        expectedException.expect(IndexOutOfBoundsException.class);
+        buffer.put(new float[QuadBuffer.FLOATS_PER_QUAD], -1, 1, 0, 0);
+    }
+
+    @Test
+    public void put_OneQuad_FourVerticesInOrder() {
+        VertexStagingBuffer buffer = new VertexStagingBuffer();
+        buffer.put(new float[] {1, 2, 3, 4, 0.1f, 0.2f, 0.3f, 0.4f}, 0, 1, 10, 20);
+
+        assertEquals(1, buffer.quadCount());
+        assertEquals(4, buffer.vertexCount());
+        assertVertex(buffer, 0, 11, 22, 0.1f, 0.2f);
+        assertVertex(buffer, 1, 11, 24, 0.1f, 0.4f);
+        assertVertex(buffer, 2, 13, 24, 0.3f, 0.4f);
+        assertVertex(buffer, 3, 13, 22, 0.3f, 0.2f);
+    }
+
+    @Test
+    public void put_Range_OnlyRangeWritten() {
+        VertexStagingBuffer buffer = new VertexStagingBuffer();
+        buffer.put(new float[] {1, 1, 1, 1, 1, 1, 1, 1, 2, 2, 2, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 3, 3}, 1, 1, 0, 0);
+
+        assertEquals(1, buffer.quadCount());
+        assertVertex(buffer, 0, 2, 2, 2, 2);
+    }
+
+    @Test
+    public void put_QuadBuffer_AllQuadsWritten() {
+        VertexStagingBuffer buffer = new VertexStagingBuffer();
+        QuadBuffer quads = new QuadBuffer();
+        quads.add(0, 0, 1, 1, 0, 0, 1, 1);
+        quads.add(1, 0, 2, 1, 0, 0, 1, 1);
+        buffer.put(quads, 5, 0);
+
+        assertEquals(2, buffer.quadCount());
+        assertVertex(buffer, 4, 6, 0, 0, 0);
+        assertVertex(buffer, 6, 7, 1, 1, 1);
+    }
+
+    @Test
+    public void put_BeyondInitialCapacity_GrowsAndKeepsVertices() {
+        VertexStagingBuffer buffer = new VertexStagingBuffer(1);
+        for (int quad = 0; quad < 20; quad++) {
+            buffer.put(new float[] {quad, 0, quad + 1, 1, 0, 0, 1, 1}, 0, 1, 0, 0);
+        }
+
+        assertEquals(20, buffer.quadCount());
+        assertTrue(buffer.quadCapacity() >= 20);
+        for (int quad = 0; quad < 20; quad++) {
+            assertEquals(quad, buffer.get(quad * VertexStagingBuffer.VERTICES_PER_QUAD, 0), 0);
+        }
+    }
+
+    @Test
+    public void put_AfterClear_BufferReused() {
+        VertexStagingBuffer buffer = new VertexStagingBuffer(4);
+        buffer.put(new float[QuadBuffer.FLOATS_PER_QUAD * 4], 0, 4, 0, 0);
+        ByteBuffer before = buffer.buffer();
+
+        buffer.clear();
+        buffer.put(new float[QuadBuffer.FLOATS_PER_QUAD * 4], 0, 4, 0, 0);
+
+        assertSame(before, buffer.buffer());
+        assertEquals(4, buffer.quadCapacity());
+    }
+
+    @Test
+    public void clear_QuadsWritten_Empty() {
+        VertexStagingBuffer buffer = new VertexStagingBuffer();
+        buffer.put(new float[QuadBuffer.FLOATS_PER_QUAD], 0, 1, 0, 0);
+        buffer.clear();
+
+        assertEquals(0, buffer.quadCount());
+        assertEquals(0, buffer.buffer().remaining());
+    }
+
+    @Test
+    public void buffer_QuadsWritten_LimitedToWrittenBytes() {
+        VertexStagingBuffer buffer = new VertexStagingBuffer(8);
+        buffer.put(new float[] {1, 2, 3, 4, 0.1f, 0.2f, 0.3f, 0.4f}, 0, 1, 0, 0);
+
+        ByteBuffer bytes = buffer.buffer();
+        assertEquals(0, bytes.position());
+        assertEquals(VertexStagingBuffer.BYTES_PER_QUAD, bytes.remaining());
+        assertEquals(1, bytes.getFloat(0), 0);
+        assertEquals(0.2f, bytes.getFloat(3 * Float.BYTES), 0);
+    }
+
+    @Test
+    public void get_VertexOutOfBounds_IndexOutOfBoundsException() {
+        VertexStagingBuffer buffer = new VertexStagingBuffer();
+        buffer.put(new float[QuadBuffer.FLOATS_PER_QUAD], 0, 1, 0, 0);
+
+        expectedException.expect(IndexOutOfBoundsException.class);
+        buffer.get(4, 0);
+    }
+
+    @Test
+    public void get_ComponentOutOfBounds_IndexOutOfBoundsException() {
+        VertexStagingBuffer buffer = new VertexStagingBuffer();
+        buffer.put(new float[QuadBuffer.FLOATS_PER_QUAD], 0, 1, 0, 0);
+
+        expectedException.expect(IndexOutOfBoundsException.class);
+        buffer.get(0, 4);
+    }
+
+    @Test
+    public void put_BatcherFlushed_EveryQuadStaged() {
+        GuiDrawBatcher<String> batcher = new GuiDrawBatcher<>();
+        QuadBuffer quads = new QuadBuffer();
+        NineSliceGeometry.layout(new GuiScaling.NineSlice(4, 4, 4, 4), 16, 16, 32, 32, 1, quads);
+        batcher.add("frame", 0, 0, 0, quads);
+        quads.clear();
+        TileGeometry.layout(8, 8, true, 16, 16, quads);
+        batcher.add("pattern", 0, 8, 8, quads);
+
+        VertexStagingBuffer buffer = new VertexStagingBuffer(0);
+        batcher.flush((texture, quadData, firstQuad, quadCount) -> buffer.put(quadData, firstQuad, quadCount, 0, 0));
+
+        assertEquals(10, buffer.quadCount());
+        assertVertex(buffer, 9 * VertexStagingBuffer.VERTICES_PER_QUAD + 2, 24, 24, 2, 2);
+    }
+
+    /**
+     * Checks every value of a vertex.
+     * @param buffer        buffer containing the vertex
+     * @param vertex        index of the vertex
+     * @param x             expected x-coordinate
+     * @param y             expected y-coordinate
+     * @param u             expected horizontal texture coordinate
+     * @param v             expected vertical texture coordinate
+     */
+    private static void assertVertex(VertexStagingBuffer buffer, int vertex, float x, float y, float u, float v) {
+        assertEquals(x, buffer.get(vertex, 0), 0);
+        assertEquals(y, buffer.get(vertex, 1), 0);
+        assertEquals(u, buffer.get(vertex, 2), 0);
+        assertEquals(v, buffer.get(vertex, 3), 0);
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin.fabric;
+
+import io.github.moremcmeta.guiplugin.PluginLifecycle;
+import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.loader.api.FabricLoader;
+
+/**
+ * Client entrypoint on Fabric.
+ * @author soir20
+ */
+@SuppressWarnings("unused")
+public final class EntrypointFabric implements ClientModInitializer {
+
+    /**
+     * Registers listeners that run when client resources are reloaded. Fabric API is optional:
+     * without its resource loader module, the per-reload summary and report are skipped.
+     */
+    @Override
+    public void onInitializeClient() {
+        PluginLifecycle.onStartupPhase("client entrypoint (Fabric)");
+
+        if (FabricLoader.getInstance().isModLoaded(FabricReloadListener.RESOURCE_LOADER_MOD_ID)) {
+            FabricReloadListener.register();
+        }
+    }
+
+}
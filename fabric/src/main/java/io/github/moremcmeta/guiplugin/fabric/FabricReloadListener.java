@@ -0,0 +1,54 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin.fabric;
+
+import io.github.moremcmeta.guiplugin.ModConstants;
+import io.github.moremcmeta.guiplugin.PluginLifecycle;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.server.packs.resources.ResourceManager;
+
+/**
+ * Runs {@link PluginLifecycle#onReloadComplete()} after each client resource reload. This is the
+ * only class that refers to Fabric API, so it must only be loaded when the resource loader module
+ * is installed.
+ * @author soir20
+ */
+final class FabricReloadListener implements SimpleSynchronousResourceReloadListener {
+    static final String RESOURCE_LOADER_MOD_ID = "fabric-resource-loader-v0";
+
+    /**
+     * Registers a new listener with Fabric API's resource loader.
+     */
+    static void register() {
+        ResourceManagerHelper.get(PackType.CLIENT_RESOURCES).registerReloadListener(new FabricReloadListener());
+    }
+
+    @Override
+    public ResourceLocation getFabricId() {
+        return new ResourceLocation(ModConstants.MOD_ID, "reload_listener");
+    }
+
+    @Override
+    public void onResourceManagerReload(ResourceManager resourceManager) {
+        PluginLifecycle.onReloadComplete();
+    }
+
+}
@@ -21,6 +21,7 @@ import io.github.moremcmeta.moremcmeta.api.client.MoreMcmetaTexturePlugin;
 import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataAnalyzer;
 import io.github.moremcmeta.moremcmeta.api.client.texture.ComponentBuilder;
 import io.github.moremcmeta.guiplugin.ModConstants;
+import io.github.moremcmeta.guiplugin.PluginLifecycle;
 
 /**
  * Implementation of the GUI plugin on Fabric.
@@ -28,6 +29,15 @@ import io.github.moremcmeta.guiplugin.ModConstants;
  */
 @SuppressWarnings("unused")
 public final class GuiPluginFabric implements MoreMcmetaTexturePlugin {
+
+    /**
+     * Creates the plugin when MoreMcmeta discovers it. The analyzer and its caches are not
+     * created until the first texture is analyzed.
+     */
+    public GuiPluginFabric() {
+        PluginLifecycle.onStartupPhase("plugin created (Fabric)");
+    }
+
     @Override
     public String sectionName() {
         return ModConstants.SECTION_NAME;
@@ -18,9 +18,16 @@
 package io.github.moremcmeta.guiplugin.forge;
 
 import io.github.moremcmeta.guiplugin.ModConstants;
+import io.github.moremcmeta.guiplugin.PluginLifecycle;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
 import net.minecraftforge.fml.IExtensionPoint;
 import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.event.lifecycle.FMLClientSetupEvent;
+import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
+import net.minecraftforge.fml.loading.FMLEnvironment;
 import net.minecraftforge.network.NetworkConstants;
 
 /**
@@ -35,6 +42,7 @@ public final class EntrypointForge {
      * Serves as mod entrypoint on Forge and tells the server to ignore this mod.
      */
     public EntrypointForge() {
+        PluginLifecycle.onStartupPhase("mod constructed (Forge)");
 
         /* Make sure the mod being absent on the other network side does not
            cause the client to display the server as incompatible. */
@@ -46,6 +54,30 @@ public final class EntrypointForge {
                 )
         );
 
+        if (FMLEnvironment.dist == Dist.CLIENT) {
+            FMLJavaModLoadingContext.get().getModEventBus().addListener(this::registerReloadListeners);
+            FMLJavaModLoadingContext.get().getModEventBus().addListener(this::onClientSetup);
+        }
+
+    }
+
+    /**
+     * Registers listeners that run when client resources are reloaded.
+     * @param event     event to register the listeners with
+     */
+    private void registerReloadListeners(RegisterClientReloadListenersEvent event) {
+        PluginLifecycle.onStartupPhase("reload listeners registered (Forge)");
+        event.registerReloadListener(
+                (ResourceManagerReloadListener) (resourceManager) -> PluginLifecycle.onReloadComplete()
+        );
+    }
+
+    /**
+     * Records when client setup runs.
+     * @param event     client setup event
+     */
+    private void onClientSetup(FMLClientSetupEvent event) {
+        PluginLifecycle.onStartupPhase("client setup (Forge)");
     }
 
 }
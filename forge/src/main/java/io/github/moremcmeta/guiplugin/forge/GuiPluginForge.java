@@ -22,6 +22,7 @@ import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataAnalyzer;
 import io.github.moremcmeta.moremcmeta.api.client.texture.ComponentBuilder;
 import io.github.moremcmeta.moremcmeta.forge.api.client.MoreMcmetaClientPlugin;
 import io.github.moremcmeta.guiplugin.ModConstants;
+import io.github.moremcmeta.guiplugin.PluginLifecycle;
 
 /**
  * Implementation of the GUI plugin on Forge.
@@ -30,6 +31,15 @@ import io.github.moremcmeta.guiplugin.ModConstants;
 @SuppressWarnings("unused")
 @MoreMcmetaClientPlugin
 public final class GuiPluginForge implements MoreMcmetaTexturePlugin {
+
+    /**
+     * Creates the plugin when MoreMcmeta discovers it. The analyzer and its caches are not
+     * created until the first texture is analyzed.
+     */
+    public GuiPluginForge() {
+        PluginLifecycle.onStartupPhase("plugin created (Forge)");
+    }
+
     @Override
     public String sectionName() {
         return ModConstants.SECTION_NAME;
@@ -0,0 +1,118 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin.validator;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import io.github.moremcmeta.guiplugin.ArrayMetadataView;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Converts JSON from metadata files into {@link ArrayMetadataView}s, the same way the game
+ * presents metadata to the analyzer. Arrays become views keyed by index, whole numbers become
+ * integers or longs depending on their size, and nulls are left out.
+ * @author soir20
+ */
+public final class JsonMetadataViews {
+
+    /**
+     * Converts a JSON object into a view.
+     * @param json      object to convert
+     * @return view with the object's keys and values
+     */
+    public static ArrayMetadataView fromJson(JsonObject json) {
+        requireNonNull(json, "JSON cannot be null");
+
+        ArrayMetadataView.Builder builder = ArrayMetadataView.builder();
+        for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+            putIfNotNull(builder, entry.getKey(), entry.getValue());
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Converts a JSON array into a view whose keys are the indices of the array.
+     * @param json      array to convert
+     * @return view with the array's values
+     */
+    public static ArrayMetadataView fromJson(JsonArray json) {
+        requireNonNull(json, "JSON cannot be null");
+
+        ArrayMetadataView.Builder builder = ArrayMetadataView.builder();
+        for (int index = 0; index < json.size(); index++) {
+            putIfNotNull(builder, String.valueOf(index), json.get(index));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Adds a converted JSON value to a view unless it is null.
+     * @param builder       builder to add the value to
+     * @param key           key of the value
+     * @param value         value to convert
+     */
+    private static void putIfNotNull(ArrayMetadataView.Builder builder, String key, JsonElement value) {
+        if (value.isJsonObject()) {
+            builder.put(key, fromJson(value.getAsJsonObject()));
+        } else if (value.isJsonArray()) {
+            builder.put(key, fromJson(value.getAsJsonArray()));
+        } else if (value.isJsonPrimitive()) {
+            builder.put(key, convertPrimitive(value.getAsJsonPrimitive()));
+        }
+    }
+
+    /**
+     * Converts a JSON primitive into the closest Java type.
+     * @param primitive     primitive to convert
+     * @return converted value
+     */
+    private static Object convertPrimitive(JsonPrimitive primitive) {
+        if (primitive.isBoolean()) {
+            return primitive.getAsBoolean();
+        }
+
+        if (primitive.isString()) {
+            return primitive.getAsString();
+        }
+
+        BigDecimal number = primitive.getAsBigDecimal();
+        try {
+            return number.intValueExact();
+        } catch (ArithmeticException tooLargeOrFractional) {
+            try {
+                return number.longValueExact();
+            } catch (ArithmeticException stillTooLargeOrFractional) {
+                return number.doubleValue();
+            }
+        }
+    }
+
+    /**
+     * Prevents this class from being constructed.
+     */
+    private JsonMetadataViews() {}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin.validator;
+
+import io.github.moremcmeta.guiplugin.BatchEntry;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * GUI metadata found in a resource pack, ready to be analyzed.
+ * @author soir20
+ */
+public final class PackScan {
+    private final int METADATA_FILES;
+    private final List<BatchEntry<String>> ENTRIES;
+    private final List<ValidationIssue> UNREADABLE;
+
+    /**
+     * Creates a new scan result.
+     * @param metadataFiles     number of metadata files found, with or without a GUI section
+     * @param entries           GUI sections to analyze, identified by the path of their metadata file
+     * @param unreadable        metadata files that could not be read or whose GUI section could not be read
+     */
+    public PackScan(int metadataFiles, List<BatchEntry<String>> entries, List<ValidationIssue> unreadable) {
+        if (metadataFiles < 0) {
+            throw new IllegalArgumentException("Number of metadata files cannot be negative");
+        }
+
+        METADATA_FILES = metadataFiles;
+        ENTRIES = List.copyOf(requireNonNull(entries, "Entries cannot be null"));
+        UNREADABLE = List.copyOf(requireNonNull(unreadable, "Unreadable files cannot be null"));
+    }
+
+    /**
+     * Gets the number of metadata files found, with or without a GUI section.
+     * @return number of metadata files
+     */
+    public int metadataFiles() {
+        return METADATA_FILES;
+    }
+
+    /**
+     * Gets the GUI sections to analyze in the order of their paths.
+     * @return GUI sections to analyze
+     */
+    public List<BatchEntry<String>> entries() {
+        return ENTRIES;
+    }
+
+    /**
+     * Gets the metadata files that could not be read or whose GUI section could not be read, such as
+     * files with invalid JSON or without a matching image, in the order of their paths.
+     * @return issues with unreadable files
+     */
+    public List<ValidationIssue> unreadable() {
+        return UNREADABLE;
+    }
+
+}
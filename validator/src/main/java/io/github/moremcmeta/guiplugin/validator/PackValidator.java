@@ -0,0 +1,165 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin.validator;
+
+import io.github.moremcmeta.guiplugin.BatchResult;
+import io.github.moremcmeta.guiplugin.GuiMetadataAnalyzer;
+import io.github.moremcmeta.guiplugin.GuiMetadataBatchAnalyzer;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.ProviderNotFoundException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Command-line tool that validates the GUI metadata in a resource pack without starting the game.
+ * Exits with status 0 if every GUI section is valid, 1 if any problems were found, and 2 if the
+ * pack could not be validated at all.
+ * @author soir20
+ */
+public final class PackValidator {
+    private static final String USAGE = "Usage: gui-pack-validator <pack.zip|pack directory> [--threads <count>]";
+
+    /**
+     * Validates the resource pack given on the command line and prints the results.
+     * @param args      path of the pack and optionally {@code --threads <count>}
+     */
+    public static void main(String[] args) {
+        Path pack = null;
+        int parallelism = GuiMetadataBatchAnalyzer.DEFAULT_PARALLELISM;
+
+        try {
+            for (int index = 0; index < args.length; index++) {
+                if (args[index].equals("--threads") && index + 1 < args.length) {
+                    parallelism = Integer.parseInt(args[++index]);
+                } else if (pack == null && !args[index].startsWith("--")) {
+                    pack = Paths.get(args[index]);
+                } else {
+                    throw new IllegalArgumentException("Unexpected argument: " + args[index]);
+                }
+            }
+
+            if (pack == null) {
+                throw new IllegalArgumentException("No resource pack given");
+            }
+
+            ValidationReport report = validate(pack, parallelism);
+            System.out.println(report);
+            System.exit(report.isValid() ? 0 : 1);
+        } catch (IllegalArgumentException err) {
+            System.err.println(err.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        } catch (IOException err) {
+            System.err.println("Unable to read resource pack: " + err.getMessage());
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Validates every GUI section in a resource pack.
+     * @param pack              zip file or directory containing the pack
+     * @param parallelism       number of threads to use
+     * @return results of the validation
+     * @throws IOException if the pack is not a zip file or directory, cannot be opened, or its
+     *                     directories cannot be listed
+     */
+    public static ValidationReport validate(Path pack, int parallelism) throws IOException {
+        requireNonNull(pack, "Pack cannot be null");
+
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+
+        if (!Files.exists(pack)) {
+            throw new IOException("File does not exist: " + pack);
+        }
+
+        try (FileSystem zip = Files.isDirectory(pack) ? null : openZip(pack);
+             ResourcePackScanner scanner = new ResourcePackScanner(parallelism);
+             GuiMetadataBatchAnalyzer analyzer = new GuiMetadataBatchAnalyzer(new GuiMetadataAnalyzer(), parallelism)) {
+            Path root = zip == null ? pack : zip.getPath("/");
+
+            long scanStart = System.nanoTime();
+            PackScan scan = scanner.scan(root);
+            long scanNanos = System.nanoTime() - scanStart;
+
+            long analysisStart = System.nanoTime();
+            BatchResult<String> result = analyzer.analyzeAll(scan.entries());
+            long analysisNanos = System.nanoTime() - analysisStart;
+
+            List<ValidationIssue> issues = new ArrayList<>(scan.unreadable());
+            for (BatchResult.Failure<String> failure : result.failures()) {
+                issues.add(new ValidationIssue(failure.id(), describe(failure)));
+            }
+            issues.sort(Comparator.comparing(ValidationIssue::path));
+
+            return new ValidationReport(
+                    String.valueOf(pack.getFileName()),
+                    scan.metadataFiles(),
+                    scan.entries().size() + scan.unreadable().size(),
+                    issues,
+                    parallelism,
+                    scanNanos,
+                    analysisNanos
+            );
+        }
+    }
+
+    /**
+     * Describes why a GUI section failed analysis. Unexpected errors are a defect in the plugin rather
+     * than in the pack, so they are labeled as internal errors.
+     * @param failure       section that failed
+     * @return description of the failure
+     */
+    private static String describe(BatchResult.Failure<String> failure) {
+        if (failure.kind() == BatchResult.Failure.Kind.UNEXPECTED_ERROR) {
+            return "Internal error in the GUI plugin, not a problem with the pack: " + failure.error();
+        }
+
+        return failure.error().getMessage();
+    }
+
+    /**
+     * Opens a zip file as a file system.
+     * @param pack      zip file containing the pack
+     * @return file system of the zip file
+     * @throws IOException if the file is not a zip file or cannot be opened
+     */
+    private static FileSystem openZip(Path pack) throws IOException {
+        try {
+            return FileSystems.newFileSystem(pack);
+        } catch (ProviderNotFoundException err) {
+            throw new IOException("Not a zip file or directory: " + pack, err);
+        }
+    }
+
+    /**
+     * Prevents this class from being constructed.
+     */
+    private PackValidator() {}
+
+}
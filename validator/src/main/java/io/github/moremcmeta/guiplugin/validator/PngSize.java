@@ -0,0 +1,93 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin.validator;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Size of a PNG image, read from its header without decoding any pixels.
+ * @author soir20
+ */
+public final class PngSize {
+    private static final long SIGNATURE = 0x89504E470D0A1A0AL;
+    private static final int IHDR = 0x49484452;
+
+    private final int WIDTH;
+    private final int HEIGHT;
+
+    /**
+     * Creates a new size.
+     * @param width     width of the image
+     * @param height    height of the image
+     */
+    public PngSize(int width, int height) {
+        WIDTH = width;
+        HEIGHT = height;
+    }
+
+    /**
+     * Reads the size of an image from the start of a PNG file. Only the signature and the
+     * IHDR chunk, the first 24 bytes of the file, are read.
+     * @param stream    stream positioned at the start of the file. Not closed by this method.
+     * @return size of the image
+     * @throws IOException if the stream cannot be read or does not start with a valid PNG header
+     */
+    public static PngSize read(InputStream stream) throws IOException {
+        requireNonNull(stream, "Stream cannot be null");
+        DataInputStream data = new DataInputStream(stream);
+
+        if (data.readLong() != SIGNATURE) {
+            throw new IOException("Not a PNG file");
+        }
+
+        // The IHDR chunk must come first, so its length is always followed by its type
+        data.readInt();
+        if (data.readInt() != IHDR) {
+            throw new IOException("PNG file does not start with an IHDR chunk");
+        }
+
+        int width = data.readInt();
+        int height = data.readInt();
+        if (width <= 0 || height <= 0) {
+            throw new IOException("PNG file has an invalid size: " + width + "x" + height);
+        }
+
+        return new PngSize(width, height);
+    }
+
+    /**
+     * Gets the width of the image.
+     * @return width of the image
+     */
+    public int width() {
+        return WIDTH;
+    }
+
+    /**
+     * Gets the height of the image.
+     * @return height of the image
+     */
+    public int height() {
+        return HEIGHT;
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin.validator;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import io.github.moremcmeta.guiplugin.BatchEntry;
+import io.github.moremcmeta.guiplugin.ModConstants;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Finds every metadata file with a GUI section in a resource pack and reads it along with the
+ * size of its image. Files are read on several threads, since a large pack has thousands of them.
+ * @author soir20
+ */
+public final class ResourcePackScanner implements AutoCloseable {
+    public static final String METADATA_EXTENSION = ".moremcmeta";
+
+    private final ExecutorService EXECUTOR;
+
+    /**
+     * Creates a new scanner.
+     * @param parallelism       number of files to read at the same time
+     */
+    public ResourcePackScanner(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+
+        EXECUTOR = Executors.newFixedThreadPool(parallelism);
+    }
+
+    /**
+     * Scans a resource pack. Metadata files are identified by their path relative to the root,
+     * using forward slashes.
+     * @param root      root directory of the pack, which may be inside a zip file system
+     * @return GUI sections found in the pack
+     * @throws IOException if the pack's directories cannot be listed
+     */
+    public PackScan scan(Path root) throws IOException {
+        requireNonNull(root, "Root cannot be null");
+
+        List<Path> metadataPaths;
+        try (Stream<Path> paths = Files.walk(root)) {
+            metadataPaths = paths
+                    .filter((path) -> path.getFileName() != null)
+                    .filter((path) -> path.getFileName().toString().endsWith(METADATA_EXTENSION))
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .toList();
+        }
+
+        List<Future<Loaded>> futures = new ArrayList<>(metadataPaths.size());
+        for (Path path : metadataPaths) {
+            futures.add(EXECUTOR.submit(() -> load(root, path)));
+        }
+
+        List<BatchEntry<String>> entries = new ArrayList<>();
+        List<ValidationIssue> unreadable = new ArrayList<>();
+        for (Future<Loaded> future : futures) {
+            Loaded loaded = join(future);
+            if (loaded.ENTRY != null) {
+                entries.add(loaded.ENTRY);
+            } else if (loaded.ISSUE != null) {
+                unreadable.add(loaded.ISSUE);
+            }
+        }
+
+        return new PackScan(metadataPaths.size(), entries, unreadable);
+    }
+
+    /**
+     * Stops the threads used by this scanner.
+     */
+    @Override
+    public void close() {
+        EXECUTOR.shutdown();
+    }
+
+    /**
+     * Reads one metadata file and the size of its image.
+     * @param root      root directory of the pack
+     * @param path      path of the metadata file
+     * @return entry to analyze, issue if the file could not be read, or neither if
+     *         the file has no GUI section
+     */
+    private static Loaded load(Path root, Path path) {
+        String id = relativeName(root, path);
+
+        JsonObject section;
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            JsonElement json = JsonParser.parseReader(reader);
+            if (!json.isJsonObject()) {
+                return new Loaded(null, new ValidationIssue(id, "Metadata must be a JSON object"));
+            }
+
+            JsonElement sectionElement = json.getAsJsonObject().get(ModConstants.SECTION_NAME);
+            if (sectionElement == null) {
+                return new Loaded(null, null);
+            }
+
+            if (!sectionElement.isJsonObject()) {
+                return new Loaded(null, new ValidationIssue(id, ModConstants.SECTION_NAME + " section must be an object"));
+            }
+
+            section = sectionElement.getAsJsonObject();
+        } catch (IOException | JsonParseException err) {
+            return new Loaded(null, new ValidationIssue(id, "Unable to read metadata: " + err.getMessage()));
+        }
+
+        String fileName = path.getFileName().toString();
+        Path imagePath = path.resolveSibling(fileName.substring(0, fileName.length() - METADATA_EXTENSION.length()));
+
+        PngSize size;
+        try (InputStream stream = Files.newInputStream(imagePath)) {
+            size = PngSize.read(stream);
+        } catch (NoSuchFileException err) {
+            return new Loaded(null, new ValidationIssue(id, "Image does not exist: " + relativeName(root, imagePath)));
+        } catch (IOException err) {
+            return new Loaded(null, new ValidationIssue(id, "Unable to read image: " + err.getMessage()));
+        }
+
+        return new Loaded(
+                new BatchEntry<>(id, JsonMetadataViews.fromJson(section), size.width(), size.height()),
+                null
+        );
+    }
+
+    /**
+     * Gets the name of a file relative to the root of the pack with forward slashes.
+     * @param root      root directory of the pack
+     * @param path      path of the file
+     * @return relative name of the file
+     */
+    private static String relativeName(Path root, Path path) {
+        return root.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/");
+    }
+
+    /**
+     * Waits for a file to be read.
+     * @param future        result of reading the file
+     * @return the loaded file
+     */
+    private static Loaded join(Future<Loaded> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException err) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scanning resource pack", err);
+        } catch (ExecutionException err) {
+            throw new IllegalStateException("Unexpected error while scanning resource pack", err.getCause());
+        }
+    }
+
+    /**
+     * Result of reading one metadata file.
+     * @author soir20
+     */
+    private static final class Loaded {
+        private final BatchEntry<String> ENTRY;
+        private final ValidationIssue ISSUE;
+
+        /**
+         * Creates a new result.
+         * @param entry     entry to analyze or null if there is none
+         * @param issue     issue with the file or null if there is none
+         */
+        public Loaded(BatchEntry<String> entry, ValidationIssue issue) {
+            ENTRY = entry;
+            ISSUE = issue;
+        }
+    }
+
+}
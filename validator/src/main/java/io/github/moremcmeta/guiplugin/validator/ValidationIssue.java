@@ -0,0 +1,75 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin.validator;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A problem with one file in a resource pack.
+ * @author soir20
+ */
+public final class ValidationIssue {
+    private final String PATH;
+    private final String MESSAGE;
+
+    /**
+     * Creates a new issue.
+     * @param path          path of the file within the pack
+     * @param message       human-readable description of the problem
+     */
+    public ValidationIssue(String path, String message) {
+        PATH = requireNonNull(path, "Path cannot be null");
+        MESSAGE = requireNonNull(message, "Message cannot be null");
+    }
+
+    /**
+     * Gets the path of the file within the pack.
+     * @return path of the file
+     */
+    public String path() {
+        return PATH;
+    }
+
+    /**
+     * Gets a human-readable description of the problem.
+     * @return description of the problem
+     */
+    public String message() {
+        return MESSAGE;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof ValidationIssue otherIssue)) {
+            return false;
+        }
+
+        return PATH.equals(otherIssue.PATH) && MESSAGE.equals(otherIssue.MESSAGE);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * PATH.hashCode() + MESSAGE.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return PATH + ": " + MESSAGE;
+    }
+
+}
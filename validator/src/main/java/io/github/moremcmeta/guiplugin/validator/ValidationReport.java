@@ -0,0 +1,152 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin.validator;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Results of validating every GUI section in a resource pack.
+ * @author soir20
+ */
+public final class ValidationReport {
+    private final String PACK;
+    private final int METADATA_FILES;
+    private final int GUI_SECTIONS;
+    private final List<ValidationIssue> ISSUES;
+    private final int PARALLELISM;
+    private final long SCAN_NANOS;
+    private final long ANALYSIS_NANOS;
+
+    /**
+     * Creates a new report.
+     * @param pack              name of the pack that was validated
+     * @param metadataFiles     number of metadata files in the pack
+     * @param guiSections       number of metadata files with a GUI section
+     * @param issues            problems found, in the order of their paths
+     * @param parallelism       number of threads used
+     * @param scanNanos         time spent finding and reading files in nanoseconds
+     * @param analysisNanos     time spent analyzing GUI sections in nanoseconds
+     */
+    public ValidationReport(String pack, int metadataFiles, int guiSections, List<ValidationIssue> issues,
+                            int parallelism, long scanNanos, long analysisNanos) {
+        PACK = requireNonNull(pack, "Pack cannot be null");
+        ISSUES = List.copyOf(requireNonNull(issues, "Issues cannot be null"));
+        METADATA_FILES = metadataFiles;
+        GUI_SECTIONS = guiSections;
+        PARALLELISM = parallelism;
+        SCAN_NANOS = scanNanos;
+        ANALYSIS_NANOS = analysisNanos;
+    }
+
+    /**
+     * Gets the name of the pack that was validated.
+     * @return name of the pack
+     */
+    public String pack() {
+        return PACK;
+    }
+
+    /**
+     * Gets the number of metadata files in the pack, with or without a GUI section.
+     * @return number of metadata files
+     */
+    public int metadataFiles() {
+        return METADATA_FILES;
+    }
+
+    /**
+     * Gets the number of metadata files with a GUI section.
+     * @return number of GUI sections
+     */
+    public int guiSections() {
+        return GUI_SECTIONS;
+    }
+
+    /**
+     * Gets the number of GUI sections without any problems.
+     * @return number of valid GUI sections
+     */
+    public int valid() {
+        return GUI_SECTIONS - ISSUES.size();
+    }
+
+    /**
+     * Gets the problems found in the order of their paths. Each file has at most one problem.
+     * @return problems found
+     */
+    public List<ValidationIssue> issues() {
+        return ISSUES;
+    }
+
+    /**
+     * Checks whether all GUI sections in the pack are valid.
+     * @return true if no problems were found
+     */
+    public boolean isValid() {
+        return ISSUES.isEmpty();
+    }
+
+    /**
+     * Gets the number of threads used for validation.
+     * @return number of threads
+     */
+    public int parallelism() {
+        return PARALLELISM;
+    }
+
+    /**
+     * Gets the time spent finding and reading files.
+     * @return scan time in nanoseconds
+     */
+    public long scanNanos() {
+        return SCAN_NANOS;
+    }
+
+    /**
+     * Gets the time spent analyzing GUI sections.
+     * @return analysis time in nanoseconds
+     */
+    public long analysisNanos() {
+        return ANALYSIS_NANOS;
+    }
+
+    /**
+     * Summarizes the report in one line, without the individual problems.
+     * @return summary of the report
+     */
+    public String summary() {
+        return String.format(
+                "%s: %d of %d GUI sections valid (%d metadata files) in %.1f ms (scan %.1f ms, analysis %.1f ms, threads: %d)",
+                PACK, valid(), GUI_SECTIONS, METADATA_FILES, (SCAN_NANOS + ANALYSIS_NANOS) / 1e6,
+                SCAN_NANOS / 1e6, ANALYSIS_NANOS / 1e6, PARALLELISM
+        );
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (ValidationIssue issue : ISSUES) {
+            builder.append(issue).append(System.lineSeparator());
+        }
+
+        return builder.append(summary()).toString();
+    }
+
+}
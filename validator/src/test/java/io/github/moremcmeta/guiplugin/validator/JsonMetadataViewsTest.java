@@ -0,0 +1,125 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin.validator;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.github.moremcmeta.guiplugin.ArrayMetadataView;
+import io.github.moremcmeta.moremcmeta.api.client.metadata.MetadataView;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link JsonMetadataViews}.
+ * @author soir20
+ */
+public final class JsonMetadataViewsTest {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void fromJson_NullObject_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        JsonMetadataViews.fromJson((JsonObject) null);
+    }
+
+    @Test
+    public void fromJson_NullArray_NullPointerException() {
+        expectedException.expect(NullPointerException.class);
+        JsonMetadataViews.fromJson((JsonArray) null);
+    }
+
+    @Test
+    public void fromJson_Primitives_ConvertedToClosestType() {
+        ArrayMetadataView view = parse("{\"string\": \"text\", \"int\": 5, \"long\": 5000000000, "
+                + "\"double\": 1.5, \"boolean\": true}");
+
+        assertEquals(Optional.of("text"), view.stringValue("string"));
+        assertEquals(Optional.of(5), view.integerValue("int"));
+        assertEquals(Optional.of(5000000000L), view.longValue("long"));
+        assertEquals(Optional.of(1.5), view.doubleValue("double"));
+        assertEquals(Optional.of(true), view.booleanValue("boolean"));
+    }
+
+    @Test
+    public void fromJson_WholeNumberWithDecimalPoint_Integer() {
+        assertEquals(Optional.of(4), parse("{\"value\": 4.0}").integerValue("value"));
+    }
+
+    @Test
+    public void fromJson_Null_KeyLeftOut() {
+        ArrayMetadataView view = parse("{\"first\": null, \"second\": 1}");
+
+        assertFalse(view.hasKey("first"));
+        assertEquals(List.of("second"), keys(view));
+    }
+
+    @Test
+    public void fromJson_NestedObject_SubView() {
+        ArrayMetadataView view = parse("{\"scaling\": {\"type\": \"tile\", \"width\": 16}}");
+        MetadataView scaling = view.subView("scaling").orElseThrow();
+
+        assertEquals(Optional.of("tile"), scaling.stringValue("type"));
+        assertEquals(Optional.of(16), scaling.integerValue("width"));
+    }
+
+    @Test
+    public void fromJson_Array_SubViewKeyedByIndex() {
+        ArrayMetadataView view = parse("{\"values\": [3, \"a\"]}");
+        MetadataView values = view.subView("values").orElseThrow();
+
+        assertEquals(List.of("0", "1"), keys(values));
+        assertEquals(Optional.of(3), values.integerValue(0));
+        assertEquals(Optional.of("a"), values.stringValue(1));
+    }
+
+    @Test
+    public void fromJson_KeyOrder_Preserved() {
+        assertEquals(List.of("c", "a", "b"), keys(parse("{\"c\": 1, \"a\": 2, \"b\": 3}")));
+    }
+
+    /**
+     * Parses a JSON object and converts it to a view.
+     * @param json      JSON object to parse
+     * @return converted view
+     */
+    private static ArrayMetadataView parse(String json) {
+        return JsonMetadataViews.fromJson(JsonParser.parseString(json).getAsJsonObject());
+    }
+
+    /**
+     * Collects a view's keys into a list.
+     * @param view      view whose keys to collect
+     * @return keys in the view's order
+     */
+    private static List<String> keys(MetadataView view) {
+        List<String> keys = new ArrayList<>();
+        view.keys().forEach(keys::add);
+        return keys;
+    }
+
+}
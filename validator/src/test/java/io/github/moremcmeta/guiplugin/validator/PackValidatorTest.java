@@ -0,0 +1,203 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin.validator;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link PackValidator} along with the {@link ResourcePackScanner}.
+ * @author soir20
+ */
+public final class PackValidatorTest {
+    private static final String TEXTURES = "assets/minecraft/textures/gui/";
+    private static final String VALID = "{\"gui\": {\"scaling\": {\"type\": \"nine_slice\", \"width\": 16, "
+            + "\"height\": 16, \"border\": 4}}}";
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void validate_NullPack_NullPointerException() throws IOException {
+        expectedException.expect(NullPointerException.class);
+        PackValidator.validate(null, 1);
+    }
+
+    @Test
+    public void validate_ZeroThreads_IllegalArgumentException() throws IOException {
+        expectedException.expect(IllegalArgumentException.class);
+        PackValidator.validate(temporaryFolder.getRoot().toPath(), 0);
+    }
+
+    @Test
+    public void validate_MissingPack_IOException() throws IOException {
+        expectedException.expect(IOException.class);
+        PackValidator.validate(temporaryFolder.getRoot().toPath().resolve("missing.zip"), 1);
+    }
+
+    @Test
+    public void validate_NotZipFile_IOException() throws IOException {
+        Path pack = temporaryFolder.newFile("pack.txt").toPath();
+        Files.writeString(pack, "not a resource pack", StandardCharsets.UTF_8);
+
+        expectedException.expect(IOException.class);
+        PackValidator.validate(pack, 1);
+    }
+
+    @Test
+    public void validate_EmptyDirectory_NothingValidated() throws IOException {
+        ValidationReport report = PackValidator.validate(temporaryFolder.newFolder("pack").toPath(), 2);
+
+        assertEquals(0, report.metadataFiles());
+        assertEquals(0, report.guiSections());
+        assertTrue(report.isValid());
+    }
+
+    @Test
+    public void validate_AllValid_NoIssues() throws IOException {
+        Path pack = temporaryFolder.newFolder("pack").toPath();
+        writeTexture(pack, "button.png", VALID, 32, 32);
+        writeTexture(pack, "window.png", VALID, 64, 64);
+
+        ValidationReport report = PackValidator.validate(pack, 2);
+
+        assertEquals(2, report.guiSections());
+        assertEquals(2, report.valid());
+        assertTrue(report.isValid());
+        assertEquals(2, report.parallelism());
+    }
+
+    @Test
+    public void validate_MixedDirectory_IssuesSortedByPath() throws IOException {
+        ValidationReport report = PackValidator.validate(writeMixedPack(temporaryFolder.newFolder("pack").toPath()), 4);
+
+        assertMixedPackReport(report);
+        assertEquals("pack", report.pack());
+    }
+
+    @Test
+    public void validate_MixedZip_SameAsDirectory() throws IOException {
+        Path zipPath = temporaryFolder.getRoot().toPath().resolve("pack.zip");
+        try (FileSystem zip = FileSystems.newFileSystem(zipPath, Map.of("create", "true"))) {
+            writeMixedPack(zip.getPath("/"));
+        }
+
+        ValidationReport report = PackValidator.validate(zipPath, 4);
+
+        assertMixedPackReport(report);
+        assertEquals("pack.zip", report.pack());
+    }
+
+    @Test
+    public void validate_ManyFiles_AllFound() throws IOException {
+        Path pack = temporaryFolder.newFolder("pack").toPath();
+        for (int index = 0; index < 500; index++) {
+            writeTexture(pack, "texture" + index + ".png", index % 50 == 0 ? "{\"gui\": {}}" : VALID, 16, 16);
+        }
+
+        ValidationReport report = PackValidator.validate(pack, 8);
+
+        assertEquals(500, report.guiSections());
+        assertEquals(490, report.valid());
+        assertEquals(10, report.issues().size());
+    }
+
+    @Test
+    public void summary_MixedPack_CountsIncluded() throws IOException {
+        ValidationReport report = PackValidator.validate(writeMixedPack(temporaryFolder.newFolder("pack").toPath()), 1);
+
+        assertTrue(report.summary().startsWith("pack: 1 of 5 GUI sections valid (6 metadata files)"));
+    }
+
+    /**
+     * Writes a pack with one valid texture, one texture without a GUI section, and one of each
+     * kind of problem.
+     * @param root      root directory of the pack
+     * @return root directory of the pack
+     * @throws IOException if the files cannot be written
+     */
+    private static Path writeMixedPack(Path root) throws IOException {
+        writeTexture(root, "valid.png", VALID, 32, 32);
+        writeTexture(root, "animated.png", "{\"animation\": {\"frametime\": 2}}", 16, 64);
+        writeTexture(root, "negative.png", "{\"gui\": {\"scaling\": {\"type\": \"nine_slice\", \"width\": 16, "
+                + "\"height\": 16, \"border\": -1}}}", 16, 16);
+        writeTexture(root, "broken_json.png", "{\"gui\": ", 16, 16);
+        writeTexture(root, "not_object.png", "{\"gui\": 5}", 16, 16);
+
+        Files.createDirectories(root.resolve(TEXTURES));
+        Files.writeString(root.resolve(TEXTURES + "missing.png.moremcmeta"), VALID, StandardCharsets.UTF_8);
+        Files.writeString(root.resolve("pack.mcmeta"), "{\"pack\": {\"pack_format\": 15}}", StandardCharsets.UTF_8);
+        return root;
+    }
+
+    /**
+     * Checks the report for the pack written by {@link #writeMixedPack(Path)}.
+     * @param report    report to check
+     */
+    private static void assertMixedPackReport(ValidationReport report) {
+        assertEquals(6, report.metadataFiles());
+        assertEquals(5, report.guiSections());
+        assertEquals(1, report.valid());
+        assertFalse(report.isValid());
+
+        List<ValidationIssue> issues = report.issues();
+        assertEquals(4, issues.size());
+        assertEquals(TEXTURES + "broken_json.png.moremcmeta", issues.get(0).path());
+        assertTrue(issues.get(0).message().startsWith("Unable to read metadata"));
+        assertEquals(TEXTURES + "missing.png.moremcmeta", issues.get(1).path());
+        assertEquals("Image does not exist: " + TEXTURES + "missing.png", issues.get(1).message());
+        assertEquals(TEXTURES + "negative.png.moremcmeta", issues.get(2).path());
+        assertEquals(TEXTURES + "not_object.png.moremcmeta", issues.get(3).path());
+        assertEquals("gui section must be an object", issues.get(3).message());
+    }
+
+    /**
+     * Writes a texture's image header and metadata file.
+     * @param root          root directory of the pack
+     * @param name          file name of the image
+     * @param metadata      contents of the metadata file
+     * @param width         width of the image
+     * @param height        height of the image
+     * @throws IOException if the files cannot be written
+     */
+    private static void writeTexture(Path root, String name, String metadata, int width, int height)
+            throws IOException {
+        Path directory = root.resolve(TEXTURES);
+        Files.createDirectories(directory);
+        Files.write(directory.resolve(name), PngSizeTest.header(width, height));
+        Files.writeString(directory.resolve(name + ResourcePackScanner.METADATA_EXTENSION), metadata,
+                StandardCharsets.UTF_8);
+    }
+
+}
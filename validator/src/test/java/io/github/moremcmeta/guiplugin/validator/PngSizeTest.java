@@ -0,0 +1,105 @@
+/*
+ * MoreMcmeta is a Minecraft mod expanding texture configuration capabilities.
+ * Copyright (C) 2023 soir20
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.github.moremcmeta.guiplugin.validator;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link PngSize}.
+ * @author soir20
+ */
+public final class PngSizeTest {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void read_NullStream_NullPointerException() throws IOException {
+        expectedException.expect(NullPointerException.class);
+        PngSize.read(null);
+    }
+
+    @Test
+    public void read_ValidHeader_SizeRead() throws IOException {
+        PngSize size = PngSize.read(new ByteArrayInputStream(header(256, 64)));
+
+        assertEquals(256, size.width());
+        assertEquals(64, size.height());
+    }
+
+    @Test
+    public void read_WrongSignature_IOException() throws IOException {
+        byte[] bytes = header(16, 16);
+        bytes[1] = 'X';
+
+        expectedException.expect(IOException.class);
+        PngSize.read(new ByteArrayInputStream(bytes));
+    }
+
+    @Test
+    public void read_FirstChunkNotHeader_IOException() throws IOException {
+        byte[] bytes = header(16, 16);
+        bytes[12] = 'I';
+        bytes[13] = 'D';
+        bytes[14] = 'A';
+        bytes[15] = 'T';
+
+        expectedException.expect(IOException.class);
+        PngSize.read(new ByteArrayInputStream(bytes));
+    }
+
+    @Test
+    public void read_ZeroWidth_IOException() throws IOException {
+        expectedException.expect(IOException.class);
+        PngSize.read(new ByteArrayInputStream(header(0, 16)));
+    }
+
+    @Test
+    public void read_Truncated_IOException() throws IOException {
+        byte[] bytes = new byte[20];
+        System.arraycopy(header(16, 16), 0, bytes, 0, bytes.length);
+
+        expectedException.expect(IOException.class);
+        PngSize.read(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Creates the start of a PNG file up to the end of the image size.
+     * @param width     width of the image
+     * @param height    height of the image
+     * @return bytes of the header
+     */
+    public static byte[] header(int width, int height) {
+        return ByteBuffer.allocate(24)
+                .putLong(0x89504E470D0A1A0AL)
+                .putInt(13)
+                .putInt(0x49484452)
+                .putInt(width)
+                .putInt(height)
+                .array();
+    }
+
+}